@@ -32,6 +32,13 @@ public abstract class AbstractBalanceReadFuture extends AbstractChannelReadFutur
 		super(context);
 	}
 
+	@Override
+	protected void reset() {
+		super.reset();
+		this.isBroadcast = false;
+		this.sessionID = 0;
+	}
+
 //	@Override
 //	public Integer getClientSessionID() {
 //		if (clientSessionID == null) {
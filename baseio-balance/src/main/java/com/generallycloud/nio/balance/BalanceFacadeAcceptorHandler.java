@@ -60,6 +60,15 @@ public class BalanceFacadeAcceptorHandler extends IoEventHandleAdaptor {
 
 		rs.flush(f);
 
+		// 负载节点待写数据超过高水位，暂停读取该客户端，节点恢复可写后再继续
+		if (!rs.isWritable()) {
+
+			logger.info("负载节点繁忙，暂停读取：F：[ {} ]，T：[ {} ]", fs.getRemoteSocketAddress(),
+					rs.getRemoteSocketAddress());
+
+			rs.getReadPausedSessions().pause(fs, rs);
+		}
+
 		logger.info("分发报文：F：[ {} ]，T：[ {} ]，报文：{}", new Object[]{
 				session.getRemoteSocketAddress(),
 				rs.getRemoteSocketAddress(),
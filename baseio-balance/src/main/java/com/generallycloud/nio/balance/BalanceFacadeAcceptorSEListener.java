@@ -41,6 +41,13 @@ public class BalanceFacadeAcceptorSEListener extends SocketSessionEventListenerA
 		logger.info("客户端来自 [ {} ] 已建立连接.",session.getRemoteSocketAddress());
 	}
 
+	@Override
+	public void sessionWritabilityChanged(SocketSession session) {
+		if (session.isWritable()) {
+			((BalanceFacadeSocketSession) session).getReadPausedSessions().resumeAll();
+		}
+	}
+
 	@Override
 	public void sessionClosed(SocketSession session) {
 		
@@ -48,6 +55,8 @@ public class BalanceFacadeAcceptorSEListener extends SocketSessionEventListenerA
 
 		balanceRouter.removeClientSession(fs);
 
+		fs.getReadPausedSessions().resumeAll();
+
 		logger.info("客户端来自 [ {} ] 已断开连接.",session.getRemoteSocketAddress());
 
 		BalanceRouter balanceRouter = balanceContext.getBalanceRouter();
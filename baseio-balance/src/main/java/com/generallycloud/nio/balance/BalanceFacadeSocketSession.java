@@ -25,4 +25,9 @@ public interface BalanceFacadeSocketSession extends SocketSession {
 
 	public abstract void setReverseSocketSession(BalanceReverseSocketSession reverseSocketSession);
 
+	/**
+	 * 因本session不可写而暂停读的负载节点
+	 */
+	public abstract ReadPausedSessions getReadPausedSessions();
+
 }
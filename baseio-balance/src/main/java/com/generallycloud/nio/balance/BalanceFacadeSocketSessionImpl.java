@@ -25,6 +25,8 @@ public class BalanceFacadeSocketSessionImpl extends UnsafeSocketSessionImpl impl
 	private long next_check_time;
 	
 	private BalanceReverseSocketSession	reverseSocketSession	= null;
+
+	private ReadPausedSessions			readPausedSessions		= new ReadPausedSessions();
 	
 	public BalanceFacadeSocketSessionImpl(SocketChannel channel, Integer sessionID) {
 		super(channel, sessionID);
@@ -48,6 +50,11 @@ public class BalanceFacadeSocketSessionImpl extends UnsafeSocketSessionImpl impl
 		return ++msg_size > size; 
 	}
 
+	@Override
+	public ReadPausedSessions getReadPausedSessions() {
+		return readPausedSessions;
+	}
+
 	@Override
 	public void setReverseSocketSession(BalanceReverseSocketSession reverseSocketSession) {
 		this.reverseSocketSession = reverseSocketSession;
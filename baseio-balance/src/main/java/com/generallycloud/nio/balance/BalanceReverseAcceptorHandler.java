@@ -67,6 +67,14 @@ public class BalanceReverseAcceptorHandler extends IoEventHandleAdaptor {
 		response.flush(f.translate());
 
 		balanceReverseLogger.logPush(session, response, future, logger);
+
+		// 客户端待写数据超过高水位，暂停读取该负载节点，客户端恢复可写或断开后再继续
+		if (!response.isWritable()) {
+
+			balanceReverseLogger.logPushBusy(session, response, logger);
+
+			((BalanceFacadeSocketSession) response).getReadPausedSessions().pause(session, response);
+		}
 	}
 
 	@Override
@@ -39,6 +39,15 @@ public class BalanceReverseAcceptorSEListener extends SocketSessionEventListener
 	@Override
 	public void sessionClosed(SocketSession session) {
 		logger.info("负载服务器来自 [ {} ] 已断开连接.", session);
-		context.getBalanceRouter().removeRouterSession((BalanceReverseSocketSession) session);
+		BalanceReverseSocketSession rs = (BalanceReverseSocketSession) session;
+		context.getBalanceRouter().removeRouterSession(rs);
+		rs.getReadPausedSessions().resumeAll();
+	}
+
+	@Override
+	public void sessionWritabilityChanged(SocketSession session) {
+		if (session.isWritable()) {
+			((BalanceReverseSocketSession) session).getReadPausedSessions().resumeAll();
+		}
 	}
 }
@@ -33,6 +33,11 @@ public class BalanceReverseLogger {
 		logger.info("连接丢失：F：{}，报文：{}", session.getRemoteSocketAddress(), future);
 	}
 
+	public void logPushBusy(SocketSession session, SocketSession response, Logger logger) {
+		logger.info("连接繁忙，暂停读取：F：[{}]，T：[{}]", session.getRemoteSocketAddress(),
+				response.getRemoteSocketAddress());
+	}
+
 	public void logPush(SocketSession session, SocketSession response, ReadFuture future, Logger logger) {
 		logger.info("回复报文：F：[{}]，T：[{}]，报文：{}",
 				new Object[] { session.getRemoteSocketAddress(), response.getRemoteSocketAddress(), future });
@@ -19,6 +19,9 @@ import com.generallycloud.nio.component.SocketSession;
 
 public interface BalanceReverseSocketSession extends SocketSession{
 
-	
-	
+	/**
+	 * 因本session不可写而暂停读的客户端
+	 */
+	public abstract ReadPausedSessions getReadPausedSessions();
+
 }
@@ -20,8 +20,15 @@ import com.generallycloud.nio.component.UnsafeSocketSessionImpl;
 
 public class BalanceReverseSocketSessionImpl extends UnsafeSocketSessionImpl implements BalanceReverseSocketSession{
 
+	private ReadPausedSessions	readPausedSessions	= new ReadPausedSessions();
+
 	public BalanceReverseSocketSessionImpl(SocketChannel channel, Integer sessionID) {
 		super(channel, sessionID);
 	}
 
+	@Override
+	public ReadPausedSessions getReadPausedSessions() {
+		return readPausedSessions;
+	}
+
 }
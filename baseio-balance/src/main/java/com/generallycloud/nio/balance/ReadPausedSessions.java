@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.balance;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.generallycloud.nio.component.SocketSession;
+
+/**
+ * 因转发的对端不可写而暂停读的session，对端恢复可写或断开时恢复它们的读
+ */
+public class ReadPausedSessions {
+
+	private ConcurrentLinkedQueue<SocketSession>	sessions	= new ConcurrentLinkedQueue<SocketSession>();
+
+	/**
+	 * 暂停session的读，直到peer恢复可写
+	 */
+	public void pause(SocketSession session, SocketSession peer) {
+
+		sessions.offer(session);
+
+		session.pauseRead();
+
+		// 入队前peer可能已经恢复可写，不会再有回调，这里自己检查一次
+		if (peer.isWritable() || peer.isClosed()) {
+			resumeAll();
+		}
+	}
+
+	public void resumeAll() {
+
+		for (;;) {
+
+			SocketSession session = sessions.poll();
+
+			if (session == null) {
+				return;
+			}
+
+			session.resumeRead();
+		}
+	}
+}
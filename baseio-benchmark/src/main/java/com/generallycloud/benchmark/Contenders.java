@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 在被测线程之外启动若干后台线程持续执行同一个操作，用于制造竞争，
+ * JMH的线程数不能作为@Param，所以竞争线程数通过这里参数化
+ */
+public class Contenders {
+
+	private volatile boolean	running	= true;
+
+	private List<Thread>		threads	= new ArrayList<Thread>();
+
+	public Contenders(String name, int count, final Runnable task) {
+
+		for (int i = 0; i < count; i++) {
+
+			Thread thread = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					while (running) {
+						task.run();
+					}
+				}
+			}, name + "-contender-" + i);
+
+			thread.setDaemon(true);
+
+			threads.add(thread);
+		}
+	}
+
+	public Contenders start() {
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		return this;
+	}
+
+	public void stop() throws InterruptedException {
+
+		running = false;
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+	}
+
+	public boolean isRunning() {
+		return running;
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark;
+
+import java.io.IOException;
+
+import com.generallycloud.nio.acceptor.SocketChannelAcceptor;
+import com.generallycloud.nio.common.CloseUtil;
+import com.generallycloud.nio.component.IoEventHandleAdaptor;
+import com.generallycloud.nio.component.SelectorEventLoop;
+import com.generallycloud.nio.component.SocketChannelContext;
+import com.generallycloud.nio.component.SocketChannelContextImpl;
+import com.generallycloud.nio.component.SocketSession;
+import com.generallycloud.nio.component.UnsafeSocketSession;
+import com.generallycloud.nio.configuration.ServerConfiguration;
+import com.generallycloud.nio.connector.SocketChannelConnector;
+import com.generallycloud.nio.protocol.ProtocolFactory;
+import com.generallycloud.nio.protocol.ReadFuture;
+
+/**
+ * 在本机端口上启动一个服务端并连接，得到一个真实的session，
+ * 服务端和客户端都不处理收到的消息
+ */
+public class Loopback {
+
+	private SocketChannelAcceptor		acceptor;
+
+	private SocketChannelConnector	connector;
+
+	private SocketSession			session;
+
+	public Loopback(int port, ProtocolFactory protocolFactory) throws IOException {
+
+		IoEventHandleAdaptor eventHandle = new IoEventHandleAdaptor() {
+
+			@Override
+			public void accept(SocketSession session, ReadFuture future) throws Exception {}
+		};
+
+		acceptor = new SocketChannelAcceptor(newContext(port, protocolFactory, eventHandle));
+
+		connector = new SocketChannelConnector(newContext(port, protocolFactory, eventHandle));
+
+		try {
+
+			acceptor.bind();
+
+			session = connector.connect();
+
+		} catch (IOException e) {
+
+			close();
+
+			throw e;
+		}
+	}
+
+	private SocketChannelContext newContext(int port, ProtocolFactory protocolFactory,
+			IoEventHandleAdaptor eventHandle) {
+
+		ServerConfiguration configuration = new ServerConfiguration();
+
+		configuration.setSERVER_HOST("127.0.0.1");
+		configuration.setSERVER_PORT(port);
+		configuration.setSERVER_CORE_SIZE(1);
+
+		SocketChannelContext context = new SocketChannelContextImpl(configuration);
+
+		context.setIoEventHandleAdaptor(eventHandle);
+		context.setProtocolFactory(protocolFactory);
+
+		return context;
+	}
+
+	/**
+	 * @return 客户端的session
+	 */
+	public SocketSession getSession() {
+		return session;
+	}
+
+	public SocketChannelContext getContext() {
+		return session.getContext();
+	}
+
+	public SelectorEventLoop getSelectorEventLoop() {
+		return ((UnsafeSocketSession) session).getSocketChannel().getSelectorEventLoop();
+	}
+
+	public void close() {
+		CloseUtil.close(connector);
+		CloseUtil.unbind(acceptor);
+	}
+
+}
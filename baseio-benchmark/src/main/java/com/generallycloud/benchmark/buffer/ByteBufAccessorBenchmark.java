@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark.buffer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.generallycloud.nio.buffer.ByteBuf;
+import com.generallycloud.nio.buffer.SimpleByteBufAllocator;
+import com.generallycloud.nio.common.LifeCycleUtil;
+import com.generallycloud.nio.common.ReleaseUtil;
+
+/**
+ * AbstractHeapByteBuf与AbstractDirectByteBuf读写方法的对比，
+ * 每个线程使用自己的ByteBuf，需要多线程时用-t指定
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteBufAccessorBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean				direct;
+
+	@Param({ "64", "4096" })
+	public int				length;
+
+	private SimpleByteBufAllocator	allocator;
+
+	private ByteBuf			buf;
+
+	private byte[]				bytes;
+
+	@Setup(Level.Trial)
+	public void setup() {
+
+		allocator = new SimpleByteBufAllocator(length / 64 + 1, 64, direct);
+
+		LifeCycleUtil.start(allocator);
+
+		buf = allocator.allocate(length);
+
+		bytes = new byte[length];
+
+		for (int i = 0; i < length; i++) {
+			bytes[i] = (byte) i;
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+
+		ReleaseUtil.release(buf);
+
+		LifeCycleUtil.stop(allocator);
+	}
+
+	@Benchmark
+	public long putGetInt() {
+
+		ByteBuf buf = this.buf;
+
+		buf.clear();
+
+		int count = length / 4;
+
+		for (int i = 0; i < count; i++) {
+			buf.putInt(i);
+		}
+
+		long sum = 0;
+
+		for (int i = 0; i < count; i++) {
+			sum += buf.getInt(i << 2);
+		}
+
+		return sum;
+	}
+
+	@Benchmark
+	public long putGetLong() {
+
+		ByteBuf buf = this.buf;
+
+		buf.clear();
+
+		int count = length / 8;
+
+		for (int i = 0; i < count; i++) {
+			buf.putLong(i);
+		}
+
+		long sum = 0;
+
+		for (int i = 0; i < count; i++) {
+			sum += buf.getLong(i << 3);
+		}
+
+		return sum;
+	}
+
+	@Benchmark
+	public byte[] putGetBytes() {
+
+		ByteBuf buf = this.buf;
+
+		buf.clear();
+
+		buf.put(bytes);
+
+		buf.flip();
+
+		buf.get(bytes);
+
+		return bytes;
+	}
+
+	@Benchmark
+	public long getByteIndexed() {
+
+		ByteBuf buf = this.buf;
+
+		long sum = 0;
+
+		for (int i = 0; i < length; i++) {
+			sum += buf.getByte(i);
+		}
+
+		return sum;
+	}
+
+}
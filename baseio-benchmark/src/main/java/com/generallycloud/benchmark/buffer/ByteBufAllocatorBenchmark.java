@@ -0,0 +1,172 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark.buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.generallycloud.benchmark.Contenders;
+import com.generallycloud.nio.buffer.AbstractPooledByteBufAllocator;
+import com.generallycloud.nio.buffer.BuddyByteBufAllocator;
+import com.generallycloud.nio.buffer.ByteBuf;
+import com.generallycloud.nio.buffer.SimpleByteBufAllocator;
+import com.generallycloud.nio.buffer.SimplyByteBufAllocator;
+import com.generallycloud.nio.common.LifeCycleUtil;
+import com.generallycloud.nio.common.ReleaseUtil;
+
+/**
+ * 内存池allocate + release的耗时，
+ * contenders为同时在同一个池上分配释放的后台线程数，
+ * fragmentation为测试前按随机大小占用、再隔一个释放一个所留下的碎片占池容量的百分比
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ByteBufAllocatorBenchmark {
+
+	private static final int			UNIT_MEMORY_SIZE	= 256;
+
+	private static final int			CAPACITY			= 1024 * 64;
+
+	@Param({ "simple", "simply", "buddy" })
+	public String						allocator;
+
+	@Param({ "64", "1500", "16384" })
+	public int						size;
+
+	@Param({ "0", "1", "3" })
+	public int						contenders;
+
+	@Param({ "0", "50" })
+	public int						fragmentation;
+
+	@Param({ "false", "true" })
+	public boolean						direct;
+
+	private AbstractPooledByteBufAllocator	pool;
+
+	private List<ByteBuf>				holding			= new ArrayList<ByteBuf>();
+
+	private Contenders					contenderThreads;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+
+		pool = newAllocator();
+
+		LifeCycleUtil.start(pool);
+
+		fragment();
+
+		contenderThreads = new Contenders("allocator", contenders, new Runnable() {
+
+			@Override
+			public void run() {
+				ReleaseUtil.release(pool.allocate(size));
+			}
+		}).start();
+	}
+
+	private AbstractPooledByteBufAllocator newAllocator() {
+		if ("simple".equals(allocator)) {
+			return new SimpleByteBufAllocator(CAPACITY, UNIT_MEMORY_SIZE, direct);
+		}
+		if ("simply".equals(allocator)) {
+			return new SimplyByteBufAllocator(CAPACITY, UNIT_MEMORY_SIZE, direct);
+		}
+		return new BuddyByteBufAllocator(CAPACITY, UNIT_MEMORY_SIZE, direct);
+	}
+
+	private void fragment() {
+
+		if (fragmentation == 0) {
+			return;
+		}
+
+		Random random = new Random(0);
+
+		long target = (long) CAPACITY * UNIT_MEMORY_SIZE * fragmentation * 2 / 100;
+
+		List<ByteBuf> all = new ArrayList<ByteBuf>();
+
+		for (long allocated = 0; allocated < target;) {
+
+			int length = (1 + random.nextInt(32)) * UNIT_MEMORY_SIZE;
+
+			ByteBuf buf = pool.allocate(length);
+
+			if (buf == null) {
+				break;
+			}
+
+			all.add(buf);
+
+			allocated += length;
+		}
+
+		for (int i = 0; i < all.size(); i++) {
+			if ((i & 1) == 0) {
+				ReleaseUtil.release(all.get(i));
+			} else {
+				holding.add(all.get(i));
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+
+		contenderThreads.stop();
+
+		for (ByteBuf buf : holding) {
+			ReleaseUtil.release(buf);
+		}
+
+		holding.clear();
+
+		LifeCycleUtil.stop(pool);
+	}
+
+	@Benchmark
+	public ByteBuf allocateRelease() {
+
+		ByteBuf buf = pool.allocate(size);
+
+		ReleaseUtil.release(buf);
+
+		return buf;
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark.buffer;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.generallycloud.nio.buffer.ByteBuf;
+import com.generallycloud.nio.buffer.CompositeByteBuf;
+import com.generallycloud.nio.buffer.SimpleByteBufAllocator;
+import com.generallycloud.nio.buffer.UnpooledByteBufAllocator;
+import com.generallycloud.nio.common.CloseUtil;
+import com.generallycloud.nio.common.LifeCycleUtil;
+import com.generallycloud.nio.common.ReleaseUtil;
+
+/**
+ * 协议头加堆内存报文体的两种写法：copy把报文体拷贝到内存池的头部buf中再写出，
+ * composite把报文体包装成组件与头部一起gathering write。
+ * 写到/dev/null的FileChannel，与SocketChannel一样，堆内存会先被JDK拷贝到临时直接内存中。
+ * direct=true时两者都只有一次拷贝，composite没有收益；direct=false时copy有两次拷贝，
+ * composite只有JDK的一次，对应CompositeByteBuf.isWrapHeapBody的判断
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompositeWriteBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean				direct;
+
+	@Param({ "4096", "65536" })
+	public int				length;
+
+	private static final int		HEADER	= 128;
+
+	private SimpleByteBufAllocator	allocator;
+
+	private FileChannel			channel;
+
+	private byte[]				header	= new byte[HEADER];
+
+	private byte[]				body;
+
+	private ByteBuffer[]			buffers	= new ByteBuffer[2];
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+
+		allocator = new SimpleByteBufAllocator((HEADER + length) / 64 * 4, 64, direct);
+
+		LifeCycleUtil.start(allocator);
+
+		channel = new FileOutputStream("/dev/null").getChannel();
+
+		body = new byte[length];
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+
+		CloseUtil.close(channel);
+
+		LifeCycleUtil.stop(allocator);
+	}
+
+	@Benchmark
+	public long copy() throws IOException {
+
+		ByteBuf buf = allocator.allocate(HEADER + length);
+
+		try {
+
+			buf.put(header);
+
+			buf.put(body);
+
+			buf.flip();
+
+			return channel.write(buf.nioBuffer());
+
+		} finally {
+			ReleaseUtil.release(buf);
+		}
+	}
+
+	@Benchmark
+	public long composite() throws IOException {
+
+		ByteBuf buf = allocator.allocate(HEADER);
+
+		buf.put(header);
+
+		CompositeByteBuf composite = new CompositeByteBuf(buf.flip(),
+				UnpooledByteBufAllocator.getHeapInstance().wrap(body));
+
+		try {
+
+			int count = composite.nioBuffers(buffers, 0);
+
+			return channel.write(buffers, 0, count);
+
+		} finally {
+			ReleaseUtil.release(composite);
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark.codec;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.generallycloud.benchmark.Loopback;
+import com.generallycloud.nio.buffer.ByteBuf;
+import com.generallycloud.nio.buffer.UnpooledByteBufAllocator;
+import com.generallycloud.nio.common.ReleaseUtil;
+import com.generallycloud.nio.component.SocketSession;
+import com.generallycloud.nio.component.concurrent.Recyclable;
+import com.generallycloud.nio.protocol.ChannelReadFuture;
+import com.generallycloud.nio.protocol.ChannelWriteFuture;
+import com.generallycloud.nio.protocol.ProtocolDecoder;
+import com.generallycloud.nio.protocol.ProtocolEncoder;
+import com.generallycloud.nio.protocol.ProtocolFactory;
+
+/**
+ * 编解码benchmark的公共部分，每次操作解码一个完整报文，解码的过程与
+ * TransparentByteBufReader一致，session来自本机的一个真实连接。
+ * mode为whole时报文一次全部交给解码器，为byte时每次只给1个字节，
+ * 对应网络上最碎的读取
+ */
+public abstract class AbstractCodecBenchmark {
+
+	@Param({ "whole", "byte" })
+	public String				mode;
+
+	@Param({ "18410" })
+	public int				port;
+
+	protected SocketSession		session;
+
+	protected ProtocolDecoder	decoder;
+
+	protected ProtocolEncoder	encoder;
+
+	private Loopback			loopback;
+
+	private ByteBuf			input;
+
+	private int				length;
+
+	private boolean			fragmented;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+
+		ProtocolFactory protocolFactory = newProtocolFactory();
+
+		loopback = new Loopback(port, protocolFactory);
+
+		session = loopback.getSession();
+
+		decoder = protocolFactory.getProtocolDecoder();
+
+		encoder = protocolFactory.getProtocolEncoder();
+
+		byte[] array = newInput();
+
+		input = UnpooledByteBufAllocator.getHeapInstance().wrap(array);
+
+		length = array.length;
+
+		fragmented = "byte".equals(mode);
+
+		// 确认输入正好是一个完整的报文
+		recycle(decodeInput());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		loopback.close();
+	}
+
+	protected abstract ProtocolFactory newProtocolFactory();
+
+	/**
+	 * @return 一个完整报文的字节
+	 */
+	protected abstract byte[] newInput() throws Exception;
+
+	/**
+	 * 解码input中的报文，读完后与TransparentByteBufReader一样立即release
+	 */
+	protected ChannelReadFuture decodeInput() throws IOException {
+
+		ByteBuf input = this.input.limit(length).position(0);
+
+		ChannelReadFuture future = null;
+
+		for (int i = fragmented ? 1 : length; i <= length; i++) {
+
+			input.limit(i);
+
+			if (future == null) {
+				future = decoder.decode(session, input);
+			}
+
+			if (future.read(session, input)) {
+
+				ReleaseUtil.release(future);
+
+				if (i != length || input.hasRemaining()) {
+					throw new IOException("input is not exactly one message");
+				}
+
+				return future;
+			}
+		}
+
+		throw new IOException("input is not a complete message");
+	}
+
+	/**
+	 * 编码回写的内容，不真正写出，直接按写出成功处理，释放编码出的buf并回收future
+	 */
+	protected ChannelWriteFuture encode(ChannelReadFuture future) throws IOException {
+
+		ChannelWriteFuture writeFuture = encoder.encode(session.getByteBufAllocator(), future);
+
+		writeFuture.onSuccess(session);
+
+		return writeFuture;
+	}
+
+	/**
+	 * 不回写时future在这里结束生命周期
+	 */
+	protected ChannelReadFuture recycle(ChannelReadFuture future) {
+
+		if (future instanceof Recyclable) {
+			((Recyclable) future).recycle();
+		}
+
+		return future;
+	}
+
+}
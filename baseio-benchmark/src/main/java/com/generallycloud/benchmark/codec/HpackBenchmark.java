@@ -0,0 +1,146 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark.codec;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.generallycloud.nio.buffer.ByteBuf;
+import com.generallycloud.nio.buffer.UnpooledByteBufAllocator;
+import com.generallycloud.nio.codec.http2.hpack.Decoder;
+import com.generallycloud.nio.codec.http2.hpack.Encoder;
+import com.generallycloud.nio.codec.http2.hpack.Http2Exception;
+import com.generallycloud.nio.codec.http2.hpack.Http2Headers;
+import com.generallycloud.nio.codec.http2.hpack.Http2HeadersEncoder;
+import com.generallycloud.nio.codec.http2.hpack.Http2HeadersImpl;
+
+/**
+ * 浏览器请求头的HPACK编解码，table为cold时每次使用新的Encoder/Decoder，
+ * 对应连接上的第一个请求，为warm时复用，头部都已在动态表中。
+ * HPACK总是对完整的头部块编解码，所以没有分片模式
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HpackBenchmark {
+
+	@Param({ "cold", "warm" })
+	public String			table;
+
+	private boolean		cold;
+
+	private Http2Headers	headers;
+
+	private Encoder		encoder;
+
+	private Decoder		decoder;
+
+	private ByteBuf		out;
+
+	private ByteBuf		in;
+
+	private int			inLength;
+
+	@Setup(Level.Trial)
+	public void setup() throws Http2Exception {
+
+		cold = "cold".equals(table);
+
+		headers = new Http2HeadersImpl()
+				.method("GET")
+				.scheme("https")
+				.authority("www.generallycloud.com")
+				.path("/console/sessions.html?page=2&size=20");
+
+		headers.add("user-agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+				+ "(KHTML, like Gecko) Chrome/58.0.3029.110 Safari/537.36");
+		headers.add("accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8");
+		headers.add("accept-encoding", "gzip, deflate, br");
+		headers.add("accept-language", "zh-CN,zh;q=0.8,en;q=0.6");
+		headers.add("cookie", "JSESSIONID=5C2A4F2B8D1E7A6C9B3F0E4D2A1C8B7F; _ga=GA1.2.1716382541.1493971268");
+
+		out = UnpooledByteBufAllocator.getHeapInstance().wrap(new byte[4096]);
+
+		encoder = new Encoder();
+
+		decoder = new Decoder();
+
+		// 第一个头部块带字面量并写入动态表，之后的头部块只有索引
+		byte[] first = encode(encoder);
+
+		byte[] block = first;
+
+		if (!cold) {
+
+			decoder.decode(0, UnpooledByteBufAllocator.getHeapInstance().wrap(first), new Http2HeadersImpl());
+
+			block = encode(encoder);
+		}
+
+		in = UnpooledByteBufAllocator.getHeapInstance().wrap(block);
+
+		inLength = block.length;
+	}
+
+	private byte[] encode(Encoder encoder) throws Http2Exception {
+
+		out.clear();
+
+		encoder.encodeHeaders(out, headers, Http2HeadersEncoder.NEVER_SENSITIVE);
+
+		return out.flip().getBytes();
+	}
+
+	@Benchmark
+	public ByteBuf encode() throws Http2Exception {
+
+		Encoder encoder = cold ? new Encoder() : this.encoder;
+
+		out.clear();
+
+		encoder.encodeHeaders(out, headers, Http2HeadersEncoder.NEVER_SENSITIVE);
+
+		return out;
+	}
+
+	@Benchmark
+	public Http2Headers decode() throws Http2Exception {
+
+		Decoder decoder = cold ? new Decoder() : this.decoder;
+
+		Http2Headers headers = new Http2HeadersImpl();
+
+		decoder.decode(0, in.limit(inLength).position(0), headers);
+
+		return headers;
+	}
+
+}
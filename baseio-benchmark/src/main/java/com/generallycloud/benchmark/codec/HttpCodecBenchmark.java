@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark.codec;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.generallycloud.nio.codec.http11.ServerHTTPProtocolFactory;
+import com.generallycloud.nio.protocol.ChannelReadFuture;
+import com.generallycloud.nio.protocol.ChannelWriteFuture;
+import com.generallycloud.nio.protocol.ProtocolFactory;
+
+/**
+ * 浏览器发出的带cookie的GET请求和urlencoded表单的POST请求，
+ * decodeEncode在解码后回写一个小的响应并编码
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HttpCodecBenchmark extends AbstractCodecBenchmark {
+
+	private static final String	HEADERS	= "Host: www.generallycloud.com\r\n"
+			+ "Connection: keep-alive\r\n"
+			+ "Cache-Control: max-age=0\r\n"
+			+ "User-Agent: Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+			+ "(KHTML, like Gecko) Chrome/58.0.3029.110 Safari/537.36\r\n"
+			+ "Accept: text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8\r\n"
+			+ "Referer: http://www.generallycloud.com/index.html\r\n"
+			+ "Accept-Encoding: gzip, deflate, sdch, br\r\n"
+			+ "Accept-Language: zh-CN,zh;q=0.8,en;q=0.6\r\n"
+			+ "Cookie: JSESSIONID=5C2A4F2B8D1E7A6C9B3F0E4D2A1C8B7F; "
+			+ "_ga=GA1.2.1716382541.1493971268; _gid=GA1.2.1290731214.1495423478; theme=dark\r\n";
+
+	private static final String	BODY		= "username=baseio&password=123456&remember=true"
+			+ "&redirect=%2Fconsole%2Findex.html%3Ftab%3Dsessions";
+
+	private static final String	RESPONSE	= "{\"code\":0,\"message\":\"ok\",\"data\":{\"user\":\"baseio\"}}";
+
+	@Param({ "get", "post" })
+	public String				request;
+
+	@Override
+	protected ProtocolFactory newProtocolFactory() {
+		return new ServerHTTPProtocolFactory();
+	}
+
+	@Override
+	protected byte[] newInput() {
+
+		if ("get".equals(request)) {
+			return ("GET /console/sessions.html?page=2&size=20 HTTP/1.1\r\n" + HEADERS + "\r\n").getBytes();
+		}
+
+		return ("POST /login HTTP/1.1\r\n" + HEADERS
+				+ "Content-Type: application/x-www-form-urlencoded\r\n"
+				+ "Content-Length: " + BODY.length() + "\r\n\r\n" + BODY).getBytes();
+	}
+
+	@Benchmark
+	public ChannelReadFuture decode() throws IOException {
+		return recycle(decodeInput());
+	}
+
+	@Benchmark
+	public ChannelWriteFuture decodeEncode() throws IOException {
+
+		ChannelReadFuture future = decodeInput();
+
+		future.write(RESPONSE);
+
+		return encode(future);
+	}
+
+}
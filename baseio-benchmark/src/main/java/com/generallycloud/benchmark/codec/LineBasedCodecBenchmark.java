@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark.codec;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.generallycloud.nio.codec.linebased.LineBasedProtocolFactory;
+import com.generallycloud.nio.protocol.ChannelReadFuture;
+import com.generallycloud.nio.protocol.ChannelWriteFuture;
+import com.generallycloud.nio.protocol.ProtocolFactory;
+
+/**
+ * 以\n结尾的一行文本，decodeEncode在解码后把读到的文本原样回写并编码
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineBasedCodecBenchmark extends AbstractCodecBenchmark {
+
+	@Param({ "64", "1024" })
+	public int	length;
+
+	@Override
+	protected ProtocolFactory newProtocolFactory() {
+		return new LineBasedProtocolFactory();
+	}
+
+	@Override
+	protected byte[] newInput() {
+
+		byte[] line = new byte[length + 1];
+
+		for (int i = 0; i < length; i++) {
+			line[i] = (byte) ('a' + i % 26);
+		}
+
+		line[length] = '\n';
+
+		return line;
+	}
+
+	@Benchmark
+	public ChannelReadFuture decode() throws IOException {
+		return recycle(decodeInput());
+	}
+
+	@Benchmark
+	public ChannelWriteFuture decodeEncode() throws IOException {
+
+		ChannelReadFuture future = decodeInput();
+
+		future.write(future.getReadText());
+
+		return encode(future);
+	}
+
+}
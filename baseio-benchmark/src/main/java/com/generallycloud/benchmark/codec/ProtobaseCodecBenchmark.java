@@ -0,0 +1,105 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark.codec;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.generallycloud.nio.codec.protobase.ProtobaseProtocolFactory;
+import com.generallycloud.nio.codec.protobase.future.ProtobaseReadFuture;
+import com.generallycloud.nio.codec.protobase.future.ProtobaseReadFutureImpl;
+import com.generallycloud.nio.common.ReleaseUtil;
+import com.generallycloud.nio.protocol.ChannelReadFuture;
+import com.generallycloud.nio.protocol.ChannelWriteFuture;
+import com.generallycloud.nio.protocol.ProtocolFactory;
+
+/**
+ * 带json文本的请求，binary为true时再带一段二进制，输入由ProtobaseProtocolEncoder生成，
+ * decodeEncode在解码后回写同样的内容并编码
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtobaseCodecBenchmark extends AbstractCodecBenchmark {
+
+	private static final String	TEXT		= "{\"userID\":10086,\"action\":\"query\",\"page\":2,\"size\":20}";
+
+	// 小于编码器的COMPOSITE_THRESHOLD，与头部拷贝在一起
+	private static final byte[]	BINARY	= new byte[512];
+
+	@Param({ "false", "true" })
+	public boolean				binary;
+
+	@Override
+	protected ProtocolFactory newProtocolFactory() {
+		return new ProtobaseProtocolFactory();
+	}
+
+	@Override
+	protected byte[] newInput() throws IOException {
+
+		ProtobaseReadFutureImpl future = new ProtobaseReadFutureImpl(session.getContext(), 1, "user-service");
+
+		write(future);
+
+		ChannelWriteFuture writeFuture = encoder.encode(session.getByteBufAllocator(), future);
+
+		try {
+			return writeFuture.getByteBuf().getBytes();
+		} finally {
+			ReleaseUtil.release(writeFuture);
+		}
+	}
+
+	private void write(ProtobaseReadFuture future) {
+
+		future.write(TEXT);
+
+		if (binary) {
+			future.writeBinary(BINARY);
+		}
+	}
+
+	@Benchmark
+	public ChannelReadFuture decode() throws IOException {
+		return recycle(decodeInput());
+	}
+
+	@Benchmark
+	public ChannelWriteFuture decodeEncode() throws IOException {
+
+		ChannelReadFuture future = decodeInput();
+
+		write((ProtobaseReadFuture) future);
+
+		return encode(future);
+	}
+
+}
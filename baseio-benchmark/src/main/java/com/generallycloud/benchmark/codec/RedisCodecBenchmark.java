@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark.codec;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.generallycloud.nio.codec.redis.RedisProtocolFactory;
+import com.generallycloud.nio.protocol.ChannelReadFuture;
+import com.generallycloud.nio.protocol.ProtocolFactory;
+
+/**
+ * 由elements个bulk string组成的数组，3个时相当于一条SET命令，
+ * 更多时相当于LRANGE之类的多值回复
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisCodecBenchmark extends AbstractCodecBenchmark {
+
+	@Param({ "3", "32" })
+	public int	elements;
+
+	@Override
+	protected ProtocolFactory newProtocolFactory() {
+		return new RedisProtocolFactory();
+	}
+
+	@Override
+	protected byte[] newInput() {
+
+		StringBuilder builder = new StringBuilder();
+
+		builder.append('*').append(elements).append("\r\n");
+
+		for (int i = 0; i < elements; i++) {
+
+			String value = i == 0 ? "SET" : "session:" + (10000 + i);
+
+			builder.append('$').append(value.length()).append("\r\n");
+			builder.append(value).append("\r\n");
+		}
+
+		return builder.toString().getBytes();
+	}
+
+	@Benchmark
+	public ChannelReadFuture decode() throws IOException {
+		return recycle(decodeInput());
+	}
+
+}
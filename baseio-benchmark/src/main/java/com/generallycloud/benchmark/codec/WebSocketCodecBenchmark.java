@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark.codec;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.generallycloud.nio.codec.http11.WebSocketProtocolFactory;
+import com.generallycloud.nio.protocol.ChannelReadFuture;
+import com.generallycloud.nio.protocol.ProtocolFactory;
+
+/**
+ * 浏览器发来的带掩码的文本帧，length大于125时使用2字节的扩展长度
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebSocketCodecBenchmark extends AbstractCodecBenchmark {
+
+	private static final byte[]	MASK	= { 0x37, (byte) 0xfa, 0x21, 0x3d };
+
+	@Param({ "16", "1024" })
+	public int				length;
+
+	@Override
+	protected ProtocolFactory newProtocolFactory() {
+		return new WebSocketProtocolFactory();
+	}
+
+	@Override
+	protected byte[] newInput() {
+
+		int header = length < 126 ? 2 : 4;
+
+		byte[] frame = new byte[header + MASK.length + length];
+
+		// FIN + text
+		frame[0] = (byte) 0x81;
+
+		if (length < 126) {
+			frame[1] = (byte) (0x80 | length);
+		} else {
+			frame[1] = (byte) (0x80 | 126);
+			frame[2] = (byte) (length >> 8);
+			frame[3] = (byte) length;
+		}
+
+		System.arraycopy(MASK, 0, frame, header, MASK.length);
+
+		int offset = header + MASK.length;
+
+		for (int i = 0; i < length; i++) {
+			frame[offset + i] = (byte) (('a' + i % 26) ^ MASK[i % 4]);
+		}
+
+		return frame;
+	}
+
+	@Benchmark
+	public ChannelReadFuture decode() throws IOException {
+		return recycle(decodeInput());
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark.component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.generallycloud.benchmark.Contenders;
+import com.generallycloud.benchmark.Loopback;
+import com.generallycloud.nio.codec.fixedlength.FixedLengthProtocolFactory;
+import com.generallycloud.nio.component.SelectorEventLoop;
+import com.generallycloud.nio.component.SelectorLoopEventAdapter;
+
+/**
+ * 从业务线程向selector loop投递一个事件并等待其执行完成的往返耗时，
+ * 包含入队、唤醒selector以及唤醒等待线程，dispatchers个后台线程
+ * 同时向同一个selector loop投递
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(1)
+@Fork(1)
+public class SelectorLoopDispatchBenchmark {
+
+	@Param({ "0", "1", "3" })
+	public int					dispatchers;
+
+	@Param({ "18400" })
+	public int					port;
+
+	private Loopback				loopback;
+
+	private SelectorEventLoop		selectorLoop;
+
+	private Contenders				contenders;
+
+	private RoundTripEvent			event	= new RoundTripEvent();
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+
+		loopback = new Loopback(port, new FixedLengthProtocolFactory());
+
+		selectorLoop = loopback.getSelectorEventLoop();
+
+		contenders = new Contenders("dispatch", dispatchers, new Runnable() {
+
+			// 每个竞争线程各自持有一个event，不能共享
+			private ThreadLocal<RoundTripEvent> events = new ThreadLocal<RoundTripEvent>() {
+
+				@Override
+				protected RoundTripEvent initialValue() {
+					return new RoundTripEvent();
+				}
+			};
+
+			@Override
+			public void run() {
+				events.get().roundTrip(selectorLoop);
+			}
+		}).start();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		contenders.stop();
+		loopback.close();
+	}
+
+	@Benchmark
+	public void roundTrip() {
+		event.roundTrip(selectorLoop);
+	}
+
+	static class RoundTripEvent extends SelectorLoopEventAdapter {
+
+		private volatile boolean	fired;
+
+		private volatile Thread	waiter;
+
+		void roundTrip(SelectorEventLoop selectorLoop) {
+
+			fired = false;
+
+			waiter = Thread.currentThread();
+
+			selectorLoop.dispatch(this);
+
+			while (!fired) {
+				LockSupport.park(this);
+			}
+		}
+
+		@Override
+		public void fireEvent(SelectorEventLoop selectLoop) throws IOException {
+
+			fired = true;
+
+			LockSupport.unpark(waiter);
+		}
+	}
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.generallycloud.nio.Linkable;
+import com.generallycloud.nio.component.concurrent.LinkedQueueM2O;
+import com.generallycloud.nio.component.concurrent.ListQueue;
+import com.generallycloud.nio.component.concurrent.ListQueueABQ;
+import com.generallycloud.nio.component.concurrent.ListQueueLinkUnsafe;
+import com.generallycloud.nio.component.concurrent.ListQueueM2O;
+import com.generallycloud.nio.component.concurrent.ListQueueO2O;
+
+/**
+ * 无竞争时单线程连续offer batch个再poll batch个，结果为每个元素的耗时，
+ * 包含只能单线程使用的ListQueueLinkUnsafe，有竞争的情况见QueueContentionBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+
+	private static final int	BATCH	= 64;
+
+	@Param({ "abq", "m2o", "o2o", "link", "linked-m2o" })
+	public String			queue;
+
+	private ListQueue<Node>	listQueue;
+
+	private Node[]			nodes;
+
+	@Setup(Level.Trial)
+	public void setup() {
+
+		listQueue = newQueue(queue, BATCH * 2);
+
+		nodes = new Node[BATCH];
+
+		for (int i = 0; i < BATCH; i++) {
+			nodes[i] = new Node(i);
+		}
+	}
+
+	static ListQueue<Node> newQueue(String queue, int capacity) {
+		if ("abq".equals(queue)) {
+			return new ListQueueABQ<Node>(capacity);
+		}
+		if ("m2o".equals(queue)) {
+			return new ListQueueM2O<Node>(capacity);
+		}
+		if ("o2o".equals(queue)) {
+			return new ListQueueO2O<Node>(capacity);
+		}
+		if ("link".equals(queue)) {
+			return new ListQueueLinkUnsafe<Node>();
+		}
+		if ("linked-m2o".equals(queue)) {
+			return new LinkedListQueue<Node>();
+		}
+		throw new IllegalArgumentException(queue);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public int offerPoll() {
+
+		ListQueue<Node> listQueue = this.listQueue;
+
+		Node[] nodes = this.nodes;
+
+		for (Node node : nodes) {
+			// ListQueueLinkUnsafe通过元素自身链接，重新入队前需要断开
+			node.setNext(null);
+			listQueue.offer(node);
+		}
+
+		int sum = 0;
+
+		for (int i = 0; i < nodes.length; i++) {
+			sum += listQueue.poll().index;
+		}
+
+		return sum;
+	}
+
+	static class Node implements Linkable<Node> {
+
+		final int				index;
+
+		private Linkable<Node>	next;
+
+		Node(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public Linkable<Node> getNext() {
+			return next;
+		}
+
+		@Override
+		public void setNext(Linkable<Node> next) {
+			this.next = next;
+		}
+
+		@Override
+		public Node getValue() {
+			return this;
+		}
+	}
+
+	/**
+	 * selector的事件队列LinkedQueueM2O不是ListQueue，包装后一起比较
+	 */
+	static class LinkedListQueue<T> implements ListQueue<T> {
+
+		private LinkedQueueM2O<T>	queue	= new LinkedQueueM2O<T>();
+
+		@Override
+		public boolean offer(T object) {
+			queue.offer(object);
+			return true;
+		}
+
+		@Override
+		public T poll() {
+			return queue.poll();
+		}
+
+		@Override
+		public T poll(long timeout) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int size() {
+			return queue.size();
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.generallycloud.benchmark.Contenders;
+import com.generallycloud.benchmark.concurrent.QueueBenchmark.Node;
+import com.generallycloud.nio.component.concurrent.ListQueue;
+
+/**
+ * producers个后台线程持续offer，被测线程作为唯一的消费者poll，
+ * 结果为消费者每微秒取到的元素数，即整个队列的吞吐
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(1)
+@Fork(1)
+public class QueueContentionBenchmark {
+
+	@Param({ "abq", "m2o", "linked-m2o" })
+	public String			queue;
+
+	@Param({ "1", "2", "4" })
+	public int			producers;
+
+	@Param({ "1024" })
+	public int			capacity;
+
+	private ListQueue<Node>	listQueue;
+
+	private Contenders		producerThreads;
+
+	@Setup(Level.Trial)
+	public void setup() {
+
+		listQueue = QueueBenchmark.newQueue(queue, capacity);
+
+		final Node node = new Node(1);
+
+		final ListQueue<Node> listQueue = this.listQueue;
+
+		final int capacity = this.capacity;
+
+		producerThreads = new Contenders("queue", producers, new Runnable() {
+
+			@Override
+			public void run() {
+				// 链表队列没有容量限制，积压过多时暂停生产
+				if (listQueue.size() < capacity) {
+					listQueue.offer(node);
+				} else {
+					Thread.yield();
+				}
+			}
+		}).start();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws InterruptedException {
+		producerThreads.stop();
+	}
+
+	@Benchmark
+	public Node poll() {
+
+		ListQueue<Node> listQueue = this.listQueue;
+
+		for (;;) {
+
+			Node node = listQueue.poll();
+
+			if (node != null) {
+				return node;
+			}
+		}
+	}
+
+}
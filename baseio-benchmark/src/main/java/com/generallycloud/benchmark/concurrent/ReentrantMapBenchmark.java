@@ -0,0 +1,142 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.benchmark.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.generallycloud.benchmark.Contenders;
+import com.generallycloud.nio.component.concurrent.ReentrantMap;
+
+/**
+ * ReentrantMap只允许一个线程读，被测线程作为唯一的读线程get，
+ * writers个后台线程持续put已有的key，与ConcurrentHashMap对比
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(1)
+@Fork(1)
+public class ReentrantMapBenchmark {
+
+	@Param({ "reentrant", "concurrent" })
+	public String						map;
+
+	@Param({ "16", "1024" })
+	public int						size;
+
+	@Param({ "0", "1", "2" })
+	public int						writers;
+
+	private ReentrantMap<Integer, Integer>		reentrantMap;
+
+	private Map<Integer, Integer>			concurrentMap;
+
+	private Integer[]					keys;
+
+	private int						index;
+
+	private boolean					reentrant;
+
+	private Contenders					writerThreads;
+
+	@Setup(Level.Trial)
+	public void setup() {
+
+		keys = new Integer[size];
+
+		reentrantMap = new ReentrantMap<Integer, Integer>();
+
+		concurrentMap = new ConcurrentHashMap<Integer, Integer>();
+
+		for (int i = 0; i < size; i++) {
+			keys[i] = i;
+			reentrantMap.put(keys[i], keys[i]);
+			concurrentMap.put(keys[i], keys[i]);
+		}
+
+		final boolean reentrant = this.reentrant = "reentrant".equals(map);
+
+		writerThreads = new Contenders("map", writers, new Runnable() {
+
+			@Override
+			public void run() {
+
+				Integer key = keys[ThreadLocalRandom.current().nextInt(size)];
+
+				if (reentrant) {
+					reentrantMap.put(key, key);
+				} else {
+					concurrentMap.put(key, key);
+				}
+			}
+		}).start();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws InterruptedException {
+		writerThreads.stop();
+	}
+
+	@Benchmark
+	public Integer get() {
+
+		Integer key = keys[index++ & (size - 1)];
+
+		if (reentrant) {
+			return reentrantMap.get(key);
+		}
+
+		return concurrentMap.get(key);
+	}
+
+	/**
+	 * 读线程自己写入后再读，包含put事件在下一次get时合并进快照的开销
+	 */
+	@Benchmark
+	public Integer putGet() {
+
+		Integer key = keys[index++ & (size - 1)];
+
+		if (reentrant) {
+			reentrantMap.put(key, key);
+			return reentrantMap.get(key);
+		}
+
+		concurrentMap.put(key, key);
+		return concurrentMap.get(key);
+	}
+
+}
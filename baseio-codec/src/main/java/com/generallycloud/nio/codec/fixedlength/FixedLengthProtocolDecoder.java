@@ -59,7 +59,8 @@ public class FixedLengthProtocolDecoder implements ProtocolDecoder {
 	@Override
 	public ChannelReadFuture decode(SocketSession session, ByteBuf buffer) throws IOException {
 
-		return new FixedLengthReadFutureImpl(session, session.getByteBufAllocator().allocate(PROTOCOL_HEADER), limit);
+		return FixedLengthReadFutureImpl.newInstance(session,
+				session.getByteBufAllocator().allocate(PROTOCOL_HEADER), limit);
 	}
 
 }
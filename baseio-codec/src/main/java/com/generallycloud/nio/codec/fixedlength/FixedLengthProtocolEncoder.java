@@ -41,7 +41,7 @@ public class FixedLengthProtocolEncoder implements ProtocolEncoder {
 
 			buffer.putInt(value);
 
-			return new ChannelWriteFutureImpl(future, buffer.flip());
+			return ChannelWriteFutureImpl.newInstance(future, buffer.flip());
 		}
 		
 		Charset charset = future.getContext().getEncoding();
@@ -64,6 +64,6 @@ public class FixedLengthProtocolEncoder implements ProtocolEncoder {
 
 		buf.put(text_array, 0, size);
 
-		return new ChannelWriteFutureImpl(future, buf.flip());
+		return ChannelWriteFutureImpl.newInstance(future, buf.flip());
 	}
 }
@@ -25,10 +25,13 @@ import com.generallycloud.nio.common.ReleaseUtil;
 import com.generallycloud.nio.component.Session;
 import com.generallycloud.nio.component.SocketChannelContext;
 import com.generallycloud.nio.component.SocketSession;
+import com.generallycloud.nio.component.concurrent.Recyclable;
+import com.generallycloud.nio.component.concurrent.Recycler;
 import com.generallycloud.nio.protocol.AbstractChannelReadFuture;
 import com.generallycloud.nio.protocol.ProtocolException;
 
-public class FixedLengthReadFutureImpl extends AbstractChannelReadFuture implements FixedLengthReadFuture {
+public class FixedLengthReadFutureImpl extends AbstractChannelReadFuture
+		implements FixedLengthReadFuture, Recyclable {
 
 	private ByteBuf	buf;
 
@@ -38,6 +41,31 @@ public class FixedLengthReadFutureImpl extends AbstractChannelReadFuture impleme
 
 	private int		limit;
 
+	private Recycler.Handle<FixedLengthReadFutureImpl>	handle;
+
+	private static final Recycler<FixedLengthReadFutureImpl>	RECYCLER	= new Recycler<FixedLengthReadFutureImpl>() {
+		@Override
+		protected FixedLengthReadFutureImpl newObject(Handle<FixedLengthReadFutureImpl> handle) {
+			return new FixedLengthReadFutureImpl(handle);
+		}
+	};
+
+	private FixedLengthReadFutureImpl(Recycler.Handle<FixedLengthReadFutureImpl> handle) {
+		super(null);
+		this.handle = handle;
+	}
+
+	/**
+	 * 从对象池中取出，用于解码，回写完成后由ChannelWriteFutureImpl回收
+	 */
+	public static FixedLengthReadFutureImpl newInstance(SocketSession session, ByteBuf buf, int limit) {
+		FixedLengthReadFutureImpl f = RECYCLER.get();
+		f.context = session.getContext();
+		f.buf = buf;
+		f.limit = limit;
+		return f;
+	}
+
 	public FixedLengthReadFutureImpl(SocketSession session, ByteBuf buf,int limit) {
 		super(session.getContext());
 		this.buf = buf;
@@ -113,4 +141,22 @@ public class FixedLengthReadFutureImpl extends AbstractChannelReadFuture impleme
 		ReleaseUtil.release(buf);
 	}
 
+	@Override
+	protected void reset() {
+		super.reset();
+		this.buf = null;
+		this.header_complete = false;
+		this.body_complete = false;
+		this.limit = 0;
+	}
+
+	@Override
+	public void recycle() {
+		if (handle == null) {
+			return;
+		}
+		reset();
+		handle.recycle(this);
+	}
+
 }
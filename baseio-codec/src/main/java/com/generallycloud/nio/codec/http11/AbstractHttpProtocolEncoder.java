@@ -42,7 +42,7 @@ public abstract class AbstractHttpProtocolEncoder implements ProtocolEncoder {
 			buf.reallocate(buf.position() + len, true);
 			buf.limit(buf.capacity());
 		}
-		buf.put(array);
+		buf.put(array, offset, len);
 	}
 
 	protected void writeBuf(ByteBuf buf, byte b) {
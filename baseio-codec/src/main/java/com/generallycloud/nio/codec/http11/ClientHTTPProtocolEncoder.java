@@ -66,7 +66,7 @@ public class ClientHTTPProtocolEncoder extends AbstractHttpProtocolEncoder {
 
 		buf.put(RN);
 
-		return new ChannelWriteFutureImpl(f, buf.flip());
+		return ChannelWriteFutureImpl.newInstance(f, buf.flip());
 	}
 
 	private String getRequestURI(HttpReadFuture future) {
@@ -21,6 +21,8 @@ import java.util.List;
 
 import com.generallycloud.nio.buffer.ByteBuf;
 import com.generallycloud.nio.buffer.ByteBufAllocator;
+import com.generallycloud.nio.buffer.CompositeByteBuf;
+import com.generallycloud.nio.buffer.UnpooledByteBufAllocator;
 import com.generallycloud.nio.codec.http11.future.Cookie;
 import com.generallycloud.nio.codec.http11.future.ServerHttpReadFuture;
 import com.generallycloud.nio.common.StringUtil;
@@ -86,11 +88,18 @@ public class ServerHTTPProtocolEncoder extends AbstractHttpProtocolEncoder {
 
 		writeBuf(buf, RN);
 
+		if (CompositeByteBuf.isWrapHeapBody(allocator, length)) {
+
+			ByteBuf body = UnpooledByteBufAllocator.getHeapInstance().wrap(array, 0, length);
+
+			return ChannelWriteFutureImpl.newInstance(f, new CompositeByteBuf(buf.flip(), body));
+		}
+
 		if (length != 0) {
 			writeBuf(buf, array, 0, length);
 		}
 
-		return new ChannelWriteFutureImpl(f, buf.flip());
+		return ChannelWriteFutureImpl.newInstance(f, buf.flip());
 	}
 
 }
@@ -71,7 +71,7 @@ public class WebSocketProtocolEncoder implements ProtocolEncoder {
 		
 		buf.put(data,0,size);
 		
-		return new ChannelWriteFutureImpl(readFuture, buf.flip());
+		return ChannelWriteFutureImpl.newInstance(readFuture, buf.flip());
 	}
 	
 //	public IOWriteFuture encodeWithMask(BaseContext context, IOReadFuture readFuture) throws IOException {
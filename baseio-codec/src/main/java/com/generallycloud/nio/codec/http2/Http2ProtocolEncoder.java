@@ -19,6 +19,8 @@ import java.io.IOException;
 
 import com.generallycloud.nio.buffer.ByteBuf;
 import com.generallycloud.nio.buffer.ByteBufAllocator;
+import com.generallycloud.nio.buffer.CompositeByteBuf;
+import com.generallycloud.nio.buffer.UnpooledByteBufAllocator;
 import com.generallycloud.nio.codec.http2.future.Http2Frame;
 import com.generallycloud.nio.codec.http2.future.Http2FrameType;
 import com.generallycloud.nio.codec.http2.future.Http2HeadersFrame;
@@ -32,7 +34,7 @@ import com.generallycloud.nio.protocol.ChannelWriteFutureImpl;
 import com.generallycloud.nio.protocol.ProtocolEncoder;
 
 public class Http2ProtocolEncoder implements ProtocolEncoder {
-	
+
 	private Http2HeadersEncoder http2HeadersEncoder = new DefaultHttp2HeadersEncoder();
 
 	@Override
@@ -106,7 +108,10 @@ public class Http2ProtocolEncoder implements ProtocolEncoder {
 		
 		int length = payload.length;
 		
-		ByteBuf buf = allocator.allocate(length + Http2ProtocolDecoder.PROTOCOL_HEADER);
+		boolean composite = CompositeByteBuf.isWrapHeapBody(allocator, length);
+
+		ByteBuf buf = allocator.allocate(composite ? Http2ProtocolDecoder.PROTOCOL_HEADER
+				: length + Http2ProtocolDecoder.PROTOCOL_HEADER);
 		
 		byte b2 = (byte) ((length & 0xff));
 		byte b1 = (byte) ((length >> 8*1) & 0xff);
@@ -121,8 +126,15 @@ public class Http2ProtocolEncoder implements ProtocolEncoder {
 		
 		buf.putInt(frame.getHeader().getStreamIdentifier());
 		
+		if (composite) {
+
+			ByteBuf body = UnpooledByteBufAllocator.getHeapInstance().wrap(payload);
+
+			return ChannelWriteFutureImpl.newInstance(future, new CompositeByteBuf(buf.flip(), body));
+		}
+
 		buf.put(payload);
 		
-		return new ChannelWriteFutureImpl(future, buf.flip());
+		return ChannelWriteFutureImpl.newInstance(future, buf.flip());
 	}
 }
@@ -93,13 +93,17 @@ final class StaticTable {
 		STATIC_HEADER_TABLE.add(new Http2Header(61, "www-authenticate", ""));
 		
 		
+		// 同名的header在表中相邻，map中只保留第一个
 		for (Http2Header header : STATIC_HEADER_TABLE) {
 			
-			STATIC_MAP.put(header.getName(), header);
+			if (!STATIC_MAP.containsKey(header.getName())) {
+				STATIC_MAP.put(header.getName(), header);
+			}
 		}
 	}
 
-	static final int	length	= STATIC_HEADER_TABLE.size();
+	// 下标0只是占位，静态表实际为1-61，动态表从62开始
+	static final int	length	= STATIC_HEADER_TABLE.size() - 1;
 
 	static Http2Header getEntry(int index) {
 		return STATIC_HEADER_TABLE.get(index);
@@ -109,10 +113,23 @@ final class StaticTable {
 	private StaticTable() {
 	}
 	
+	/**
+	 * @return 第一个名称匹配的下标，没有时返回-1
+	 */
 	public static int getIndex(String name) {
-		return getIndex(name, "");
+
+		Http2Header header = STATIC_MAP.get(name);
+
+		if (header == null) {
+			return -1;
+		}
+
+		return header.getIndex();
 	}
 
+	/**
+	 * @return 名称和值都匹配的下标，没有时返回-1
+	 */
 	public static int getIndex(String name, String value) {
 
 		Http2Header header = STATIC_MAP.get(name);
@@ -121,10 +138,19 @@ final class StaticTable {
 			return -1;
 		}
 		
-		if (header.getValue().equals(value)) {
-			return header.getIndex();
+		for (int i = header.getIndex(); i <= length; i++) {
+
+			Http2Header entry = STATIC_HEADER_TABLE.get(i);
+
+			if (!entry.getName().equals(name)) {
+				break;
+			}
+
+			if (entry.getValue().equals(value)) {
+				return i;
+			}
 		}
 		
-		return 0;
+		return -1;
 	}
 }
@@ -52,7 +52,7 @@ public class LineBasedProtocolEncoder implements ProtocolEncoder {
 
 		buf.putByte(LineBasedProtocolDecoder.LINE_BASE);
 
-		return new ChannelWriteFutureImpl(future, buf.flip());
+		return ChannelWriteFutureImpl.newInstance(future, buf.flip());
 	}
 
 }
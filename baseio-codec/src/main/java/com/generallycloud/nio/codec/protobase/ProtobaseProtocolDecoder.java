@@ -87,7 +87,7 @@ public class ProtobaseProtocolDecoder implements ProtocolDecoder {
 			buf.reallocate(PROTOCOL_HEADER_NO_BINARY - 1);
 		}
 		
-		return new ProtobaseReadFutureImpl(session, buf, limit);
+		return ProtobaseReadFutureImpl.newInstance(session, buf, limit);
 	}
 
 }
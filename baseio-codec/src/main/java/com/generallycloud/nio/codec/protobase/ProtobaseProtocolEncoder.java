@@ -20,7 +20,9 @@ import java.nio.charset.Charset;
 
 import com.generallycloud.nio.buffer.ByteBuf;
 import com.generallycloud.nio.buffer.ByteBufAllocator;
+import com.generallycloud.nio.buffer.CompositeByteBuf;
 import com.generallycloud.nio.buffer.EmptyByteBuf;
+import com.generallycloud.nio.buffer.UnpooledByteBufAllocator;
 import com.generallycloud.nio.codec.protobase.future.ProtobaseReadFuture;
 import com.generallycloud.nio.common.StringUtil;
 import com.generallycloud.nio.component.BufferedOutputStream;
@@ -48,7 +50,7 @@ public class ProtobaseProtocolEncoder implements ProtocolEncoder {
 
 			buf.putByte(b);
 
-			return new ChannelWriteFutureImpl(readFuture, buf.flip());
+			return ChannelWriteFutureImpl.newInstance(readFuture, buf.flip());
 		}
 
 		ProtobaseReadFuture f = (ProtobaseReadFuture) readFuture;
@@ -109,7 +111,7 @@ public class ProtobaseProtocolEncoder implements ProtocolEncoder {
 			buf.put(text_array, 0, text_length);
 		}
 
-		return new ChannelWriteFutureImpl(readFuture, buf.flip());
+		return ChannelWriteFutureImpl.newInstance(readFuture, buf.flip());
 	}
 
 	private ChannelWriteFuture encode(ByteBufAllocator allocator, ProtobaseReadFuture f,
@@ -129,7 +131,9 @@ public class ProtobaseProtocolEncoder implements ProtocolEncoder {
 
 		int all_length = header_length + future_name_length + text_length + binary_length;
 
-		ByteBuf buf = allocator.allocate(all_length);
+		boolean composite = CompositeByteBuf.isWrapHeapBody(allocator, binary_length);
+
+		ByteBuf buf = allocator.allocate(composite ? all_length - binary_length : all_length);
 
 		buf.putByte(byte0);
 		buf.putByte((byte) (future_name_length));
@@ -145,9 +149,17 @@ public class ProtobaseProtocolEncoder implements ProtocolEncoder {
 			buf.put(text_array, 0, text_length);
 		}
 
+		if (composite) {
+
+			ByteBuf body = UnpooledByteBufAllocator.getHeapInstance().wrap(binary.array(), 0,
+					binary_length);
+
+			return ChannelWriteFutureImpl.newInstance(f, new CompositeByteBuf(buf.flip(), body));
+		}
+
 		buf.put(binary.array(), 0, binary_length);
 
-		return new ChannelWriteFutureImpl(f, buf.flip());
+		return ChannelWriteFutureImpl.newInstance(f, buf.flip());
 	}
 
 }
@@ -30,11 +30,14 @@ import com.generallycloud.nio.component.Parameters;
 import com.generallycloud.nio.component.Session;
 import com.generallycloud.nio.component.SocketChannelContext;
 import com.generallycloud.nio.component.SocketSession;
+import com.generallycloud.nio.component.concurrent.Recyclable;
+import com.generallycloud.nio.component.concurrent.Recycler;
 
 /**
  *
  */
-public class ProtobaseReadFutureImpl extends AbstractBalanceReadFuture implements ProtobaseReadFuture {
+public class ProtobaseReadFutureImpl extends AbstractBalanceReadFuture
+		implements ProtobaseReadFuture, Recyclable {
 
 	private byte[]			binary;
 	private int				binaryLength;
@@ -52,6 +55,35 @@ public class ProtobaseReadFutureImpl extends AbstractBalanceReadFuture implement
 
 	private BufferedOutputStream	writeBinaryBuffer;
 
+	// 回收时保留的writeBinaryBuffer，下次writeBinary时复用
+	private BufferedOutputStream	cachedBinaryBuffer;
+
+	private Recycler.Handle<ProtobaseReadFutureImpl>	handle;
+
+	private static final Recycler<ProtobaseReadFutureImpl>	RECYCLER	= new Recycler<ProtobaseReadFutureImpl>() {
+		@Override
+		protected ProtobaseReadFutureImpl newObject(Handle<ProtobaseReadFutureImpl> handle) {
+			return new ProtobaseReadFutureImpl(handle);
+		}
+	};
+
+	private ProtobaseReadFutureImpl(Recycler.Handle<ProtobaseReadFutureImpl> handle) {
+		super(null);
+		this.handle = handle;
+	}
+
+	/**
+	 * 从对象池中取出，用于解码，回写完成后由ChannelWriteFutureImpl回收
+	 */
+	public static ProtobaseReadFutureImpl newInstance(SocketSession session, ByteBuf buf,
+			int binaryLimit) {
+		ProtobaseReadFutureImpl f = RECYCLER.get();
+		f.context = session.getContext();
+		f.buf = buf;
+		f.binaryLimit = binaryLimit;
+		return f;
+	}
+
 	// for ping & pong
 	public ProtobaseReadFutureImpl(SocketChannelContext context) {
 		super(context);
@@ -223,6 +255,48 @@ public class ProtobaseReadFutureImpl extends AbstractBalanceReadFuture implement
 		ReleaseUtil.release(buf);
 	}
 
+	@Override
+	protected void reset() {
+		super.reset();
+		BufferedOutputStream writeBinaryBuffer = this.writeBinaryBuffer;
+		if (writeBinaryBuffer != null && writeBinaryBuffer.array().length <= 1024 * 64) {
+			writeBinaryBuffer.reset();
+			this.cachedBinaryBuffer = writeBinaryBuffer;
+		}
+		this.writeBinaryBuffer = null;
+		this.binary = null;
+		this.binaryLength = 0;
+		this.binaryLimit = 0;
+		this.body_complete = false;
+		this.buf = null;
+		this.futureID = null;
+		this.futureName = null;
+		this.hashCode = 0;
+		this.header_complete = false;
+		this.parameters = null;
+		this.future_name_length = 0;
+		this.textLength = 0;
+		this.translated = false;
+	}
+
+	@Override
+	public void recycle() {
+		if (handle == null) {
+			return;
+		}
+		reset();
+		handle.recycle(this);
+	}
+
+	private BufferedOutputStream newBinaryBuffer() {
+		BufferedOutputStream buffer = this.cachedBinaryBuffer;
+		if (buffer == null) {
+			return new BufferedOutputStream();
+		}
+		this.cachedBinaryBuffer = null;
+		return buffer;
+	}
+
 	@Override
 	public void setFutureID(Object futureID) {
 		this.futureID = (Integer) futureID;
@@ -254,7 +328,7 @@ public class ProtobaseReadFutureImpl extends AbstractBalanceReadFuture implement
 	public void writeBinary(byte b) {
 
 		if (writeBinaryBuffer == null) {
-			writeBinaryBuffer = new BufferedOutputStream();
+			writeBinaryBuffer = newBinaryBuffer();
 		}
 
 		writeBinaryBuffer.write(b);
@@ -272,7 +346,7 @@ public class ProtobaseReadFutureImpl extends AbstractBalanceReadFuture implement
 	public void writeBinary(byte[] bytes, int offset, int length) {
 
 		if (writeBinaryBuffer == null) {
-			writeBinaryBuffer = new BufferedOutputStream();
+			writeBinaryBuffer = newBinaryBuffer();
 		}
 
 		writeBinaryBuffer.write(bytes, offset, length);
@@ -45,7 +45,7 @@ public class RedisProtocolEncoder implements ProtocolEncoder {
 
 		buf.put(os.array(), 0, size);
 
-		return new ChannelWriteFutureImpl(future, buf.flip());
+		return ChannelWriteFutureImpl.newInstance(future, buf.flip());
 		
 	}
 	
@@ -35,6 +35,7 @@ import com.generallycloud.nio.container.authority.AuthorityLoginCenter;
 import com.generallycloud.nio.container.authority.RoleManager;
 import com.generallycloud.nio.container.configuration.ApplicationConfiguration;
 import com.generallycloud.nio.container.implementation.SystemRedeployServlet;
+import com.generallycloud.nio.container.implementation.SystemServiceLatencyServlet;
 import com.generallycloud.nio.container.implementation.SystemStopServerServlet;
 import com.generallycloud.nio.container.service.FutureAcceptor;
 import com.generallycloud.nio.container.service.FutureAcceptorFilter;
@@ -201,6 +202,7 @@ public class ApplicationContext extends AbstractLifeCycle {
 		pluginServlets.clear();
 		putPluginServices(getAppRedeployService());
 		putPluginServices(new SystemStopServerServlet());
+		putPluginServices(new SystemServiceLatencyServlet());
 
 	}
 
@@ -298,6 +300,10 @@ public class ApplicationContext extends AbstractLifeCycle {
 		this.appRedeployService = appRedeployService;
 	}
 
+	public FutureAcceptorServiceFilter getFutureAcceptorServiceFilter() {
+		return futureAcceptorServiceFilter;
+	}
+
 	public void setServiceFilter(FutureAcceptorServiceFilter serviceFilter) {
 		this.futureAcceptorServiceFilter = serviceFilter;
 	}
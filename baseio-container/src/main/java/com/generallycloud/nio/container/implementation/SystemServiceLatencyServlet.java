@@ -0,0 +1,61 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.container.implementation;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.alibaba.fastjson.JSONObject;
+import com.generallycloud.nio.component.SocketSession;
+import com.generallycloud.nio.container.ApplicationContext;
+import com.generallycloud.nio.container.service.FutureAcceptorService;
+import com.generallycloud.nio.container.service.FutureAcceptorServiceFilter;
+import com.generallycloud.nio.container.service.FutureAcceptorServiceMetrics;
+import com.generallycloud.nio.protocol.ReadFuture;
+
+/**
+ * 以JSON返回各服务的延迟分布(纳秒)，如：
+ * {"/test":{"queueWait":{...},"handle":{...},"total":{"count":1,"mean":..,"p50":..,"p90":..,"p99":..,"p999":..,"max":..}}}
+ */
+public class SystemServiceLatencyServlet extends FutureAcceptorService {
+
+	public SystemServiceLatencyServlet() {
+		this.setServiceName("/system-service-latency.auth");
+	}
+
+	@Override
+	public void accept(SocketSession session, ReadFuture future) throws Exception {
+
+		JSONObject o = new JSONObject();
+
+		FutureAcceptorServiceFilter filter = ApplicationContext.getInstance()
+				.getFutureAcceptorServiceFilter();
+
+		if (filter != null) {
+
+			Map<String, FutureAcceptorServiceMetrics> metrics = filter.getServiceMetrics();
+
+			for (Entry<String, FutureAcceptorServiceMetrics> entry : metrics.entrySet()) {
+				o.put(entry.getKey(), entry.getValue().toJSONObject());
+			}
+		}
+
+		future.write(o.toJSONString());
+
+		session.flush(future);
+	}
+
+}
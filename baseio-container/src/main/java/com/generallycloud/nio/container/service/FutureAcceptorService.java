@@ -32,6 +32,9 @@ public abstract class FutureAcceptorService extends InitializeableImpl implement
 
 	private String		serviceName	= null;
 
+	// 由FutureAcceptorServiceFilter在业务线程中创建，用于统计该服务的延迟
+	private volatile FutureAcceptorServiceHandle	serviceHandle;
+
 	@Override
 	public void initialize(ApplicationContext context, Configuration config) throws Exception {
 
@@ -71,6 +74,14 @@ public abstract class FutureAcceptorService extends InitializeableImpl implement
 	public String getServiceName() {
 		return serviceName;
 	}
+
+	FutureAcceptorServiceHandle getServiceHandle() {
+		return serviceHandle;
+	}
+
+	void setServiceHandle(FutureAcceptorServiceHandle serviceHandle) {
+		this.serviceHandle = serviceHandle;
+	}
 	
 	public void setServiceName(String serviceName) {
 		
@@ -16,16 +16,20 @@
 package com.generallycloud.nio.container.service;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.generallycloud.nio.common.LifeCycleUtil;
 import com.generallycloud.nio.common.Logger;
 import com.generallycloud.nio.common.LoggerFactory;
 import com.generallycloud.nio.common.StringUtil;
+import com.generallycloud.nio.component.SocketChannelContext;
 import com.generallycloud.nio.component.SocketSession;
 import com.generallycloud.nio.container.ApplicationContext;
 import com.generallycloud.nio.container.DynamicClassLoader;
 import com.generallycloud.nio.container.RESMessage;
 import com.generallycloud.nio.container.configuration.Configuration;
+import com.generallycloud.nio.metrics.ChannelContextMetrics;
 import com.generallycloud.nio.protocol.NamedReadFuture;
 import com.generallycloud.nio.protocol.ReadFuture;
 
@@ -34,6 +38,9 @@ public class FutureAcceptorServiceFilter extends FutureAcceptorFilter {
 	private Logger						logger	= LoggerFactory.getLogger(FutureAcceptorServiceFilter.class);
 	private DynamicClassLoader			classLoader;
 	private FutureAcceptorServiceLoader	acceptorServiceLoader;
+	private ChannelContextMetrics		contextMetrics;
+	// 以服务名为key，重新部署后继续使用
+	private Map<String, FutureAcceptorServiceMetrics>	serviceMetrics	= new ConcurrentHashMap<String, FutureAcceptorServiceMetrics>();
 
 	public FutureAcceptorServiceFilter() {
 		this.setSortIndex(Integer.MAX_VALUE);
@@ -64,12 +71,70 @@ public class FutureAcceptorServiceFilter extends FutureAcceptorFilter {
 
 		} else {
 
-			future.setIOEventHandle(acceptor);
+			long startTime = System.nanoTime();
 
-			acceptor.accept(session, future);
+			long decodeTime = FutureAcceptorServiceMetrics.getDecodeTime(future);
+
+			FutureAcceptorServiceHandle handle = getServiceHandle(serviceName, acceptor);
+
+			future.setIOEventHandle(handle);
+
+			try {
+
+				acceptor.accept(session, future);
+
+			} finally {
+
+				handle.getMetrics().recordHandle(decodeTime, startTime, System.nanoTime());
+			}
 		}
 	}
 
+	private FutureAcceptorServiceHandle getServiceHandle(String serviceName, FutureAcceptorService acceptor) {
+
+		FutureAcceptorServiceHandle handle = acceptor.getServiceHandle();
+
+		if (handle == null) {
+
+			// 并发时可能创建多个handle，它们共用同一个metrics，后设置的生效即可
+			handle = new FutureAcceptorServiceHandle(acceptor, getServiceMetrics(serviceName));
+
+			acceptor.setServiceHandle(handle);
+		}
+
+		return handle;
+	}
+
+	private FutureAcceptorServiceMetrics getServiceMetrics(String serviceName) {
+
+		FutureAcceptorServiceMetrics metrics = serviceMetrics.get(serviceName);
+
+		if (metrics != null) {
+			return metrics;
+		}
+
+		metrics = new FutureAcceptorServiceMetrics(serviceName);
+
+		FutureAcceptorServiceMetrics old = serviceMetrics.putIfAbsent(serviceName, metrics);
+
+		if (old != null) {
+			return old;
+		}
+
+		if (contextMetrics != null) {
+			contextMetrics.register("FutureAcceptorService", serviceName, metrics);
+		}
+
+		return metrics;
+	}
+
+	/**
+	 * @return 各服务的延迟统计，key为服务名
+	 */
+	public Map<String, FutureAcceptorServiceMetrics> getServiceMetrics() {
+		return serviceMetrics;
+	}
+
 	protected void accept404(SocketSession session, NamedReadFuture future, String serviceName) throws IOException {
 
 		logger.info("未发现命令：" + serviceName);
@@ -103,6 +168,12 @@ public class FutureAcceptorServiceFilter extends FutureAcceptorFilter {
 	@Override
 	public void initialize(ApplicationContext context, Configuration config) throws Exception {
 
+		SocketChannelContext channelContext = context.getContext();
+
+		if (channelContext != null) {
+			this.contextMetrics = channelContext.getMetrics();
+		}
+
 		this.acceptorServiceLoader = new FutureAcceptorServiceLoader(context, classLoader);
 
 		LifeCycleUtil.start(acceptorServiceLoader);
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.container.service;
+
+import com.generallycloud.nio.component.IoEventHandle;
+import com.generallycloud.nio.component.SocketSession;
+import com.generallycloud.nio.protocol.ReadFuture;
+
+/**
+ * 包装服务的IoEventHandle，在futureSent时记录端到端的延迟
+ */
+class FutureAcceptorServiceHandle implements IoEventHandle {
+
+	private FutureAcceptorService			service;
+
+	private FutureAcceptorServiceMetrics	metrics;
+
+	FutureAcceptorServiceHandle(FutureAcceptorService service, FutureAcceptorServiceMetrics metrics) {
+		this.service = service;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public void accept(SocketSession session, ReadFuture future) throws Exception {
+		service.accept(session, future);
+	}
+
+	@Override
+	public void exceptionCaught(SocketSession session, ReadFuture future, Exception cause, IoEventState state) {
+		service.exceptionCaught(session, future, cause, state);
+	}
+
+	@Override
+	public void futureSent(SocketSession session, ReadFuture future) {
+
+		metrics.recordSent(future, System.nanoTime());
+
+		service.futureSent(session, future);
+	}
+
+	FutureAcceptorServiceMetrics getMetrics() {
+		return metrics;
+	}
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.container.service;
+
+import com.alibaba.fastjson.JSONObject;
+import com.generallycloud.nio.metrics.LatencyHistogram;
+import com.generallycloud.nio.metrics.LatencyHistogram.Snapshot;
+import com.generallycloud.nio.protocol.ChannelReadFuture;
+import com.generallycloud.nio.protocol.ReadFuture;
+
+/**
+ * 按服务名统计的延迟：
+ * <ul>
+ * <li>queueWait 解码完成到开始执行服务，包含在executor中排队的时间</li>
+ * <li>handle 服务的accept方法耗时</li>
+ * <li>total 解码完成到响应写出(futureSent)</li>
+ * </ul>
+ * 以服务名为单位保存在FutureAcceptorServiceFilter中，重新部署后继续累计
+ */
+public class FutureAcceptorServiceMetrics implements FutureAcceptorServiceMetricsMBean {
+
+	private String				serviceName;
+
+	private LatencyHistogram	queueWait	= new LatencyHistogram();
+
+	private LatencyHistogram	handle	= new LatencyHistogram();
+
+	private LatencyHistogram	total	= new LatencyHistogram();
+
+	public FutureAcceptorServiceMetrics(String serviceName) {
+		this.serviceName = serviceName;
+	}
+
+	/**
+	 * @param decodeTime 需要在执行服务前取得，服务写出响应后future可能已被回收
+	 */
+	public void recordHandle(long decodeTime, long startTime, long endTime) {
+
+		if (decodeTime != 0) {
+			queueWait.record(startTime - decodeTime);
+		}
+
+		handle.record(endTime - startTime);
+	}
+
+	public void recordSent(ReadFuture future, long sentTime) {
+
+		long decodeTime = getDecodeTime(future);
+
+		if (decodeTime != 0) {
+			total.record(sentTime - decodeTime);
+		}
+	}
+
+	public static long getDecodeTime(ReadFuture future) {
+
+		if (future instanceof ChannelReadFuture) {
+			return ((ChannelReadFuture) future).getDecodeTime();
+		}
+
+		return 0;
+	}
+
+	public LatencyHistogram getQueueWait() {
+		return queueWait;
+	}
+
+	public LatencyHistogram getHandle() {
+		return handle;
+	}
+
+	public LatencyHistogram getTotal() {
+		return total;
+	}
+
+	@Override
+	public String getServiceName() {
+		return serviceName;
+	}
+
+	@Override
+	public long getCount() {
+		return handle.snapshot().getCount();
+	}
+
+	@Override
+	public long getQueueWaitP50() {
+		return queueWait.snapshot().getValueAtPercentile(50);
+	}
+
+	@Override
+	public long getQueueWaitP99() {
+		return queueWait.snapshot().getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getQueueWaitP999() {
+		return queueWait.snapshot().getValueAtPercentile(99.9);
+	}
+
+	@Override
+	public long getQueueWaitMax() {
+		return queueWait.snapshot().getMax();
+	}
+
+	@Override
+	public long getHandleP50() {
+		return handle.snapshot().getValueAtPercentile(50);
+	}
+
+	@Override
+	public long getHandleP99() {
+		return handle.snapshot().getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getHandleP999() {
+		return handle.snapshot().getValueAtPercentile(99.9);
+	}
+
+	@Override
+	public long getHandleMax() {
+		return handle.snapshot().getMax();
+	}
+
+	@Override
+	public long getTotalP50() {
+		return total.snapshot().getValueAtPercentile(50);
+	}
+
+	@Override
+	public long getTotalP99() {
+		return total.snapshot().getValueAtPercentile(99);
+	}
+
+	@Override
+	public long getTotalP999() {
+		return total.snapshot().getValueAtPercentile(99.9);
+	}
+
+	@Override
+	public long getTotalMax() {
+		return total.snapshot().getMax();
+	}
+
+	public JSONObject toJSONObject() {
+
+		JSONObject o = new JSONObject();
+
+		o.put("queueWait", toJSONObject(queueWait.snapshot()));
+		o.put("handle", toJSONObject(handle.snapshot()));
+		o.put("total", toJSONObject(total.snapshot()));
+
+		return o;
+	}
+
+	private JSONObject toJSONObject(Snapshot snapshot) {
+
+		JSONObject o = new JSONObject();
+
+		o.put("count", snapshot.getCount());
+		o.put("mean", snapshot.getMean());
+		o.put("p50", snapshot.getValueAtPercentile(50));
+		o.put("p90", snapshot.getValueAtPercentile(90));
+		o.put("p99", snapshot.getValueAtPercentile(99));
+		o.put("p999", snapshot.getValueAtPercentile(99.9));
+		o.put("max", snapshot.getMax());
+
+		return o;
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.container.service;
+
+/**
+ * 单个服务的延迟分布，单位均为纳秒
+ */
+public interface FutureAcceptorServiceMetricsMBean {
+
+	public abstract String getServiceName();
+
+	public abstract long getCount();
+
+	public abstract long getQueueWaitP50();
+
+	public abstract long getQueueWaitP99();
+
+	public abstract long getQueueWaitP999();
+
+	public abstract long getQueueWaitMax();
+
+	public abstract long getHandleP50();
+
+	public abstract long getHandleP99();
+
+	public abstract long getHandleP999();
+
+	public abstract long getHandleMax();
+
+	public abstract long getTotalP50();
+
+	public abstract long getTotalP99();
+
+	public abstract long getTotalP999();
+
+	public abstract long getTotalMax();
+
+}
@@ -25,6 +25,10 @@ public interface ChannelAcceptor extends Unbindable, ChannelService {
 
 	public abstract void bind() throws IOException;
 
+	/**
+	 * 向所有session广播，待写数据超过高水位（isWritable()为false）的session会被跳过，
+	 * 这些session上的这条消息直接丢弃
+	 */
 	public abstract void broadcast(ReadFuture future);
 	
 	public abstract int getManagedSessionSize();
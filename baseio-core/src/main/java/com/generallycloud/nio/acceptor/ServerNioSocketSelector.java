@@ -20,9 +20,12 @@ import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.RejectedExecutionException;
 
+import com.generallycloud.nio.common.CloseUtil;
 import com.generallycloud.nio.component.NioSocketSelector;
+import com.generallycloud.nio.component.SelectorEventLoop;
+import com.generallycloud.nio.component.SelectorLoopEventAdapter;
 import com.generallycloud.nio.component.SocketChannel;
 import com.generallycloud.nio.component.SocketSelectorEventLoop;
 import com.generallycloud.nio.component.SocketSelectorEventLoopGroup;
@@ -48,34 +51,29 @@ public class ServerNioSocketSelector extends NioSocketSelector {
 
 		java.nio.channels.SocketChannel channel = serverSocketChannel.accept();
 
-		SocketSelectorEventLoop selectorLoop = selectorEventLoopGroup.getNext();
+		if (channel == null) {
+			return;
+		}
+
+		// selectorEventLoopGroup为空时(SO_REUSEPORT)连接留在当前selector线程
+		SocketSelectorEventLoop selectorLoop = selectorEventLoopGroup == null ? selectorEventLoop
+				: selectorEventLoopGroup.getNext();
 
 		// 配置为非阻塞
 		channel.configureBlocking(false);
 
 		// 注册到selector，等待连接
-		if (selectorLoop.isMainEventLoop()) {
+		if (selectorLoop == selectorEventLoop) {
 			regist(channel, selectorLoop);
 			return;
 		}
 
-		ReentrantLock lock = selectorLoop.getIsWaitForRegistLock();
-
-		lock.lock();
-
+		// 交给目标selector线程自己注册，accept线程不阻塞其他selector线程
 		try {
-
-			selectorLoop.setWaitForRegist(true);
-
-			selectorLoop.wakeup();
-
-			regist(channel, selectorLoop);
-
-		} finally {
-
-			selectorLoop.setWaitForRegist(false);
-
-			lock.unlock();
+			selectorLoop.dispatch(new RegistEvent(channel, selectorLoop));
+		} catch (RejectedExecutionException e) {
+			CloseUtil.close(channel);
+			throw e;
 		}
 	}
 
@@ -93,4 +91,34 @@ public class ServerNioSocketSelector extends NioSocketSelector {
 		socketChannel.getSession().fireOpend();
 	}
 
+	class RegistEvent extends SelectorLoopEventAdapter {
+
+		private java.nio.channels.SocketChannel	channel;
+
+		private SocketSelectorEventLoop		selectorLoop;
+
+		private boolean					registed;
+
+		RegistEvent(java.nio.channels.SocketChannel channel, SocketSelectorEventLoop selectorLoop) {
+			this.channel = channel;
+			this.selectorLoop = selectorLoop;
+		}
+
+		@Override
+		public void fireEvent(SelectorEventLoop selectLoop) throws IOException {
+
+			regist(channel, selectorLoop);
+
+			registed = true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			// 注册失败或selector线程已停止
+			if (!registed) {
+				CloseUtil.close(channel);
+			}
+		}
+	}
+
 }
@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.ServerSocketChannel;
 
+import com.generallycloud.nio.common.SelectorUtil;
 import com.generallycloud.nio.component.AbstractSessionManager;
 import com.generallycloud.nio.component.SocketChannelContext;
 import com.generallycloud.nio.component.SocketSelector;
@@ -41,8 +42,10 @@ public class ServerNioSocketSelectorBuilder implements SocketSelectorBuilder{
 		ServerSocketChannel channel = (ServerSocketChannel)nioChannelService.getSelectableChannel();
 		
 		// 打开selector
-		java.nio.channels.Selector selector = java.nio.channels.Selector.open();
+		java.nio.channels.Selector selector = SelectorUtil.open();
 		
+		SocketChannelAcceptor acceptor = (SocketChannelAcceptor) nioChannelService;
+
 		if (selectorLoop.isMainEventLoop()) {
 
 			// 注册监听事件到该selector
@@ -52,9 +55,24 @@ public class ServerNioSocketSelectorBuilder implements SocketSelectorBuilder{
 
 			sessionManager.initSessionManager(selectorLoop);
 
+			// SO_REUSEPORT模式下主线程accept的连接也留在本线程，不再轮询分发
+			if (acceptor.getReusePortChannel(0) != null) {
+				return new ServerNioSocketSelector(selectorLoop, selector, channel, null);
+			}
+
 			return new ServerNioSocketSelector(selectorLoop, selector, channel, selectorLoop.getEventLoopGroup());
 		}
 
+		ServerSocketChannel reusePortChannel = acceptor.getReusePortChannel(selectorLoop.getCoreIndex());
+
+		if (reusePortChannel != null) {
+
+			// SO_REUSEPORT模式下每个selector线程各自accept
+			reusePortChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+			return new ServerNioSocketSelector(selectorLoop, selector, reusePortChannel, null);
+		}
+
 		return new ServerNioSocketSelector(selectorLoop, selector, channel, selectorLoop.getEventLoopGroup());
 	}
 	
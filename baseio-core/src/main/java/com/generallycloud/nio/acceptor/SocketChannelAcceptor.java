@@ -18,19 +18,24 @@ package com.generallycloud.nio.acceptor;
 import java.io.IOException;
 import java.net.BindException;
 import java.net.InetSocketAddress;
+import java.lang.reflect.Field;
 import java.net.ServerSocket;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
 import java.nio.channels.ServerSocketChannel;
 import java.util.Collection;
 import java.util.Map;
 
 import com.generallycloud.nio.buffer.ByteBufAllocator;
 import com.generallycloud.nio.buffer.UnpooledByteBufAllocator;
+import com.generallycloud.nio.common.CloseUtil;
 import com.generallycloud.nio.common.Logger;
 import com.generallycloud.nio.common.LoggerFactory;
 import com.generallycloud.nio.common.ReleaseUtil;
 import com.generallycloud.nio.component.SocketChannelContext;
 import com.generallycloud.nio.component.SocketSession;
 import com.generallycloud.nio.component.SocketSessionManager.SocketSessionManagerEvent;
+import com.generallycloud.nio.configuration.ServerConfiguration;
 import com.generallycloud.nio.protocol.ChannelReadFuture;
 import com.generallycloud.nio.protocol.ChannelWriteFuture;
 import com.generallycloud.nio.protocol.ProtocolEncoder;
@@ -44,6 +49,8 @@ public final class SocketChannelAcceptor extends AbstractChannelAcceptor {
 
 	private ServerSocket		serverSocket	= null;
 
+	private ServerSocketChannel[]	reusePortChannels	= null;
+
 	public SocketChannelAcceptor(SocketChannelContext context) {
 		this.selectorBuilder = new ServerNioSocketSelectorBuilder();
 		this.context = context;
@@ -52,9 +59,21 @@ public final class SocketChannelAcceptor extends AbstractChannelAcceptor {
 	@Override
 	protected void bind(InetSocketAddress socketAddress) throws IOException {
 
+		ServerConfiguration configuration = context.getServerConfiguration();
+
+		int backlog = configuration.getSERVER_ACCEPT_BACKLOG();
+
 		try {
-			// 进行服务的绑定
-			this.serverSocket.bind(socketAddress, 50);
+
+			if (configuration.isSERVER_ENABLE_REUSE_PORT()) {
+
+				bindReusePort(socketAddress, configuration.getSERVER_CORE_SIZE(), backlog);
+
+			} else {
+				// 进行服务的绑定
+				this.serverSocket.bind(socketAddress, backlog);
+			}
+
 		} catch (BindException e) {
 			throw new BindException(e.getMessage() + " at " + socketAddress.getPort());
 		}
@@ -62,6 +81,105 @@ public final class SocketChannelAcceptor extends AbstractChannelAcceptor {
 		initSelectorLoops();
 	}
 
+	private void bindReusePort(InetSocketAddress socketAddress, int coreSize, int backlog)
+			throws IOException {
+
+		ServerSocketChannel channel = (ServerSocketChannel) selectableChannel;
+
+		SocketOption<Boolean> reusePort = getReusePortOption(channel);
+
+		if (reusePort == null) {
+
+			logger.info("SO_REUSEPORT not supported, bind single acceptor");
+
+			this.serverSocket.bind(socketAddress, backlog);
+
+			return;
+		}
+
+		ServerSocketChannel[] channels = new ServerSocketChannel[coreSize];
+
+		channels[0] = channel;
+
+		channel.setOption(reusePort, true);
+
+		channel.bind(socketAddress, backlog);
+
+		try {
+
+			for (int i = 1; i < coreSize; i++) {
+
+				ServerSocketChannel c = ServerSocketChannel.open();
+
+				channels[i] = c;
+
+				c.configureBlocking(false);
+
+				c.setOption(reusePort, true);
+
+				c.bind(socketAddress, backlog);
+			}
+
+		} catch (IOException e) {
+
+			for (int i = 1; i < coreSize; i++) {
+				CloseUtil.close(channels[i]);
+			}
+
+			throw e;
+		}
+
+		this.reusePortChannels = channels;
+	}
+
+	@SuppressWarnings("unchecked")
+	private SocketOption<Boolean> getReusePortOption(ServerSocketChannel channel) {
+
+		// StandardSocketOptions.SO_REUSEPORT 从JDK9开始提供
+		try {
+
+			Field field = StandardSocketOptions.class.getField("SO_REUSEPORT");
+
+			SocketOption<Boolean> option = (SocketOption<Boolean>) field.get(null);
+
+			if (channel.supportedOptions().contains(option)) {
+				return option;
+			}
+
+		} catch (Exception e) {
+			logger.debug(e);
+		}
+
+		return null;
+	}
+
+	/**
+	 * SO_REUSEPORT模式下返回该selector线程独占的ServerSocketChannel，否则返回null
+	 */
+	protected ServerSocketChannel getReusePortChannel(int coreIndex) {
+
+		if (reusePortChannels == null) {
+			return null;
+		}
+
+		return reusePortChannels[coreIndex];
+	}
+
+	@Override
+	protected void cancelService() {
+
+		super.cancelService();
+
+		if (reusePortChannels != null) {
+
+			for (int i = 1; i < reusePortChannels.length; i++) {
+				CloseUtil.close(reusePortChannels[i]);
+			}
+
+			reusePortChannels = null;
+		}
+	}
+
 	@Override
 	public void broadcast(final ReadFuture future) {
 
@@ -86,6 +204,12 @@ public final class SocketChannelAcceptor extends AbstractChannelAcceptor {
 				
 				for(SocketSession s : ss){
 					
+					// 慢连接上不再继续堆积数据，该session收不到这条广播
+					if (!s.isWritable()) {
+						logger.warn("broadcast dropped, session not writable:{}", s);
+						continue;
+					}
+
 					s.flush(writeFuture.duplicate());
 				}
 
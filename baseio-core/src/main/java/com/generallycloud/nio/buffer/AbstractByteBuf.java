@@ -27,6 +27,7 @@ public abstract class AbstractByteBuf implements ByteBuf {
 	protected int				capacity;
 	protected boolean			released;
 	protected int				referenceCount	= 0;
+	protected ByteBufLeakDetector.Leak	leak;
 
 	protected AbstractByteBuf(ByteBufAllocator allocator) {
 		this.allocator = allocator;
@@ -182,10 +183,68 @@ public abstract class AbstractByteBuf implements ByteBuf {
 
 			released = true;
 
+			if (leak != null) {
+				leak.close();
+				leak = null;
+			}
+
 			doRelease();
 		}
 	}
 
+	@Override
+	public ByteBuf retain() {
+
+		synchronized (this) {
+
+			if (released) {
+				throw new ReleasedException("released");
+			}
+
+			this.referenceCount++;
+
+			return this;
+		}
+	}
+
+	@Override
+	public int refCnt() {
+
+		synchronized (this) {
+
+			if (released) {
+				return 0;
+			}
+
+			return referenceCount;
+		}
+	}
+
+	@Override
+	public ByteBuf slice(int index, int length) {
+
+		if (index < 0 || length < 0 || index + length > capacity) {
+			throw new BufferException(
+					"index:" + index + ",length:" + length + ",capacity:" + capacity);
+		}
+
+		retain();
+
+		AbstractByteBuf view = newView();
+
+		view.offset = offset + index;
+		view.capacity = length;
+		view.limit(length);
+		view.position(0);
+
+		return new DuplicateByteBuf(view, this);
+	}
+
+	/**
+	 * 共享同一块内存的新实例，只用作duplicate或slice的视图，不会被release
+	 */
+	protected abstract AbstractByteBuf newView();
+
 	protected abstract void doRelease();
 	
 	/**
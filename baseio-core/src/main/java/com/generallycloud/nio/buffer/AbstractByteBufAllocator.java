@@ -22,6 +22,8 @@ public abstract class AbstractByteBufAllocator extends AbstractLifeCycle
 
 	protected boolean isDirect;
 
+	protected ByteBufLeakDetector leakDetector;
+
 	public AbstractByteBufAllocator(boolean isDirect) {
 		this.isDirect = isDirect;
 	}
@@ -61,4 +63,19 @@ public abstract class AbstractByteBufAllocator extends AbstractLifeCycle
 	public boolean isDirect() {
 		return isDirect;
 	}
+
+	public ByteBufLeakDetector getLeakDetector() {
+		return leakDetector;
+	}
+
+	public void setLeakDetector(ByteBufLeakDetector leakDetector) {
+		this.leakDetector = leakDetector;
+	}
+
+	protected ByteBuf track(ByteBuf buf) {
+		if (leakDetector != null && buf != null) {
+			leakDetector.track(buf);
+		}
+		return buf;
+	}
 }
@@ -158,6 +158,12 @@ public abstract class AbstractDirectByteBuf extends AbstractByteBuf {
 		return remaining;
 	}
 
+	@Override
+	public int read(SocketChannel channel) throws IOException {
+		// memory的position由channel直接推进，不需要再skipBytes
+		return channel.read(memory);
+	}
+
 	@Override
 	public int write(SocketChannel channel) throws IOException {
 
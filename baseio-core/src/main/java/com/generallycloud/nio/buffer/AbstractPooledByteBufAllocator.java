@@ -43,6 +43,13 @@ public abstract class AbstractPooledByteBufAllocator extends AbstractByteBufAllo
 
 	protected List<ByteBufUnit>		busyUnit	= new ArrayList<ByteBufUnit>();
 
+	// 以下三个字段在lock内读写
+	protected int					freeUnits;
+
+	protected int					allocateCount;
+
+	protected boolean				retired;
+
 	protected Logger				logger	= LoggerFactory.getLogger(AbstractByteBufAllocator.class);
 
 	public AbstractPooledByteBufAllocator(int capacity, int unitMemorySize, boolean isDirect) {
@@ -53,10 +60,10 @@ public abstract class AbstractPooledByteBufAllocator extends AbstractByteBufAllo
 
 	@Override
 	public ByteBuf allocate(int limit) {
-		return allocate(bufFactory, limit);
+		return track(allocate(bufFactory, limit));
 	}
 	
-	private PooledByteBuf allocate(ByteBufNew byteBufNew,int limit) {
+	protected PooledByteBuf allocate(ByteBufNew byteBufNew,int limit) {
 		
 		int size = (limit + unitMemorySize - 1) / unitMemorySize;
 
@@ -66,6 +73,12 @@ public abstract class AbstractPooledByteBufAllocator extends AbstractByteBufAllo
 		
 		try {
 
+			if (retired) {
+				return null;
+			}
+
+			allocateCount++;
+
 			int mask = this.mask;
 			
 			PooledByteBuf buf = allocate(byteBufNew,limit, mask, this.capacity, size);
@@ -106,7 +119,7 @@ public abstract class AbstractPooledByteBufAllocator extends AbstractByteBufAllo
 			
 			ReleaseUtil.release(buf);
 			
-			return buf.newByteBuf(this).produce(newBuf);
+			return track(buf.newByteBuf(this).produce(newBuf));
 		}
 		
 		ReleaseUtil.release(buf);
@@ -117,7 +130,103 @@ public abstract class AbstractPooledByteBufAllocator extends AbstractByteBufAllo
 			throw new BufferException("reallocate failed");
 		}
 		
-		return newBuf;
+		return track(newBuf);
+	}
+
+	/**
+	 * 空闲的unit个数，归属线程缓存中的unit视为已占用
+	 */
+	public int getFreeUnits() {
+		return freeUnits;
+	}
+
+	/**
+	 * 最大的连续空闲unit数，与getFreeUnits()相比可以看出碎片程度，
+	 * 需要扫描时加锁，只应在读取指标时调用
+	 */
+	public int getMaxFreeUnits() {
+
+		ReentrantLock lock = this.lock;
+
+		if (lock == null) {
+			return 0;
+		}
+
+		lock.lock();
+
+		try {
+
+			ByteBufUnit[] units = this.units;
+
+			int max = 0;
+
+			int free = 0;
+
+			for (int i = 0; i < capacity;) {
+
+				ByteBufUnit unit = units[i];
+
+				if (!unit.free) {
+					i = unit.blockEnd;
+					free = 0;
+					continue;
+				}
+
+				if (++free > max) {
+					max = free;
+				}
+
+				i++;
+			}
+
+			return max;
+
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 空闲内存的碎片程度，0表示空闲的unit全部连续
+	 */
+	public double getFragmentation() {
+
+		int free = getFreeUnits();
+
+		if (free == 0) {
+			return 0;
+		}
+
+		return 1 - (double) getMaxFreeUnits() / free;
+	}
+
+	int getAllocateCount() {
+		return allocateCount;
+	}
+
+	/**
+	 * 内存全部空闲且自expectAllocateCount以来没有新的申请时标记为退役，
+	 * 退役后不再分配内存，可以安全的释放
+	 */
+	boolean retire(int expectAllocateCount) {
+
+		ReentrantLock lock = this.lock;
+
+		lock.lock();
+
+		try {
+
+			if (freeUnits != capacity || allocateCount != expectAllocateCount) {
+				return false;
+			}
+
+			retired = true;
+
+			return true;
+
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	@Override
@@ -147,6 +256,8 @@ public abstract class AbstractPooledByteBufAllocator extends AbstractByteBufAllo
 		}
 
 		this.units = bufs;
+
+		this.freeUnits = capacity;
 	}
 
 	private ByteBufFactory createBufFactory() {
@@ -191,25 +302,10 @@ public abstract class AbstractPooledByteBufAllocator extends AbstractByteBufAllo
 	@Override
 	public String toString() {
 
-		busyUnit.clear();
-
-		ByteBufUnit[] memoryUnits = this.units;
-
-		int free = 0;
-
-		for (ByteBufUnit b : memoryUnits) {
-
-			if (b.free) {
-				free++;
-			} else {
-				busyUnit.add(b);
-			}
-		}
-
 		StringBuilder b = new StringBuilder();
 		b.append(this.getClass().getSimpleName());
 		b.append("[free=");
-		b.append(free);
+		b.append(freeUnits);
 		b.append(",memory=");
 		b.append(capacity);
 		b.append(",isDirect=");
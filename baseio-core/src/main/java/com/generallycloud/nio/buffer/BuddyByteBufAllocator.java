@@ -0,0 +1,405 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.buffer;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 伙伴算法的内存池，按unit的2的幂次划分大小等级，申请与释放均为O(log n)，
+ * 较小的等级在归属线程（使用该内存池的selector线程）中缓存若干块，归属线程内反复申请释放时无需加锁，
+ * 缓存的总量不超过capacity的1/8，其它线程申请释放时直接操作伙伴树，归属线程退出时缓存会还回伙伴树。
+ * 业务线程不设缓存：业务线程没有可靠的退出时机，缓存在其中的块无法还回，
+ * 而读写用的内存主要由selector线程申请释放，业务线程只在释放时加一次锁
+ */
+public class BuddyByteBufAllocator extends AbstractPooledByteBufAllocator {
+
+	// 缓存1,2,4,8,16个unit大小的内存块
+	private static final int		CACHE_CLASSES	= 5;
+
+	private static final int		CACHE_SIZE	= 16;
+
+	private static final int		MAX_SIZE		= 1 << 30;
+
+	// 满二叉树，longest[i]为节点i下最大的连续空闲unit数，叶子从size开始
+	private int[]				longest;
+
+	private int				size;
+
+	private int				maxCachedUnits;
+
+	private boolean			threadCacheEnabled	= true;
+
+	// 只有owner线程会读写ownerCache
+	private volatile Thread		owner;
+
+	private ThreadCache			ownerCache	= new ThreadCache();
+
+	public BuddyByteBufAllocator(int capacity, int unitMemorySize, boolean isDirect) {
+		super(capacity, unitMemorySize, isDirect);
+	}
+
+	@Override
+	protected void doStart() throws Exception {
+
+		super.doStart();
+
+		int capacity = this.capacity;
+
+		int size = nextPowerOfTwo(capacity);
+
+		int[] longest = new int[size << 1];
+
+		// 超出capacity的叶子视为已占用
+		for (int i = 0; i < size; i++) {
+			longest[size + i] = i < capacity ? 1 : 0;
+		}
+
+		for (int i = size - 1; i > 0; i--) {
+
+			int nodeSize = size / Integer.highestOneBit(i);
+
+			longest[i] = merge(longest[i << 1], longest[(i << 1) + 1], nodeSize);
+		}
+
+		this.size = size;
+		this.longest = longest;
+		this.maxCachedUnits = threadCacheEnabled ? capacity >> 3 : 0;
+	}
+
+	private static int merge(int left, int right, int nodeSize) {
+
+		int half = nodeSize >> 1;
+
+		if (left == half && right == half) {
+			return nodeSize;
+		}
+
+		return Math.max(left, right);
+	}
+
+	private static int nextPowerOfTwo(int value) {
+
+		if (value > MAX_SIZE) {
+			throw new IllegalArgumentException("too large for buddy allocator: " + value);
+		}
+
+		return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+	}
+
+	@Override
+	protected PooledByteBuf allocate(ByteBufNew byteBufNew, int limit) {
+
+		// 先除再加，limit接近Integer.MAX_VALUE时不会溢出
+		int units = (limit - 1) / unitMemorySize + 1;
+
+		// 比整棵树还大，交给下一个内存池
+		if (units > size) {
+			return null;
+		}
+
+		units = nextPowerOfTwo(units);
+
+		int sizeClass = Integer.numberOfTrailingZeros(units);
+
+		boolean isOwner = Thread.currentThread() == owner;
+
+		if (isOwner && sizeClass < CACHE_CLASSES) {
+
+			int begin = ownerCache.poll(sizeClass);
+
+			if (begin != -1) {
+				return byteBufNew.newByteBuf(this).produce(begin, begin + units, limit);
+			}
+		}
+
+		ReentrantLock lock = this.lock;
+
+		lock.lock();
+
+		try {
+
+			if (retired) {
+				return null;
+			}
+
+			allocateCount++;
+
+			int begin = allocateUnits(units);
+
+			if (begin == -1) {
+
+				// 归属线程把缓存的小块还回去，合并后再试一次
+				if (!isOwner || !ownerCache.drain()) {
+					return null;
+				}
+
+				begin = allocateUnits(units);
+
+				if (begin == -1) {
+					return null;
+				}
+			}
+
+			return byteBufNew.newByteBuf(this).produce(begin, begin + units, limit);
+
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 关闭后释放的内存直接还给伙伴树，用于需要准确统计空闲内存的场景（例如可回收的扩容块），
+	 * 需要在start之前设置
+	 */
+	public void setThreadCacheEnabled(boolean threadCacheEnabled) {
+		this.threadCacheEnabled = threadCacheEnabled;
+	}
+
+	/**
+	 * 绑定缓存的归属线程，只有该线程申请释放时才使用缓存，已被其它线程绑定时返回false
+	 */
+	public synchronized boolean bindOwner(Thread thread) {
+
+		if (owner != null) {
+			return owner == thread;
+		}
+
+		owner = thread;
+
+		return true;
+	}
+
+	/**
+	 * 由归属线程在退出前调用，把缓存的块还给伙伴树并解除绑定，之后所有线程都直接操作伙伴树
+	 */
+	public void unbindOwner() {
+
+		if (Thread.currentThread() != owner) {
+			return;
+		}
+
+		ReentrantLock lock = this.lock;
+
+		lock.lock();
+
+		try {
+
+			ownerCache.drain();
+
+			owner = null;
+
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * start与end用于线性查找，伙伴算法中没有意义
+	 */
+	@Override
+	protected PooledByteBuf allocate(ByteBufNew byteBufNew, int limit, int start, int end,
+			int size) {
+		return allocate(byteBufNew, limit);
+	}
+
+	private int allocateUnits(int units) {
+
+		int[] longest = this.longest;
+
+		if (longest[1] < units) {
+			return -1;
+		}
+
+		int index = 1;
+
+		for (int nodeSize = size; nodeSize != units; nodeSize >>= 1) {
+
+			index <<= 1;
+
+			if (longest[index] < units) {
+				index++;
+			}
+		}
+
+		longest[index] = 0;
+
+		int begin = index * units - size;
+
+		for (int nodeSize = units << 1; index > 1; nodeSize <<= 1) {
+
+			index >>= 1;
+
+			longest[index] = merge(longest[index << 1], longest[(index << 1) + 1], nodeSize);
+		}
+
+		freeUnits -= units;
+
+		return begin;
+	}
+
+	@Override
+	public void release(ByteBuf buf) {
+
+		PooledByteBuf pooled = (PooledByteBuf) buf;
+
+		int units = pooled.capacity() / unitMemorySize;
+
+		int sizeClass = Integer.numberOfTrailingZeros(units);
+
+		if (sizeClass < CACHE_CLASSES && Thread.currentThread() == owner
+				&& ownerCache.offer(sizeClass, units, pooled.getBeginUnit())) {
+			return;
+		}
+
+		super.release(buf);
+	}
+
+	@Override
+	protected void doRelease(ByteBufUnit beginUnit) {
+		releaseUnits(beginUnit.index);
+	}
+
+	private void releaseUnits(int begin) {
+
+		int[] longest = this.longest;
+
+		int index = size + begin;
+
+		int nodeSize = 1;
+
+		for (; longest[index] != 0; nodeSize <<= 1) {
+			index >>= 1;
+		}
+
+		longest[index] = nodeSize;
+
+		freeUnits += nodeSize;
+
+		for (nodeSize <<= 1; index > 1; nodeSize <<= 1) {
+
+			index >>= 1;
+
+			longest[index] = merge(longest[index << 1], longest[(index << 1) + 1], nodeSize);
+		}
+	}
+
+	@Override
+	public int getMaxFreeUnits() {
+		// 伙伴算法只能分配对齐的块，根节点即为最大可分配的连续空闲unit数
+		int[] longest = this.longest;
+		return longest == null ? 0 : longest[1];
+	}
+
+	/**
+	 * 空闲unit全部连续时最大也只能分配不超过它的2的幂次，以此为基准
+	 */
+	@Override
+	public double getFragmentation() {
+
+		int free = getFreeUnits();
+
+		if (free == 0) {
+			return 0;
+		}
+
+		return 1 - (double) getMaxFreeUnits() / Integer.highestOneBit(free);
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuilder b = new StringBuilder();
+		b.append(this.getClass().getSimpleName());
+		b.append("[free=");
+		b.append(freeUnits);
+		b.append(",maxFree=");
+		b.append(longest == null ? 0 : longest[1]);
+		b.append(",memory=");
+		b.append(capacity);
+		b.append(",isDirect=");
+		b.append(isDirect);
+		b.append("]");
+
+		return b.toString();
+	}
+
+	class ThreadCache {
+
+		private int[][]	runs		= new int[CACHE_CLASSES][CACHE_SIZE];
+
+		private int[]		sizes	= new int[CACHE_CLASSES];
+
+		private int		cachedUnits;
+
+		int poll(int sizeClass) {
+
+			int size = sizes[sizeClass];
+
+			if (size == 0) {
+				return -1;
+			}
+
+			sizes[sizeClass] = --size;
+
+			cachedUnits -= 1 << sizeClass;
+
+			return runs[sizeClass][size];
+		}
+
+		boolean offer(int sizeClass, int units, int begin) {
+
+			int size = sizes[sizeClass];
+
+			if (size == CACHE_SIZE || cachedUnits + units > maxCachedUnits) {
+				return false;
+			}
+
+			runs[sizeClass][size] = begin;
+
+			sizes[sizeClass] = size + 1;
+
+			cachedUnits += units;
+
+			return true;
+		}
+
+		/**
+		 * 在持有锁时调用，返回是否有块被还回
+		 */
+		boolean drain() {
+
+			if (cachedUnits == 0) {
+				return false;
+			}
+
+			for (int i = 0; i < CACHE_CLASSES; i++) {
+
+				int[] run = runs[i];
+
+				for (int j = 0; j < sizes[i]; j++) {
+					releaseUnits(run[j]);
+				}
+
+				sizes[i] = 0;
+			}
+
+			cachedUnits = 0;
+
+			return true;
+		}
+	}
+
+}
@@ -29,8 +29,26 @@ public interface ByteBuf extends ByteBufNew, Releasable {
 
 	public abstract ByteBuf clear();
 
+	/**
+	 * 与原ByteBuf共享内存及引用计数，position与limit相互独立，用完后需要release
+	 */
 	public abstract ByteBuf duplicate();
 
+	/**
+	 * 引用计数加一，每次retain都需要对应一次release
+	 */
+	public abstract ByteBuf retain();
+
+	/**
+	 * 当前的引用计数，为0时内存已经归还
+	 */
+	public abstract int refCnt();
+
+	/**
+	 * 从index开始长度为length的视图，与原ByteBuf共享内存及引用计数，用完后需要release
+	 */
+	public abstract ByteBuf slice(int index, int length);
+
 	public abstract ByteBuf flip();
 
 	public abstract int forEachByte(ByteProcessor processor);
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.buffer;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.generallycloud.nio.common.Logger;
+import com.generallycloud.nio.common.LoggerFactory;
+
+/**
+ * 按比例抽样记录ByteBuf的申请位置，ByteBuf在引用计数归零前被GC回收时输出申请位置
+ */
+public class ByteBufLeakDetector {
+
+	private static final Logger		logger	= LoggerFactory.getLogger(ByteBufLeakDetector.class);
+
+	private double					sampleRate;
+
+	private ReferenceQueue<Object>	refQueue	= new ReferenceQueue<Object>();
+
+	// 持有所有未关闭的Leak，保证PhantomReference本身不被回收
+	private Set<Leak>				leaks	= ConcurrentHashMap.newKeySet();
+
+	public ByteBufLeakDetector(double sampleRate) {
+		this.sampleRate = sampleRate;
+	}
+
+	public double getSampleRate() {
+		return sampleRate;
+	}
+
+	public void track(ByteBuf buf) {
+
+		reportLeaks();
+
+		if (!(buf instanceof AbstractByteBuf)) {
+			return;
+		}
+
+		if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+			return;
+		}
+
+		AbstractByteBuf byteBuf = (AbstractByteBuf) buf;
+
+		Leak leak = new Leak(byteBuf, refQueue, new Throwable("ByteBuf(capacity:"
+				+ byteBuf.capacity() + ") allocated at thread " + Thread.currentThread().getName()));
+
+		leaks.add(leak);
+
+		byteBuf.leak = leak;
+	}
+
+	private void reportLeaks() {
+
+		for (;;) {
+
+			Leak leak = (Leak) refQueue.poll();
+
+			if (leak == null) {
+				return;
+			}
+
+			if (!leaks.remove(leak)) {
+				continue;
+			}
+
+			logger.error("ByteBuf在被GC回收前没有调用release，内存池中的这部分内存将无法再使用，申请位置：",
+					leak.trace);
+		}
+	}
+
+	public int getTrackedSize() {
+		return leaks.size();
+	}
+
+	class Leak extends PhantomReference<Object> {
+
+		private Throwable	trace;
+
+		Leak(Object referent, ReferenceQueue<Object> queue, Throwable trace) {
+			super(referent, queue);
+			this.trace = trace;
+		}
+
+		void close() {
+			leaks.remove(this);
+			clear();
+		}
+	}
+
+}
@@ -0,0 +1,801 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.buffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.generallycloud.nio.common.ReleaseUtil;
+import com.generallycloud.nio.component.SocketChannel;
+
+/**
+ * 由多个ByteBuf首尾相连组成的ByteBuf，用于协议头与报文体分开存放的场景，
+ * 写出时各组件直接交给gathering write，不再拷贝到一块连续内存中。
+ * 组件的所有权归CompositeByteBuf，release时逐个释放。
+ * 下标以各组件[0,limit)首尾相连计算，读写按position依次跨越组件。
+ */
+public class CompositeByteBuf implements ByteBuf {
+
+	// 超过该长度的堆内存报文体才值得作为单独的组件写出
+	public static final int	WRAP_THRESHOLD	= 1024;
+
+	private ByteBuf[]		components;
+
+	private int			size;
+
+	private int			current;
+
+	private ByteBuffer[]	nioBuffers;
+
+	public CompositeByteBuf() {
+		this(4);
+	}
+
+	public CompositeByteBuf(int initialCapacity) {
+		this.components = new ByteBuf[initialCapacity];
+	}
+
+	public CompositeByteBuf(ByteBuf... components) {
+		this(Math.max(components.length, 2));
+		for (ByteBuf c : components) {
+			addComponent(c);
+		}
+	}
+
+	/**
+	 * 追加一个组件，组件应当已经flip，追加后不要再单独release
+	 */
+	public CompositeByteBuf addComponent(ByteBuf component) {
+		if (size == components.length) {
+			ByteBuf[] _components = new ByteBuf[size * 2];
+			System.arraycopy(components, 0, _components, 0, size);
+			components = _components;
+		}
+		components[size++] = component;
+		nioBuffers = null;
+		return this;
+	}
+
+	/**
+	 * 堆内存的报文体是否应当作为组件直接写出，而不是拷贝到头部的buf中。
+	 * gathering write遇到堆内存组件时，JDK会先把它拷贝到线程缓存的临时直接内存中：
+	 * allocator为直接内存时，拷贝到头部buf同样只有一次拷贝，组合没有收益，
+	 * 反而会让大块的临时直接内存常驻在selector线程上；
+	 * allocator为堆内存时，原来要拷贝两次（拷贝到头部buf，JDK再拷贝到直接内存），组合后只剩一次
+	 */
+	public static boolean isWrapHeapBody(ByteBufAllocator allocator, int length) {
+		return length >= WRAP_THRESHOLD && !allocator.isDirect();
+	}
+
+	public ByteBuf component(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("index:" + index + ",size:" + size);
+		}
+		return components[index];
+	}
+
+	public int componentCount() {
+		return size;
+	}
+
+	/**
+	 * 将尚未写完的组件对应的ByteBuffer填入dst中，返回填入的个数，dst放不下时只填前面一部分
+	 */
+	public int nioBuffers(ByteBuffer[] dst, int offset) {
+		int count = 0;
+		for (int i = current(); i < size && offset < dst.length; i++) {
+			dst[offset++] = components[i].nioBuffer();
+			count++;
+		}
+		return count;
+	}
+
+	private int current() {
+		for (; current < size - 1; current++) {
+			if (components[current].hasRemaining()) {
+				break;
+			}
+		}
+		return current;
+	}
+
+	private int locate(int index) {
+		for (int i = 0; i < size; i++) {
+			int limit = components[i].limit();
+			if (index < limit) {
+				return i;
+			}
+			index -= limit;
+		}
+		throw new IndexOutOfBoundsException("index:" + index);
+	}
+
+	private int componentOffset(int c) {
+		int offset = 0;
+		for (int i = 0; i < c; i++) {
+			offset += components[i].limit();
+		}
+		return offset;
+	}
+
+	private ByteBuf readable() {
+		int c = current();
+		if (c == size) {
+			throw new IndexOutOfBoundsException("empty composite");
+		}
+		return components[c];
+	}
+
+	@Override
+	public void release() {
+		for (int i = 0; i < size; i++) {
+			ReleaseUtil.release(components[i]);
+		}
+	}
+
+	@Override
+	public ByteBuf retain() {
+		for (int i = 0; i < size; i++) {
+			components[i].retain();
+		}
+		return this;
+	}
+
+	@Override
+	public int refCnt() {
+		return size == 0 ? 0 : components[0].refCnt();
+	}
+
+	/**
+	 * 由各组件中落在[index,index+length)内的部分的slice组成
+	 */
+	@Override
+	public ByteBuf slice(int index, int length) {
+
+		if (index < 0 || length < 0 || index + length > limit()) {
+			throw new BufferException("index:" + index + ",length:" + length + ",limit:" + limit());
+		}
+
+		CompositeByteBuf buf = new CompositeByteBuf(Math.max(size, 1));
+
+		int end = index + length;
+
+		int start = 0;
+
+		for (int i = 0; i < size && start < end; i++) {
+
+			ByteBuf c = components[i];
+
+			int cEnd = start + c.limit();
+
+			int from = Math.max(index, start);
+
+			int to = Math.min(end, cEnd);
+
+			if (from < to) {
+				buf.addComponent(c.slice(from - start, to - from));
+			}
+
+			start = cEnd;
+		}
+
+		return buf;
+	}
+
+	@Override
+	public byte[] array() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int capacity() {
+		int capacity = 0;
+		for (int i = 0; i < size; i++) {
+			capacity += components[i].capacity();
+		}
+		return capacity;
+	}
+
+	@Override
+	public ByteBuf clear() {
+		for (int i = 0; i < size; i++) {
+			components[i].position(0);
+		}
+		current = 0;
+		return this;
+	}
+
+	@Override
+	public ByteBuf duplicate() {
+		CompositeByteBuf buf = new CompositeByteBuf(size);
+		for (int i = 0; i < size; i++) {
+			buf.addComponent(components[i].duplicate());
+		}
+		return buf;
+	}
+
+	@Override
+	public ByteBuf flip() {
+		return clear();
+	}
+
+	@Override
+	public int forEachByte(ByteProcessor processor) {
+		return forEachByte(position(), remaining(), processor);
+	}
+
+	@Override
+	public int forEachByte(int index, int length, ByteProcessor processor) {
+		try {
+			for (int i = 0; i < length; i++) {
+				if (!processor.process(getByte(index + i))) {
+					return i;
+				}
+			}
+		} catch (Exception e) {
+		}
+		return -1;
+	}
+
+	@Override
+	public int forEachByteDesc(ByteProcessor processor) {
+		return forEachByteDesc(position(), remaining(), processor);
+	}
+
+	@Override
+	public int forEachByteDesc(int index, int length, ByteProcessor processor) {
+		try {
+			for (int i = length - 1; i >= 0; i--) {
+				if (!processor.process(getByte(index + i))) {
+					return i;
+				}
+			}
+		} catch (Exception e) {
+		}
+		return -1;
+	}
+
+	@Override
+	public void get(byte[] dst) {
+		get(dst, 0, dst.length);
+	}
+
+	@Override
+	public void get(byte[] dst, int offset, int length) {
+		for (; length > 0;) {
+			ByteBuf buf = readable();
+			int len = Math.min(length, buf.remaining());
+			if (len == 0) {
+				throw new IndexOutOfBoundsException("remaining:" + remaining());
+			}
+			buf.get(dst, offset, len);
+			offset += len;
+			length -= len;
+		}
+	}
+
+	@Override
+	public byte getByte() {
+		return readable().getByte();
+	}
+
+	@Override
+	public byte getByte(int index) {
+		int c = locate(index);
+		return components[c].getByte(index - componentOffset(c));
+	}
+
+	@Override
+	public byte[] getBytes() {
+		byte[] bytes = new byte[remaining()];
+		get(bytes);
+		return bytes;
+	}
+
+	private long getNumber(int bytes) {
+		long v = 0;
+		for (int i = 0; i < bytes; i++) {
+			v = (v << 8) | (getByte() & 0xff);
+		}
+		return v;
+	}
+
+	private long getNumber(int index, int bytes) {
+		long v = 0;
+		for (int i = 0; i < bytes; i++) {
+			v = (v << 8) | (getByte(index + i) & 0xff);
+		}
+		return v;
+	}
+
+	private long getNumberLE(int bytes) {
+		long v = 0;
+		for (int i = 0; i < bytes; i++) {
+			v |= (getByte() & 0xffL) << (8 * i);
+		}
+		return v;
+	}
+
+	private long getNumberLE(int index, int bytes) {
+		long v = 0;
+		for (int i = 0; i < bytes; i++) {
+			v |= (getByte(index + i) & 0xffL) << (8 * i);
+		}
+		return v;
+	}
+
+	@Override
+	public int getInt() {
+		return (int) getNumber(4);
+	}
+
+	@Override
+	public int getInt(int index) {
+		return (int) getNumber(index, 4);
+	}
+
+	@Override
+	public int getIntLE() {
+		return (int) getNumberLE(4);
+	}
+
+	@Override
+	public int getIntLE(int index) {
+		return (int) getNumberLE(index, 4);
+	}
+
+	@Override
+	public long getLong() {
+		return getNumber(8);
+	}
+
+	@Override
+	public long getLong(int index) {
+		return getNumber(index, 8);
+	}
+
+	@Override
+	public long getLongLE() {
+		return getNumberLE(8);
+	}
+
+	@Override
+	public long getLongLE(int index) {
+		return getNumberLE(index, 8);
+	}
+
+	@Override
+	public short getShort() {
+		return (short) getNumber(2);
+	}
+
+	@Override
+	public short getShort(int index) {
+		return (short) getNumber(index, 2);
+	}
+
+	@Override
+	public short getShortLE() {
+		return (short) getNumberLE(2);
+	}
+
+	@Override
+	public short getShortLE(int index) {
+		return (short) getNumberLE(index, 2);
+	}
+
+	@Override
+	public short getUnsignedByte() {
+		return (short) (getByte() & 0xff);
+	}
+
+	@Override
+	public short getUnsignedByte(int index) {
+		return (short) (getByte(index) & 0xff);
+	}
+
+	@Override
+	public long getUnsignedInt() {
+		return getNumber(4);
+	}
+
+	@Override
+	public long getUnsignedInt(int index) {
+		return getNumber(index, 4);
+	}
+
+	@Override
+	public long getUnsignedIntLE() {
+		return getNumberLE(4);
+	}
+
+	@Override
+	public long getUnsignedIntLE(int index) {
+		return getNumberLE(index, 4);
+	}
+
+	@Override
+	public int getUnsignedShort() {
+		return (int) getNumber(2);
+	}
+
+	@Override
+	public int getUnsignedShort(int index) {
+		return (int) getNumber(index, 2);
+	}
+
+	@Override
+	public int getUnsignedShortLE() {
+		return (int) getNumberLE(2);
+	}
+
+	@Override
+	public int getUnsignedShortLE(int index) {
+		return (int) getNumberLE(index, 2);
+	}
+
+	@Override
+	public boolean hasArray() {
+		return false;
+	}
+
+	@Override
+	public boolean hasRemaining() {
+		for (int i = current(); i < size; i++) {
+			if (components[i].hasRemaining()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int limit() {
+		int limit = 0;
+		for (int i = 0; i < size; i++) {
+			limit += components[i].limit();
+		}
+		return limit;
+	}
+
+	/**
+	 * 依次占满各组件的capacity，之后的组件limit为0
+	 */
+	@Override
+	public ByteBuf limit(int limit) {
+		if (limit < 0 || limit > capacity()) {
+			throw new BufferException("limit:" + limit + ",capacity:" + capacity());
+		}
+		for (int i = 0; i < size; i++) {
+			ByteBuf buf = components[i];
+			int l = Math.min(limit, buf.capacity());
+			if (buf.position() > l) {
+				buf.position(l);
+			}
+			buf.limit(l);
+			limit -= l;
+		}
+		current = 0;
+		return this;
+	}
+
+	/**
+	 * 同步所有组件的ByteBuffer，只有一个组件时返回它的ByteBuffer；
+	 * 多个组件时返回剩余数据的拷贝，读写该拷贝不会改变本ByteBuf的position，
+	 * 写出时请使用{@link #nioBuffers(ByteBuffer[], int)}
+	 */
+	@Override
+	public ByteBuffer nioBuffer() {
+		for (int i = 0; i < size; i++) {
+			components[i].nioBuffer();
+		}
+		if (size == 0) {
+			return ByteBuffer.allocate(0);
+		}
+		if (size == 1) {
+			return components[0].nioBuffer();
+		}
+		ByteBuffer copy = ByteBuffer.allocate(remaining());
+		for (int i = current(); i < size; i++) {
+			ByteBuffer b = components[i].nioBuffer().duplicate();
+			copy.put(b);
+		}
+		copy.flip();
+		return copy;
+	}
+
+	@Override
+	public int offset() {
+		return 0;
+	}
+
+	@Override
+	public int position() {
+		int position = 0;
+		for (int i = 0; i < size; i++) {
+			position += components[i].position();
+		}
+		return position;
+	}
+
+	@Override
+	public ByteBuf position(int position) {
+		current = 0;
+		for (int i = 0; i < size; i++) {
+			ByteBuf buf = components[i];
+			int p = Math.min(position, buf.limit());
+			buf.position(p);
+			position -= p;
+		}
+		return this;
+	}
+
+	private ByteBuf writable() {
+		ByteBuf buf = readable();
+		if (!buf.hasRemaining()) {
+			throw new BufferException("no space,limit:" + limit());
+		}
+		return buf;
+	}
+
+	@Override
+	public void putByte(byte b) {
+		writable().putByte(b);
+	}
+
+	@Override
+	public void put(byte[] src) {
+		put(src, 0, src.length);
+	}
+
+	@Override
+	public void put(byte[] src, int offset, int length) {
+		if (length > remaining()) {
+			throw new BufferException("length:" + length + ",remaining:" + remaining());
+		}
+		for (; length > 0;) {
+			ByteBuf buf = writable();
+			int len = Math.min(length, buf.remaining());
+			buf.put(src, offset, len);
+			offset += len;
+			length -= len;
+		}
+	}
+
+	private void putNumber(long value, int bytes) {
+		for (int i = bytes - 1; i >= 0; i--) {
+			putByte((byte) (value >>> (8 * i)));
+		}
+	}
+
+	private void putNumberLE(long value, int bytes) {
+		for (int i = 0; i < bytes; i++) {
+			putByte((byte) (value >>> (8 * i)));
+		}
+	}
+
+	@Override
+	public void putShort(short value) {
+		putNumber(value, 2);
+	}
+
+	@Override
+	public void putShortLE(short value) {
+		putNumberLE(value, 2);
+	}
+
+	@Override
+	public void putUnsignedShort(int value) {
+		putNumber(value, 2);
+	}
+
+	@Override
+	public void putUnsignedShortLE(int value) {
+		putNumberLE(value, 2);
+	}
+
+	@Override
+	public void putInt(int value) {
+		putNumber(value, 4);
+	}
+
+	@Override
+	public void putIntLE(int value) {
+		putNumberLE(value, 4);
+	}
+
+	@Override
+	public void putUnsignedInt(long value) {
+		putNumber(value, 4);
+	}
+
+	@Override
+	public void putUnsignedIntLE(long value) {
+		putNumberLE(value, 4);
+	}
+
+	@Override
+	public void putLong(long value) {
+		putNumber(value, 8);
+	}
+
+	@Override
+	public void putLongLE(long value) {
+		putNumberLE(value, 8);
+	}
+
+	@Override
+	public int read(ByteBuf src) {
+		int read = 0;
+		for (int i = current(); i < size && src.hasRemaining(); i++) {
+			read += components[i].read(src);
+		}
+		return read;
+	}
+
+	@Override
+	public int read(ByteBuffer src) {
+		int read = 0;
+		for (int i = current(); i < size && src.hasRemaining(); i++) {
+			read += components[i].read(src);
+		}
+		return read;
+	}
+
+	/**
+	 * 依次读入各组件，某个组件没有读满时说明channel中暂时没有数据了
+	 */
+	@Override
+	public int read(SocketChannel channel) throws IOException {
+		int read = 0;
+		for (int i = current(); i < size; i++) {
+			ByteBuf buf = components[i];
+			if (!buf.hasRemaining()) {
+				continue;
+			}
+			int length = buf.read(channel);
+			if (length < 0) {
+				return read == 0 ? length : read;
+			}
+			read += length;
+			if (buf.hasRemaining()) {
+				break;
+			}
+		}
+		return read;
+	}
+
+	@Override
+	public int remaining() {
+		int remaining = 0;
+		for (int i = current(); i < size; i++) {
+			remaining += components[i].remaining();
+		}
+		return remaining;
+	}
+
+	@Override
+	public ByteBuf reverse() {
+		for (int i = current(); i < size; i++) {
+			components[i].reverse();
+		}
+		return this;
+	}
+
+	@Override
+	public ByteBuf reallocate(int limit) {
+		return reallocate(limit, false);
+	}
+
+	/**
+	 * 容量足够时直接调整limit，否则合并到一块新的非池化内存中并释放原来的组件
+	 */
+	@Override
+	public ByteBuf reallocate(int limit, boolean copyOld) {
+
+		if (limit <= capacity()) {
+			if (copyOld) {
+				return limit(limit);
+			}
+			return position(0).limit(limit);
+		}
+
+		boolean isDirect = size > 0 && components[0].nioBuffer().isDirect();
+
+		UnpooledByteBufAllocator allocator = isDirect ? UnpooledByteBufAllocator.getDirectInstance()
+				: UnpooledByteBufAllocator.getHeapInstance();
+
+		ByteBuf buf = allocator.allocate(limit);
+
+		if (copyOld) {
+			int position = position();
+			position(0);
+			for (int i = 0; i < size; i++) {
+				ByteBuf c = components[i];
+				c.limit(c.position() + Math.min(c.remaining(), position));
+				position -= c.remaining();
+				buf.read(c);
+			}
+		}
+
+		release();
+
+		return buf;
+	}
+
+	@Override
+	public ByteBuf reallocate(int limit, int maxLimit) {
+		return reallocate(limit, maxLimit, false);
+	}
+
+	@Override
+	public ByteBuf reallocate(int limit, int maxLimit, boolean copyOld) {
+
+		if (limit < 1) {
+			throw new BufferException("illegal limit:" + limit);
+		}
+
+		if (limit > maxLimit) {
+			throw new BufferException("limit:" + limit + ",maxLimit:" + maxLimit);
+		}
+
+		return reallocate(limit, copyOld);
+	}
+
+	@Override
+	public ByteBuf skipBytes(int length) {
+		return position(position() + length);
+	}
+
+	@Override
+	public int write(SocketChannel channel) throws IOException {
+
+		ByteBuffer[] buffers = this.nioBuffers;
+
+		if (buffers == null) {
+			buffers = new ByteBuffer[size];
+			this.nioBuffers = buffers;
+		}
+
+		int count = nioBuffers(buffers, 0);
+
+		long length = channel.write(buffers, 0, count);
+
+		reverse();
+
+		if (length > 0) {
+
+			channel.upNetworkState();
+
+		} else {
+
+			channel.downNetworkState();
+		}
+
+		return (int) length;
+	}
+
+	@Override
+	public PooledByteBuf newByteBuf(ByteBufAllocator allocator) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public String toString() {
+		return "CompositeByteBuf[components=" + size + ",position=" + position() + ",limit="
+				+ limit() + "]";
+	}
+}
@@ -26,6 +26,9 @@ public class DuplicateByteBuf implements ByteBuf {
 	private ByteBuf	byteBuf;
 
 	private ByteBuf	prototype;
+
+	// 本视图持有的原ByteBuf的引用数，创建视图时原ByteBuf已retain一次
+	private int		referenceCount	= 1;
 	
 	public DuplicateByteBuf(ByteBuf byteBuf, ByteBuf prototype) {
 		this.byteBuf = byteBuf;
@@ -36,9 +39,53 @@ public class DuplicateByteBuf implements ByteBuf {
 		return byteBuf;
 	}
 
+	// 视图与原ByteBuf共享引用计数，视图本身不持有内存，
+	// 重复release同一个视图时不会多次释放原ByteBuf
 	@Override
 	public void release() {
-		ReleaseUtil.release(unwrap());
+
+		synchronized (this) {
+
+			if (referenceCount == 0) {
+				return;
+			}
+
+			referenceCount--;
+		}
+
+		ReleaseUtil.release(prototype);
+	}
+
+	@Override
+	public ByteBuf retain() {
+
+		synchronized (this) {
+
+			if (referenceCount == 0) {
+				throw new ReleasedException("released");
+			}
+
+			prototype.retain();
+
+			referenceCount++;
+		}
+
+		return this;
+	}
+
+	@Override
+	public int refCnt() {
+		synchronized (this) {
+			if (referenceCount == 0) {
+				return 0;
+			}
+		}
+		return prototype.refCnt();
+	}
+
+	@Override
+	public ByteBuf slice(int index, int length) {
+		return prototype.slice(unwrap().offset() - prototype.offset() + index, length);
 	}
 
 	@Override
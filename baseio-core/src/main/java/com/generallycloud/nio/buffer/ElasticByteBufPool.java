@@ -0,0 +1,389 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.buffer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.generallycloud.nio.common.LifeCycleUtil;
+import com.generallycloud.nio.common.Logger;
+import com.generallycloud.nio.common.LoggerFactory;
+
+/**
+ * 固定内存池耗尽后的后备：在内存预算内按整块扩容，扩容出来的块空闲一段时间后由selector线程的时间轮释放，
+ * 超出预算时根据策略暂停读取、退回到java堆内存或者直接拒绝
+ */
+public class ElasticByteBufPool {
+
+	public static final String			POLICY_PAUSE		= "pause";
+
+	public static final String			POLICY_HEAP		= "heap";
+
+	public static final String			POLICY_REJECT		= "reject";
+
+	private static final Logger			logger			= LoggerFactory
+			.getLogger(ElasticByteBufPool.class);
+
+	private String					type;
+
+	private int						capacity;
+
+	private int						unitMemorySize;
+
+	private boolean					direct;
+
+	private int						maxChunks;
+
+	private long						idleTime;
+
+	private boolean					reject;
+
+	private boolean					pause;
+
+	private AbstractPooledByteBufAllocator[]	fixedAllocators	= new AbstractPooledByteBufAllocator[0];
+
+	private ByteBufLeakDetector			leakDetector;
+
+	private volatile ElasticChunk[]		chunks			= new ElasticChunk[0];
+
+	private volatile boolean				running;
+
+	// 超出预算后置为true，selector线程读取前检查，内存回落后由selector线程的时间轮清除
+	private volatile boolean				exhausted;
+
+	private AtomicLong					growCount			= new AtomicLong();
+
+	private AtomicLong					shrinkCount		= new AtomicLong();
+
+	private AtomicLong					heapFallbackCount	= new AtomicLong();
+
+	private AtomicLong					rejectCount		= new AtomicLong();
+
+	/**
+	 * @param maxChunks 最多扩容的块数，为0时不扩容
+	 * @param idleTime 扩容块全部空闲超过该时间(ms)后释放
+	 * @param policy 超出预算时的策略，pause，heap或reject
+	 */
+	public ElasticByteBufPool(String type, int capacity, int unitMemorySize, boolean direct,
+			int maxChunks, long idleTime, String policy) {
+		this.type = type;
+		this.capacity = capacity;
+		this.unitMemorySize = unitMemorySize;
+		this.direct = direct;
+		this.maxChunks = maxChunks;
+		this.idleTime = idleTime;
+		this.reject = POLICY_REJECT.equals(policy);
+		this.pause = POLICY_PAUSE.equals(policy);
+		if (!reject && !pause && !POLICY_HEAP.equals(policy)) {
+			throw new IllegalArgumentException("unknown memory pool exhausted policy: " + policy);
+		}
+	}
+
+	public ByteBuf allocate(int limit) {
+
+		ByteBuf buf = allocateFromChunks(limit);
+
+		if (buf != null) {
+			return buf;
+		}
+
+		// 超过一整块的申请扩容也无法满足
+		if (limit <= capacity * unitMemorySize) {
+
+			synchronized (this) {
+
+				buf = allocateFromChunks(limit);
+
+				if (buf != null) {
+					return buf;
+				}
+
+				AbstractPooledByteBufAllocator chunk = grow();
+
+				if (chunk != null) {
+
+					buf = chunk.allocate(limit);
+
+					if (buf != null) {
+						return buf;
+					}
+				}
+			}
+
+			// 正在解码的报文仍然退回堆内存，selector线程看到标记后暂停读取新的数据
+			if (pause && !exhausted) {
+				exhausted = true;
+				logger.warn("内存池超出预算，暂停读取，当前扩容块数: {}", chunks.length);
+			}
+		}
+
+		if (reject) {
+			rejectCount.incrementAndGet();
+			throw new BufferException("memory pool exhausted, limit:" + limit);
+		}
+
+		heapFallbackCount.incrementAndGet();
+
+		return UnpooledByteBufAllocator.getHeapInstance().allocate(limit);
+	}
+
+	private ByteBuf allocateFromChunks(int limit) {
+
+		ElasticChunk[] chunks = this.chunks;
+
+		for (int i = 0; i < chunks.length; i++) {
+
+			ByteBuf buf = chunks[i].allocator.allocate(limit);
+
+			if (buf != null) {
+				return buf;
+			}
+		}
+
+		return null;
+	}
+
+	// 在synchronized中调用
+	private AbstractPooledByteBufAllocator grow() {
+
+		if (!running || chunks.length >= maxChunks) {
+			return null;
+		}
+
+		AbstractPooledByteBufAllocator allocator = PooledByteBufAllocatorManager
+				.newByteBufAllocator(type, capacity, unitMemorySize, direct);
+
+		if (allocator instanceof BuddyByteBufAllocator) {
+			((BuddyByteBufAllocator) allocator).setThreadCacheEnabled(false);
+		}
+
+		allocator.setLeakDetector(leakDetector);
+
+		try {
+			allocator.start();
+		} catch (Exception e) {
+			logger.error(e.getMessage(), e);
+			return null;
+		}
+
+		ElasticChunk[] old = this.chunks;
+
+		ElasticChunk[] chunks = new ElasticChunk[old.length + 1];
+
+		System.arraycopy(old, 0, chunks, 0, old.length);
+
+		chunks[old.length] = new ElasticChunk(allocator);
+
+		this.chunks = chunks;
+
+		growCount.incrementAndGet();
+
+		logger.info("内存池扩容，当前扩容块数: {}", chunks.length);
+
+		return allocator;
+	}
+
+	/**
+	 * 超出预算且策略为pause时返回true，此时selector线程不再从socket读取数据
+	 */
+	public boolean isExhausted() {
+		return exhausted;
+	}
+
+	/**
+	 * 由暂停读取的selector线程定时调用，可以继续扩容或者任一内存池空闲超过1/4时清除超出预算的标记
+	 * 
+	 * @return 是否仍然超出预算
+	 */
+	public boolean updateExhausted() {
+
+		if (!exhausted) {
+			return false;
+		}
+
+		if (!hasFreeMemory()) {
+			return true;
+		}
+
+		exhausted = false;
+
+		logger.info("内存池已回落，恢复读取，当前扩容块数: {}", chunks.length);
+
+		return false;
+	}
+
+	private boolean hasFreeMemory() {
+
+		ElasticChunk[] chunks = this.chunks;
+
+		if (chunks.length < maxChunks) {
+			return true;
+		}
+
+		int threshold = capacity >> 2;
+
+		for (AbstractPooledByteBufAllocator allocator : fixedAllocators) {
+			if (allocator.getFreeUnits() > threshold) {
+				return true;
+			}
+		}
+
+		for (ElasticChunk chunk : chunks) {
+			if (chunk.allocator.getFreeUnits() > threshold) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * 释放空闲时间超过idleTime的扩容块，由selector线程的时间轮按getTrimInterval()调用
+	 */
+	public void trim(long now) {
+
+		ElasticChunk[] chunks = this.chunks;
+
+		for (ElasticChunk chunk : chunks) {
+
+			AbstractPooledByteBufAllocator allocator = chunk.allocator;
+
+			int allocateCount = allocator.getAllocateCount();
+
+			if (allocator.getFreeUnits() != allocator.getCapacity()
+					|| allocateCount != chunk.allocateCount) {
+				chunk.allocateCount = allocateCount;
+				chunk.idleSince = now;
+				continue;
+			}
+
+			if (now - chunk.idleSince < idleTime) {
+				continue;
+			}
+
+			if (!allocator.retire(allocateCount)) {
+				continue;
+			}
+
+			remove(chunk);
+
+			LifeCycleUtil.stop(allocator);
+
+			shrinkCount.incrementAndGet();
+
+			logger.info("释放空闲的内存池扩容块，当前扩容块数: {}", this.chunks.length);
+		}
+	}
+
+	private synchronized void remove(ElasticChunk chunk) {
+
+		ElasticChunk[] old = this.chunks;
+
+		ElasticChunk[] chunks = new ElasticChunk[old.length - 1];
+
+		for (int i = 0, j = 0; i < old.length; i++) {
+			if (old[i] != chunk) {
+				chunks[j++] = old[i];
+			}
+		}
+
+		this.chunks = chunks;
+	}
+
+	/**
+	 * 检查扩容块是否空闲的间隔(ms)，不扩容时为0
+	 */
+	public long getTrimInterval() {
+
+		if (maxChunks == 0) {
+			return 0;
+		}
+
+		return Math.max(100, Math.min(idleTime / 4, 10 * 1000));
+	}
+
+	/**
+	 * 固定的内存池，用于判断超出预算后内存是否回落，需要在start之前设置
+	 */
+	public void setFixedAllocators(AbstractPooledByteBufAllocator[] fixedAllocators) {
+		this.fixedAllocators = fixedAllocators;
+	}
+
+	public void start() {
+		running = true;
+	}
+
+	public synchronized void stop() {
+
+		running = false;
+
+		exhausted = false;
+
+		for (ElasticChunk chunk : chunks) {
+			LifeCycleUtil.stop(chunk.allocator);
+		}
+
+		chunks = new ElasticChunk[0];
+	}
+
+	public void setLeakDetector(ByteBufLeakDetector leakDetector) {
+		this.leakDetector = leakDetector;
+	}
+
+	/**
+	 * 当前扩容出来的块数
+	 */
+	public int getChunkCount() {
+		return chunks.length;
+	}
+
+	public long getGrowCount() {
+		return growCount.get();
+	}
+
+	public long getShrinkCount() {
+		return shrinkCount.get();
+	}
+
+	public long getHeapFallbackCount() {
+		return heapFallbackCount.get();
+	}
+
+	public long getRejectCount() {
+		return rejectCount.get();
+	}
+
+	@Override
+	public String toString() {
+		return "ElasticByteBufPool[chunks=" + chunks.length + ",maxChunks=" + maxChunks
+				+ ",grow=" + growCount + ",shrink=" + shrinkCount + ",heapFallback="
+				+ heapFallbackCount + ",reject=" + rejectCount + "]";
+	}
+
+	class ElasticChunk {
+
+		AbstractPooledByteBufAllocator	allocator;
+
+		int							allocateCount;
+
+		long							idleSince;
+
+		ElasticChunk(AbstractPooledByteBufAllocator allocator) {
+			this.allocator = allocator;
+			this.allocateCount = allocator.getAllocateCount();
+			this.idleSince = System.currentTimeMillis();
+		}
+	}
+}
@@ -37,4 +37,14 @@ public class EmptyByteBuf extends UnpooledHeapByteBuf {
 		return this;
 	}
 
+	@Override
+	public ByteBuf retain() {
+		return this;
+	}
+
+	@Override
+	public ByteBuf slice(int index, int length) {
+		return this;
+	}
+
 }
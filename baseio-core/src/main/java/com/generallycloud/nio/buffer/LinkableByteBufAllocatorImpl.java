@@ -27,11 +27,19 @@ public class LinkableByteBufAllocatorImpl extends AbstractLifeCycle implements L
 
 	private ByteBufAllocator					allocator;
 
+	private ElasticByteBufPool				overflow;
+
 	public LinkableByteBufAllocatorImpl(ByteBufAllocator allocator, int index) {
 		this.index = index;
 		this.allocator = allocator;
 	}
 
+	public LinkableByteBufAllocatorImpl(ByteBufAllocator allocator, int index,
+			ElasticByteBufPool overflow) {
+		this(allocator, index);
+		this.overflow = overflow;
+	}
+
 	@Override
 	public Linkable<LinkAbleByteBufAllocator> getNext() {
 		return next;
@@ -77,10 +85,12 @@ public class LinkableByteBufAllocatorImpl extends AbstractLifeCycle implements L
 	@Override
 	public ByteBuf allocate(int capacity,LinkAbleByteBufAllocator allocator) {
 
+		// 所有固定内存池都已耗尽
 		if (allocator == this) {
-			//FIXME 是否申请java内存
+			if (overflow != null) {
+				return overflow.allocate(capacity);
+			}
 			return UnpooledByteBufAllocator.getHeapInstance().allocate(capacity);
-//			return null;
 		}
 		
 		ByteBuf buf = unwrap().allocate(capacity);
@@ -15,8 +15,9 @@
  */
 package com.generallycloud.nio.buffer;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import com.generallycloud.nio.AbstractLifeCycle;
-import com.generallycloud.nio.Linkable;
 import com.generallycloud.nio.common.LifeCycleUtil;
 import com.generallycloud.nio.component.ChannelContext;
 import com.generallycloud.nio.configuration.ServerConfiguration;
@@ -25,10 +26,12 @@ public class PooledByteBufAllocatorManager extends AbstractLifeCycle implements
 
 	private LinkAbleByteBufAllocator[]	allocators	= null;
 
-	private LinkAbleByteBufAllocator	allocator		= null;
+	private AtomicInteger			nextIndex		= new AtomicInteger();
 
 	private ChannelContext			context		= null;
 
+	private ElasticByteBufPool		elasticPool	= null;
+
 	public PooledByteBufAllocatorManager(ChannelContext context) {
 		this.context = context;
 	}
@@ -51,16 +54,59 @@ public class PooledByteBufAllocatorManager extends AbstractLifeCycle implements
 
 		this.allocators = new LinkAbleByteBufAllocator[core];
 
+		String type = c.getSERVER_MEMORY_POOL_TYPE();
+
+		ByteBufLeakDetector leakDetector = newLeakDetector(c);
+
+		long chunkMemory = (long) capacity * unitMemorySize;
+
+		int maxChunks = (int) Math.max(0, c.getSERVER_MEMORY_POOL_MAX_MEMORY() / chunkMemory - core);
+
+		this.elasticPool = new ElasticByteBufPool(type, capacity, unitMemorySize, direct, maxChunks,
+				c.getSERVER_MEMORY_POOL_IDLE_TIME(), c.getSERVER_MEMORY_POOL_EXHAUSTED_POLICY());
+
+		this.elasticPool.setLeakDetector(leakDetector);
+
+		AbstractPooledByteBufAllocator[] fixedAllocators = new AbstractPooledByteBufAllocator[core];
+
 		for (int i = 0; i < allocators.length; i++) {
 
-			//			ByteBufAllocator allocator = new SimplyByteBufAllocator(capacity, unitMemorySize, direct);
+			AbstractPooledByteBufAllocator allocator = newByteBufAllocator(type, capacity,
+					unitMemorySize, direct);
+
+			allocator.setLeakDetector(leakDetector);
+
+			fixedAllocators[i] = allocator;
+
+			allocators[i] = new LinkableByteBufAllocatorImpl(allocator, i, elasticPool);
+		}
+
+		this.elasticPool.setFixedAllocators(fixedAllocators);
+	}
+
+	static ByteBufLeakDetector newLeakDetector(ServerConfiguration c) {
 
-			ByteBufAllocator allocator = new SimpleByteBufAllocator(capacity, unitMemorySize,direct);
-			
-//			ByteBufAllocator allocator = new UnpooledByteBufAllocator();
+		double rate = c.getSERVER_BUFFER_LEAK_DETECT_RATE();
 
-			allocators[i] = new LinkableByteBufAllocatorImpl(allocator, i);
+		if (rate <= 0) {
+			return null;
 		}
+
+		return new ByteBufLeakDetector(rate);
+	}
+
+	static AbstractPooledByteBufAllocator newByteBufAllocator(String type, int capacity,
+			int unitMemorySize, boolean direct) {
+
+		if ("simple".equals(type)) {
+			return new SimpleByteBufAllocator(capacity, unitMemorySize, direct);
+		}
+
+		if ("buddy".equals(type)) {
+			return new BuddyByteBufAllocator(capacity, unitMemorySize, direct);
+		}
+
+		throw new IllegalArgumentException("unknown memory pool type: " + type);
 	}
 
 	@Override
@@ -90,12 +136,16 @@ public class PooledByteBufAllocatorManager extends AbstractLifeCycle implements
 
 		last.setNext(first);
 
-		this.allocator = first;
+		elasticPool.start();
 	}
 
 	@Override
 	protected void doStop() throws Exception {
 
+		if (elasticPool != null) {
+			elasticPool.stop();
+		}
+
 		for (LinkAbleByteBufAllocator allocator : allocators) {
 
 			if (allocator == null) {
@@ -104,19 +154,26 @@ public class PooledByteBufAllocatorManager extends AbstractLifeCycle implements
 
 			LifeCycleUtil.stop(allocator);
 		}
-
-		this.allocator = null;
 	}
 
+	// 每个selector线程取一个作为自己的arena
+	@Override
 	public ByteBufAllocator getNextBufAllocator() {
 
-		Linkable<LinkAbleByteBufAllocator> next = this.allocator.getNext();
+		int index = (nextIndex.getAndIncrement() & Integer.MAX_VALUE) % allocators.length;
 
-		LinkAbleByteBufAllocator value = next.getValue();
+		return allocators[index];
+	}
 
-		this.allocator = value;
+	public LinkAbleByteBufAllocator[] getByteBufAllocators() {
+		return allocators;
+	}
 
-		return value;
+	/**
+	 * 固定内存池耗尽后的后备，其中包含扩容，收缩以及退回堆内存的计数
+	 */
+	public ElasticByteBufPool getElasticPool() {
+		return elasticPool;
 	}
 
 	public String toDebugString() {
@@ -125,6 +182,8 @@ public class PooledByteBufAllocatorManager extends AbstractLifeCycle implements
 			builder.append("\n</BR>");
 			builder.append(allocator.toString());
 		}
+		builder.append("\n</BR>");
+		builder.append(elasticPool);
 		return builder.toString();
 	}
 
@@ -35,6 +35,11 @@ public class PooledDirectByteBuf extends AbstractDirectByteBuf implements Pooled
 		return this;
 	}
 
+	@Override
+	protected AbstractByteBuf newView() {
+		return new PooledDirectByteBuf(allocator, memory.duplicate());
+	}
+
 	protected ByteBuf doDuplicate() {
 		
 		PooledDirectByteBuf buf = new PooledDirectByteBuf(allocator, memory.duplicate()).produce(this);
@@ -50,6 +55,7 @@ public class PooledDirectByteBuf extends AbstractDirectByteBuf implements Pooled
 		this.position(0);
 		this.beginUnit = begin;
 		this.referenceCount = 1;
+		this.released = false;
 		return this;
 	}
 	
@@ -33,6 +33,11 @@ public class PooledHeapByteBuf extends AbstractHeapByteBuf implements PooledByte
 		return this;
 	}
 
+	@Override
+	protected AbstractByteBuf newView() {
+		return new PooledHeapByteBuf(allocator, memory);
+	}
+
 	protected ByteBuf doDuplicate() {
 		return new DuplicateByteBuf(new PooledHeapByteBuf(allocator, memory).produce(this), this);
 	}
@@ -45,6 +50,7 @@ public class PooledHeapByteBuf extends AbstractHeapByteBuf implements PooledByte
 		this.position = 0;
 		this.beginUnit = begin;
 		this.referenceCount = 1;
+		this.released = false;
 		return this;
 	}
 	
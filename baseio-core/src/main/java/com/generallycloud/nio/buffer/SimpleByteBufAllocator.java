@@ -56,6 +56,8 @@ public class SimpleByteBufAllocator extends AbstractPooledByteBufAllocator {
 				unitEnd.free = false;
 
 				mask = blockEnd;
+
+				freeUnits -= size;
 				
 				return byteBufNew.newByteBuf(this).produce(start, blockEnd, limit);
 			}
@@ -74,6 +76,8 @@ public class SimpleByteBufAllocator extends AbstractPooledByteBufAllocator {
 
 		memoryStart.free = true;
 		memoryEnd.free = true;
+
+		freeUnits += memoryStart.blockEnd - memoryStart.index;
 	}
 
 }
@@ -109,6 +109,40 @@ public class SimplyByteBufAllocator extends AbstractPooledByteBufAllocator {
 		setBlock(begin, end, true);
 	}
 	
+	@Override
+	public int getMaxFreeUnits() {
+		
+		if (lock == null) {
+			return 0;
+		}
+		
+		lock.lock();
+		
+		try {
+			
+			ByteBufUnit[] units = this.units;
+			
+			int max = 0;
+			
+			// 空闲块释放时已合并，按块扫描即可
+			for (int begin = 0; begin < capacity;) {
+				
+				ByteBufUnit unit = units[begin];
+				
+				if (unit.free) {
+					max = Math.max(max, unit.blockEnd - unit.blockBegin);
+				}
+				
+				begin = unit.blockEnd;
+			}
+			
+			return max;
+			
+		} finally {
+			lock.unlock();
+		}
+	}
+	
 	private void setBlock(ByteBufUnit begin,ByteBufUnit end,boolean free){
 		
 		int beginIndex = begin.index;
@@ -54,7 +54,7 @@ public class UnpooledByteBufAllocator extends AbstractByteBufAllocator {
 
 	@Override
 	public ByteBuf allocate(int capacity) {
-		return unpooledByteBufferFactory.allocate(this, capacity);
+		return track(unpooledByteBufferFactory.allocate(this, capacity));
 	}
 
 	public ByteBuf wrap(ByteBuffer buffer) {
@@ -49,6 +49,8 @@ public class UnpooledByteBufAllocatorManager extends AbstractLifeCycle
 
 		unpooledByteBufAllocator = new UnpooledByteBufAllocator(isDirect);
 
+		unpooledByteBufAllocator.setLeakDetector(PooledByteBufAllocatorManager.newLeakDetector(c));
+
 		LifeCycleUtil.start(unpooledByteBufAllocator);
 	}
 
@@ -56,6 +56,11 @@ public class UnpooledDirectByteBuf extends AbstractDirectByteBuf {
 		return this;
 	}
 
+	@Override
+	protected AbstractByteBuf newView() {
+		return new UnpooledDirectByteBuf(allocator, memory.duplicate());
+	}
+
 	/**
 	 * NOTICE 该方法非线程安全
 	 */
@@ -33,6 +33,7 @@ public class UnpooledHeapByteBuf extends AbstractHeapByteBuf {
 	}
 	
 	protected UnpooledHeapByteBuf produce(ByteBuf buf) {
+		this.offset = buf.offset();
 		this.capacity = buf.capacity();
 		this.limit = buf.limit();
 		this.position = buf.position();
@@ -58,6 +59,11 @@ public class UnpooledHeapByteBuf extends AbstractHeapByteBuf {
 		return this;
 	}
 
+	@Override
+	protected AbstractByteBuf newView() {
+		return new UnpooledHeapByteBuf(allocator, memory);
+	}
+
 	@Override
 	public ByteBuf doDuplicate() {
 		return new DuplicateByteBuf(new UnpooledHeapByteBuf(allocator, memory).produce(this), this);
@@ -75,6 +75,27 @@ public class ConsoleLogger implements Logger{
 		DebugUtil.debug(className,message, param);		
 	}
 
+	// 控制台不区分warn与info
+	@Override
+	public void warn(String message) {
+		DebugUtil.info(className,message);
+	}
+
+	@Override
+	public void warn(String message, Object param) {
+		DebugUtil.info(className,message, param);
+	}
+
+	@Override
+	public void warn(String message, Object param, Object param1) {
+		DebugUtil.info(className,message, param, param1);
+	}
+
+	@Override
+	public void warn(String message, Object[] param) {
+		DebugUtil.info(className,message, param);
+	}
+
 	@Override
 	public void error(String object, Throwable throwable) {
 		DebugUtil.error(className,object, throwable);		
@@ -35,6 +35,14 @@ public interface Logger {
 	
 	public abstract void debug(String message,Object []param);
 	
+	public abstract void warn(String message);
+	
+	public abstract void warn(String message,Object param);
+	
+	public abstract void warn(String message,Object param,Object param1);
+	
+	public abstract void warn(String message,Object []param);
+	
 	public abstract void error(String object);
 	
 	public abstract void error(String object,Throwable throwable); 
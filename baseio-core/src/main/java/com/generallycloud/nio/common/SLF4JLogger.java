@@ -78,6 +78,26 @@ public class SLF4JLogger implements Logger{
 		logger.debug(message, param);
 	}
 
+	@Override
+	public void warn(String message) {
+		logger.warn(message);
+	}
+
+	@Override
+	public void warn(String message, Object param) {
+		logger.warn(message, param);
+	}
+
+	@Override
+	public void warn(String message, Object param, Object param1) {
+		logger.warn(message, param, param1);
+	}
+
+	@Override
+	public void warn(String message, Object[] param) {
+		logger.warn(message, param);
+	}
+
 	@Override
 	public void error(String object, Throwable throwable) {
 		logger.error(object,throwable);
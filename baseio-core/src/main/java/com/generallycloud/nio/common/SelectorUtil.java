@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.common;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.channels.Selector;
+
+import com.generallycloud.nio.component.SelectionKeySet;
+
+public class SelectorUtil {
+
+	private static final Logger	logger	= LoggerFactory.getLogger(SelectorUtil.class);
+
+	private static Class<?>		selectorImplClass;
+
+	private static Field		selectedKeysField;
+
+	private static Field		publicSelectedKeysField;
+
+	static {
+		try {
+
+			Class<?> clazz = Class.forName("sun.nio.ch.SelectorImpl", false,
+					ClassLoader.getSystemClassLoader());
+
+			Field selectedKeys = clazz.getDeclaredField("selectedKeys");
+
+			Field publicSelectedKeys = clazz.getDeclaredField("publicSelectedKeys");
+
+			// JDK9以上未开放sun.nio.ch时这里会抛出异常
+			selectedKeys.setAccessible(true);
+
+			publicSelectedKeys.setAccessible(true);
+
+			selectorImplClass = clazz;
+			selectedKeysField = selectedKeys;
+			publicSelectedKeysField = publicSelectedKeys;
+
+		} catch (Throwable e) {
+			logger.info("selected keys optimization disabled: {}", e.toString());
+		}
+	}
+
+	/**
+	 * 打开Selector，并尽量将其selectedKeys替换为{@link SelectionKeySet}，
+	 * 替换失败时返回JDK默认的Selector
+	 */
+	public static Selector open() throws IOException {
+
+		Selector selector = Selector.open();
+
+		if (selectorImplClass == null || !selectorImplClass.isInstance(selector)) {
+			return selector;
+		}
+
+		SelectionKeySet keySet = new SelectionKeySet();
+
+		try {
+
+			selectedKeysField.set(selector, keySet);
+
+			publicSelectedKeysField.set(selector, keySet);
+
+		} catch (Throwable e) {
+
+			logger.info("selected keys optimization disabled: {}", e.toString());
+
+			// 替换了一半的selector不可再使用
+			CloseUtil.close(selector);
+
+			selectorImplClass = null;
+
+			return Selector.open();
+		}
+
+		return selector;
+	}
+
+}
@@ -15,6 +15,8 @@
  */ 
 package com.generallycloud.nio.component;
 
+import java.util.List;
+
 import com.generallycloud.nio.common.CloseUtil;
 import com.generallycloud.nio.common.Logger;
 import com.generallycloud.nio.common.LoggerFactory;
@@ -48,7 +50,50 @@ public abstract class AbstractReadFutureAcceptor implements ForeReadFutureAccept
 		accept(eventHandle, session, f);
 	}
 	
+	@Override
+	public void accept(SocketSession session, List<ChannelReadFuture> futures) throws Exception {
+
+		int size = 0;
+
+		for (int i = 0; i < futures.size(); i++) {
+
+			ChannelReadFuture f = futures.get(i);
+
+			if (f.isSilent()) {
+				continue;
+			}
+
+			if (f.isHeartbeat()) {
+
+				acceptHeartBeat(session, f);
+
+				continue;
+			}
+
+			futures.set(size++, f);
+		}
+
+		for (int i = futures.size() - 1; i >= size; i--) {
+			futures.remove(i);
+		}
+
+		if (size == 0) {
+			return;
+		}
+
+		IoEventHandle eventHandle = session.getContext().getIoEventHandleAdaptor();
+
+		if (size == 1) {
+			accept(eventHandle, session, futures.get(0));
+			return;
+		}
+
+		accept(eventHandle, session, futures);
+	}
+	
 	protected abstract void accept(IoEventHandle eventHandle,SocketSession session, ChannelReadFuture future);
+
+	protected abstract void accept(IoEventHandle eventHandle, SocketSession session, List<ChannelReadFuture> futures);
 	
 	private void acceptHeartBeat(final SocketSession session, final ChannelReadFuture future) {
 
@@ -20,7 +20,6 @@ import java.net.InetSocketAddress;
 import java.util.Collection;
 import java.util.Map;
 
-import com.generallycloud.nio.Linkable;
 import com.generallycloud.nio.common.CloseUtil;
 import com.generallycloud.nio.common.Logger;
 import com.generallycloud.nio.common.LoggerFactory;
@@ -34,7 +33,6 @@ public class DatagramSessionManagerImpl extends AbstractSessionManager implement
 	private Logger										logger	= LoggerFactory.getLogger(getClass());
 
 	public DatagramSessionManagerImpl(DatagramChannelContext context) {
-		super(context.getSessionIdleTime());
 		this.context = context;
 	}
 
@@ -61,44 +59,6 @@ public class DatagramSessionManagerImpl extends AbstractSessionManager implement
 		});
 	}
 
-	@Override
-	protected void sessionIdle(long lastIdleTime, long currentTime) {
-
-		Map<InetSocketAddress, DatagramSession> map = sessions.getSnapshot();
-
-		if (map.size() == 0) {
-			return;
-		}
-
-		Collection<DatagramSession> es = map.values();
-
-		DatagramChannelContext context = this.context;
-
-		for (DatagramSession session : es) {
-
-			sessionIdle(context, session, lastIdleTime, currentTime);
-		}
-
-	}
-
-	protected void sessionIdle(DatagramChannelContext context, DatagramSession session, long lastIdleTime,
-			long currentTime) {
-
-		Linkable<DatagramSessionEventListener> linkable = context.getSessionEventListenerLink();
-
-		for (; linkable != null;) {
-
-			try {
-
-				linkable.getValue().sessionIdled(session, lastIdleTime, currentTime);
-
-			} catch (Exception e) {
-				logger.error(e.getMessage(), e);
-			}
-			linkable = linkable.getNext();
-		}
-	}
-
 	@Override
 	public void close() throws IOException {
 
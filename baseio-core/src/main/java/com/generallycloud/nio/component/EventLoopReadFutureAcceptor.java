@@ -15,8 +15,10 @@
  */ 
 package com.generallycloud.nio.component;
 
+import java.util.List;
+
 import com.generallycloud.nio.component.IoEventHandle.IoEventState;
-import com.generallycloud.nio.component.concurrent.ExecutorEventLoop;
+import com.generallycloud.nio.metrics.PipelineTrace;
 import com.generallycloud.nio.protocol.ChannelReadFuture;
 
 public class EventLoopReadFutureAcceptor extends AbstractReadFutureAcceptor{
@@ -24,24 +26,75 @@ public class EventLoopReadFutureAcceptor extends AbstractReadFutureAcceptor{
 	@Override
 	protected void accept(IoEventHandle eventHandle, SocketSession session, ChannelReadFuture future) {
 		
-		ExecutorEventLoop eventLoop = session.getExecutorEventLoop();
+		SocketChannel channel = ((UnsafeSocketSession) session).getSocketChannel();
+
+		long dispatchTime = System.nanoTime();
 
-		eventLoop.dispatch(new Runnable() {
+		channel.executeReadTask(new Runnable() {
 
 			@Override
 			public void run() {
-
 				try {
+					accept0(eventHandle, session, future);
+				} finally {
+					channel.finishReadTask(1, dispatchTime);
+				}
+			}
+		}, 1);
+	}
 
-					eventHandle.accept(session, future);
+	/**
+	 * 一次读取中解码出的所有future合并为一个任务，只入队、唤醒一次，
+	 * 业务线程积压时由channel暂停读
+	 */
+	@Override
+	protected void accept(IoEventHandle eventHandle, SocketSession session,
+			List<ChannelReadFuture> futures) {
 
-				} catch (Exception e) {
+		SocketChannel channel = ((UnsafeSocketSession) session).getSocketChannel();
 
-					eventHandle.exceptionCaught(session, future, e, IoEventState.HANDLE);
+		int size = futures.size();
+
+		long dispatchTime = System.nanoTime();
+
+		channel.executeReadTask(new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					for (int i = 0; i < size; i++) {
+						accept0(eventHandle, session, futures.get(i));
+					}
+				} finally {
+					channel.finishReadTask(size, dispatchTime);
 				}
 			}
-		});
+		}, size);
+	}
+
+	private void accept0(IoEventHandle eventHandle, SocketSession session, ChannelReadFuture future) {
+
+		// 响应写出后future可能被回收，先取出trace
+		PipelineTrace trace = future.getPipelineTrace();
+
+		if (trace != null) {
+			trace.handleStart();
+		}
+
+		try {
+
+			eventHandle.accept(session, future);
+
+		} catch (Exception e) {
+
+			eventHandle.exceptionCaught(session, future, e, IoEventState.HANDLE);
+
+		} finally {
+
+			if (trace != null) {
+				trace.handleEnd();
+			}
+		}
 	}
-	
 	
 }
@@ -15,7 +15,15 @@
  */ 
 package com.generallycloud.nio.component;
 
+import java.util.List;
+
+import com.generallycloud.nio.protocol.ChannelReadFuture;
+
 public interface ForeReadFutureAcceptor extends ReadFutureAcceptor{
 	
+	/**
+	 * 一次读取中解码出的所有future，按顺序处理，只投递一次
+	 */
+	public abstract void accept(SocketSession session, List<ChannelReadFuture> futures) throws Exception;
 	
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.component;
+
+public enum IdleState {
+
+	/**
+	 * 超过SERVER_SESSION_READ_IDLE_TIME未读到数据
+	 */
+	READER_IDLE,
+
+	/**
+	 * 超过SERVER_SESSION_WRITE_IDLE_TIME未写出数据
+	 */
+	WRITER_IDLE,
+
+	/**
+	 * 超过SERVER_SESSION_ALL_IDLE_TIME既未读也未写
+	 */
+	ALL_IDLE
+}
@@ -15,6 +15,8 @@
  */ 
 package com.generallycloud.nio.component;
 
+import java.util.List;
+
 import com.generallycloud.nio.component.IoEventHandle.IoEventState;
 import com.generallycloud.nio.protocol.ChannelReadFuture;
 
@@ -32,5 +34,13 @@ public class IoProcessReadFutureAcceptor extends AbstractReadFutureAcceptor{
 			eventHandle.exceptionCaught(session, future, e, IoEventState.HANDLE);
 		}
 	}
+
+	@Override
+	protected void accept(IoEventHandle eventHandle, SocketSession session, List<ChannelReadFuture> futures) {
+
+		for (int i = 0; i < futures.size(); i++) {
+			accept(eventHandle, session, futures.get(i));
+		}
+	}
 	
 }
@@ -31,5 +31,10 @@ public class LoggerSocketSEListener implements SocketSessionEventListener{
 	public void sessionClosed(SocketSession session) {
 		logger.info("session closed:{}",session);
 	}
+
+	@Override
+	public void sessionWritabilityChanged(SocketSession session) {
+		logger.info("session writable:{},{}", session.isWritable(), session);
+	}
 	
 }
@@ -22,18 +22,33 @@ import java.nio.ByteBuffer;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.generallycloud.nio.ClosedChannelException;
+import com.generallycloud.nio.Linkable;
+import com.generallycloud.nio.buffer.BufferException;
+import com.generallycloud.nio.buffer.ByteBuf;
+import com.generallycloud.nio.buffer.CompositeByteBuf;
+import com.generallycloud.nio.common.CloseUtil;
 import com.generallycloud.nio.common.Logger;
 import com.generallycloud.nio.common.LoggerFactory;
 import com.generallycloud.nio.common.ReleaseUtil;
+import com.generallycloud.nio.component.SelectorEventLoop.SelectorLoopEvent;
 import com.generallycloud.nio.component.concurrent.ExecutorEventLoop;
 import com.generallycloud.nio.component.concurrent.ListQueue;
 import com.generallycloud.nio.component.concurrent.ListQueueLinkUnsafe;
+import com.generallycloud.nio.component.concurrent.SharedExecutorEventLoop;
+import com.generallycloud.nio.component.concurrent.Timeout;
+import com.generallycloud.nio.component.concurrent.TimerTask;
+import com.generallycloud.nio.configuration.ServerConfiguration;
+import com.generallycloud.nio.metrics.ExecutorEventLoopMetrics;
+import com.generallycloud.nio.metrics.PipelineTrace;
+import com.generallycloud.nio.metrics.SelectorEventLoopMetrics;
 import com.generallycloud.nio.connector.AbstractChannelConnector;
 import com.generallycloud.nio.protocol.ChannelReadFuture;
 import com.generallycloud.nio.protocol.ChannelWriteFuture;
+import com.generallycloud.nio.protocol.CoalescedChannelWriteFuture;
 import com.generallycloud.nio.protocol.ProtocolDecoder;
 import com.generallycloud.nio.protocol.ProtocolEncoder;
 import com.generallycloud.nio.protocol.ProtocolFactory;
@@ -55,12 +70,49 @@ public class NioSocketChannel extends AbstractChannel implements com.generallycl
 	private long						next_network_weak	= Long.MAX_VALUE;
 	private int						writeFutureLength	= 0;
 	private ExecutorEventLoop			executorEventLoop;
+	private ExecutorEventLoop			sharedExecutorEventLoop;
+	private SelectorEventLoopMetrics		selectorMetrics;
+	private ExecutorEventLoopMetrics		executorMetrics;
+	private ChannelWriteFuture[]			gather_futures;
+	private ByteBuffer[]				gather_buffers;
+	private int						gather_length;
+	private int						coalesceThreshold;
+	private int						writeHighWaterMark;
+	private int						writeLowWaterMark;
+	private volatile boolean			writable			= true;
+	private boolean					notifiedWritable	= true;
+	private boolean					interestWrite		= false;
+	private boolean					flushScheduled		= false;
+	private boolean					interestRead		= true;
+	private boolean					userReadPaused		= false;
+	private volatile boolean			autoReadPaused		= false;
+	private boolean					memoryReadPaused	= false;
+	private boolean					retryingReadTask	= false;
+	private int						readPauseThreshold;
+	private int						queuePauseThreshold;
+	private AtomicInteger				pendingReadFutures	= new AtomicInteger();
+	private int						traceSampleRate;
+	private int						traceSampleCount;
+	private long						readStartTime;
+	private SelectorLoopEvent			resumeReadEvent	= new SelectorLoopEventAdapter() {
+
+		@Override
+		public void fireEvent(SelectorEventLoop selectLoop) throws IOException {
+			tryAutoResumeRead();
+		}
+	};
+	private ReadSizePredictor			readSizePredictor;
+	private long						lastReadTime;
+	private long						lastWriteTime;
 
 	// FIXME 这里最好不要用ABQ，使用链式可增可减
-	private ListQueue<ChannelWriteFuture>	write_futures		= new ListQueueLinkUnsafe<ChannelWriteFuture>();
+	private ListQueueLinkUnsafe<ChannelWriteFuture>	write_futures		= new ListQueueLinkUnsafe<ChannelWriteFuture>();
 
 	private static final Logger			logger			= LoggerFactory.getLogger(NioSocketChannel.class);
 
+	// 任务被拒绝后重试的间隔，实际按时间轮的tick取整
+	private static final long			READ_TASK_RETRY_DELAY	= 10;
+
 	// FIXME 改进network wake 机制
 	// FIXME network weak check
 	public NioSocketChannel(SocketSelectorEventLoop selectorLoop, SelectionKey selectionKey){
@@ -69,13 +121,28 @@ public class NioSocketChannel extends AbstractChannel implements com.generallycl
 		this.byteBufAllocator = selectorEventLoop.getByteBufAllocator();
 		this.context = selectorLoop.getChannelContext();
 		this.selectionKey = selectionKey;
-		this.executorEventLoop = selectorLoop.getExecutorEventLoop();
+		this.sharedExecutorEventLoop = selectorLoop.getExecutorEventLoop();
+		this.executorEventLoop = newExecutorEventLoop(sharedExecutorEventLoop);
+		this.selectorMetrics = selectorLoop.getMetrics();
+		this.executorMetrics = selectorLoop.getExecutorEventLoopMetrics();
 		this.channel = (SocketChannel) selectionKey.channel();
 		this.local = getLocalSocketAddress();
 		this.protocolFactory = selectorLoop.getProtocolFactory();
 		this.protocolDecoder = selectorLoop.getProtocolDecoder();
 		this.protocolEncoder = selectorLoop.getProtocolEncoder();
 		this.session = context.getSessionFactory().newUnsafeSession(this);
+		this.gather_futures = selectorLoop.getGatherFutures();
+		this.gather_buffers = selectorLoop.getGatherBuffers();
+		this.gather_length = context.getServerConfiguration().getSERVER_CHANNEL_GATHER_LENGTH();
+		this.coalesceThreshold = context.getServerConfiguration().getSERVER_CHANNEL_COALESCE_THRESHOLD();
+		this.writeHighWaterMark = context.getServerConfiguration().getSERVER_CHANNEL_HIGH_WATER_MARK();
+		this.writeLowWaterMark = context.getServerConfiguration().getSERVER_CHANNEL_LOW_WATER_MARK();
+		this.readPauseThreshold = context.getServerConfiguration().getSERVER_SESSION_READ_PAUSE_THRESHOLD();
+		this.queuePauseThreshold = context.getServerConfiguration().getSERVER_IO_EVENT_QUEUE_PAUSE_THRESHOLD();
+		this.traceSampleRate = context.getServerConfiguration().getSERVER_PIPELINE_TRACE_SAMPLE_RATE();
+		this.readSizePredictor = newReadSizePredictor(context.getServerConfiguration());
+		this.lastReadTime = creationTime;
+		this.lastWriteTime = creationTime;
 	}
 
 	@Override
@@ -88,7 +155,13 @@ public class NioSocketChannel extends AbstractChannel implements com.generallycl
 		ReentrantLock lock = getChannelLock();
 		lock.lock();
 		try{
-			return write_future == null && write_futures.size() == 0;
+			// write_future不为空时已注册OP_WRITE，等待selector唤醒后继续写
+			boolean complete = write_future != null || write_futures.size() == 0;
+			if (complete) {
+				// 此后write进来的future需要重新调度
+				flushScheduled = false;
+			}
+			return complete;
 		}finally{
 			lock.unlock();
 		}
@@ -101,24 +174,342 @@ public class NioSocketChannel extends AbstractChannel implements com.generallycl
 			throw new ClosedChannelException("closed");
 		}
 		
-		if (write_future == null) {
-			
-			write_future = write_futures.poll();
-			
-			if (write_future == null) {
+		ChannelWriteFuture[] futures = this.gather_futures;
+
+		int size = coalesce(futures, gather(futures));
+
+		if (size == 0) {
+			interestWrite(false);
+			return;
+		}
+
+		if (size == 1) {
+
+			ChannelWriteFuture future = futures[0];
+
+			futures[0] = null;
+
+			if (!future.write(this)) {
+				write_future = future;
+				interestWrite(true);
 				return;
 			}
+
+			interestWrite(false);
+
+			decreaseWriteFutureLength(future.getBinaryLength());
+
+			future.onSuccess(session);
+
+			return;
+		}
+
+		ByteBuffer[] buffers = this.gather_buffers;
+
+		int count = 0;
+
+		for (int i = 0; i < size; i++) {
+
+			ByteBuf buf = futures[i].getByteBuf();
+
+			if (buf instanceof CompositeByteBuf) {
+				count += ((CompositeByteBuf) buf).nioBuffers(buffers, count);
+			} else {
+				buffers[count++] = buf.nioBuffer();
+			}
+
+			// 组合buf展开后可能放不下，剩余的future留到下一次写
+			if (count == buffers.length && i + 1 < size) {
+				pushBack(futures, i + 1, size);
+				for (int j = i + 1; j < size; j++) {
+					futures[j] = null;
+				}
+				size = i + 1;
+				break;
+			}
+		}
+
+		long length = channel.write(buffers, 0, count);
+
+		selectorMetrics.recordWrite(length);
+
+		if (length > 0) {
+			upNetworkState();
+		} else {
+			downNetworkState();
+		}
+
+		int complete = 0;
+
+		for (; complete < size; complete++) {
+
+			ByteBuf buf = futures[complete].getByteBuf();
+
+			buf.reverse();
+
+			if (buf.hasRemaining()) {
+				break;
+			}
+		}
+
+		// 将已完成的future串起来，回调过程中可能重入fireEvent（例如关闭连接），
+		// 所以在回调之前先清理掉临时数组
+		ChannelWriteFuture completed = null;
+
+		int completedLength = 0;
+
+		for (int i = complete - 1; i >= 0; i--) {
+
+			ChannelWriteFuture future = futures[i];
+
+			future.setNext(completed);
+
+			completed = future;
+
+			completedLength += future.getBinaryLength();
+		}
+
+		if (complete < size) {
+
+			write_future = futures[complete];
+
+			pushBack(futures, complete + 1, size);
 		}
 
-		if (!write_future.write(this)) {
+		interestWrite(complete < size);
+
+		for (int i = 0; i < size; i++) {
+			futures[i] = null;
+		}
+
+		for (int i = 0; i < count; i++) {
+			buffers[i] = null;
+		}
+
+		decreaseWriteFutureLength(completedLength);
+
+		for (; completed != null;) {
+
+			ChannelWriteFuture future = completed;
+
+			Linkable<ChannelWriteFuture> next = future.getNext();
+
+			completed = next == null ? null : next.getValue();
+
+			future.setNext(null);
+
+			future.onSuccess(session);
+		}
+	}
+
+	/**
+	 * socket缓冲区已满时注册OP_WRITE，写完后取消，避免selector线程空转重试
+	 */
+	private void interestWrite(boolean interest) {
+
+		if (interestWrite == interest) {
 			return;
 		}
-		
-		writeFutureLength -= write_future.getBinaryLength();
 
-		write_future.onSuccess(session);
-		
-		write_future = null;
+		if (!selectionKey.isValid()) {
+			return;
+		}
+
+		interestWrite = interest;
+
+		int ops = selectionKey.interestOps();
+
+		if (interest) {
+			selectionKey.interestOps(ops | SelectionKey.OP_WRITE);
+		} else {
+			selectionKey.interestOps(ops & ~SelectionKey.OP_WRITE);
+		}
+	}
+
+	private void decreaseWriteFutureLength(int length) {
+
+		if (length > 0) {
+			lastWriteTime = System.currentTimeMillis();
+		}
+
+		ReentrantLock lock = getChannelLock();
+
+		lock.lock();
+
+		try {
+
+			writeFutureLength -= length;
+
+			if (writable || writeFutureLength > writeLowWaterMark) {
+				return;
+			}
+
+			writable = true;
+
+		} finally {
+			lock.unlock();
+		}
+
+		fireWritabilityChanged();
+	}
+
+	/**
+	 * 只在selector线程中执行，保证通知的顺序与状态一致
+	 */
+	private void fireWritabilityChanged() {
+
+		boolean writable = this.writable;
+
+		if (writable == notifiedWritable) {
+			return;
+		}
+
+		notifiedWritable = writable;
+
+		session.fireWritabilityChanged();
+	}
+
+	/**
+	 * 取出待写的future放入futures中，正在写的future总是在第一位
+	 */
+	private int gather(ChannelWriteFuture[] futures) {
+
+		int size = 0;
+
+		int length = 0;
+
+		if (write_future != null) {
+
+			futures[size++] = write_future;
+
+			length = write_future.getByteBuf().remaining();
+
+			write_future = null;
+		}
+
+		if (size == futures.length || length >= gather_length) {
+			return size;
+		}
+
+		ReentrantLock lock = getChannelLock();
+
+		lock.lock();
+
+		try {
+
+			ListQueue<ChannelWriteFuture> writeFutures = this.write_futures;
+
+			for (; size < futures.length && length < gather_length;) {
+
+				ChannelWriteFuture future = writeFutures.poll();
+
+				if (future == null) {
+					break;
+				}
+
+				futures[size++] = future;
+
+				length += future.getBinaryLength();
+			}
+
+		} finally {
+			lock.unlock();
+		}
+
+		return size;
+	}
+
+	/**
+	 * 连续的小future拷贝到同一个buf中，用一个future代替，拷贝后小future的buf立即释放
+	 */
+	private int coalesce(ChannelWriteFuture[] futures, int size) {
+
+		int threshold = this.coalesceThreshold;
+
+		if (threshold < 1 || size < 2) {
+			return size;
+		}
+
+		int newSize = 0;
+
+		for (int i = 0; i < size;) {
+
+			int end = i;
+
+			int length = 0;
+
+			for (; end < size && isSmall(futures[end], threshold); end++) {
+				length += futures[end].getByteBuf().remaining();
+			}
+
+			CoalescedChannelWriteFuture coalesced = null;
+
+			if (end - i > 1) {
+				coalesced = newCoalescedFuture(length);
+			}
+
+			if (coalesced == null) {
+				futures[newSize++] = futures[i++];
+				continue;
+			}
+
+			for (; i < end; i++) {
+				coalesced.add(futures[i]);
+			}
+
+			futures[newSize++] = coalesced.flip();
+		}
+
+		for (int i = newSize; i < size; i++) {
+			futures[i] = null;
+		}
+
+		return newSize;
+	}
+
+	private boolean isSmall(ChannelWriteFuture future, int threshold) {
+
+		if (future instanceof CoalescedChannelWriteFuture) {
+			return false;
+		}
+
+		ByteBuf buf = future.getByteBuf();
+
+		return !(buf instanceof CompositeByteBuf) && buf.remaining() <= threshold;
+	}
+
+	private CoalescedChannelWriteFuture newCoalescedFuture(int length) {
+
+		try {
+			return new CoalescedChannelWriteFuture(byteBufAllocator.allocate(length));
+		} catch (BufferException e) {
+			// 内存池拒绝分配时不合并，按原样写出
+			return null;
+		}
+	}
+
+	/**
+	 * 本次未写到的future按原顺序放回队首
+	 */
+	private void pushBack(ChannelWriteFuture[] futures, int from, int to) {
+
+		if (from >= to) {
+			return;
+		}
+
+		ReentrantLock lock = getChannelLock();
+
+		lock.lock();
+
+		try {
+
+			for (int i = to - 1; i >= from; i--) {
+				write_futures.offerFirst(futures[i]);
+			}
+
+		} finally {
+			lock.unlock();
+		}
 	}
 	
 	@Override
@@ -213,12 +604,104 @@ public class NioSocketChannel extends AbstractChannel implements com.generallycl
 	
 	@Override
 	public void flush(ChannelWriteFuture future) {
+		if (offer(future)) {
+			flush();
+		}
+	}
+
+	@Override
+	public void write(ChannelWriteFuture future) {
+		offer(future);
+	}
+
+	@Override
+	public void flush() {
+
+		if (inSelectorLoop()) {
+			flushInSelectorLoop();
+			return;
+		}
+
+		ReentrantLock lock = getChannelLock();
+
+		lock.lock();
+
+		try {
+
+			scheduleFlush();
+
+		} finally {
+
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 已在selector线程中，直接写出队列中的数据，没有写完的交给selector继续写
+	 */
+	private void flushInSelectorLoop() {
+
+		ReentrantLock lock = getChannelLock();
+
+		lock.lock();
+
+		try {
+
+			// 已调度过或正在等待OP_WRITE，交给那一次写
+			if (flushScheduled || write_future != null) {
+				return;
+			}
+
+		} finally {
+			lock.unlock();
+		}
+
+		try {
+			fireEvent(selectorEventLoop);
+		} catch (IOException e) {
+			CloseUtil.close(this);
+			return;
+		}
+
+		lock.lock();
+
+		try {
+
+			scheduleFlush();
+
+		} finally {
+
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 需持有channel lock，同一时刻至多调度一次
+	 */
+	private void scheduleFlush() {
+
+		// write_future不为空时正在等待OP_WRITE，已调度过时等待那一次写
+		if (flushScheduled || write_future != null || write_futures.size() == 0) {
+			return;
+		}
+
+		flushScheduled = true;
+
+		try {
+			selectorEventLoop.dispatch(this);
+		} catch (RejectedExecutionException e) {
+			flushScheduled = false;
+			throw e;
+		}
+	}
+
+	private boolean offer(ChannelWriteFuture future) {
 		
 		UnsafeSocketSession session = getSession();
 		
 		if (!isOpened()) {
 			future.onException(session, new ClosedChannelException(session.toString()));
-			return;
+			return false;
 		}
 		
 		ReentrantLock lock = getChannelLock();
@@ -229,20 +712,25 @@ public class NioSocketChannel extends AbstractChannel implements com.generallycl
 			
 			if (!write_futures.offer(future)) {
 				future.onException(session, new RejectedExecutionException());
-				return;
+				return false;
 			}
 
 			this.writeFutureLength += future.getBinaryLength();
 
-			if (writeFutureLength > 1024 * 1024 * 10) {
-				// FIXME 该连接写入过多啦
-			}
+			if (writable && writeFutureLength > writeHighWaterMark) {
 
-			if (write_future == null && write_futures.size() > 1) {
-				return;
+				writable = false;
+
+				fireEvent(new SelectorLoopEventAdapter() {
+
+					@Override
+					public void fireEvent(SelectorEventLoop selectLoop) throws IOException {
+						fireWritabilityChanged();
+					}
+				});
 			}
 
-			selectorEventLoop.dispatch(this);
+			return true;
 
 		} finally {
 
@@ -258,8 +746,7 @@ public class NioSocketChannel extends AbstractChannel implements com.generallycl
 
 			e = new ClosedChannelException(session.toString());
 
-			ReleaseUtil.release(write_future);
-
+			// onException中会释放并回收write_future
 			write_future.onException(session, e);
 		}
 
@@ -279,10 +766,9 @@ public class NioSocketChannel extends AbstractChannel implements com.generallycl
 
 		for (; f != null;) {
 
+			// onException中会释放并回收f
 			f.onException(session, e);
 
-			ReleaseUtil.release(f);
-
 			f = writeFutures.poll();
 		}
 	}
@@ -393,7 +879,22 @@ public class NioSocketChannel extends AbstractChannel implements com.generallycl
 
 	@Override
 	public int write(ByteBuffer buffer) throws IOException {
-		return channel.write(buffer);
+
+		int length = channel.write(buffer);
+
+		selectorMetrics.recordWrite(length);
+
+		return length;
+	}
+
+	@Override
+	public long write(ByteBuffer[] buffers, int offset, int length) throws IOException {
+
+		long written = channel.write(buffers, offset, length);
+
+		selectorMetrics.recordWrite(written);
+
+		return written;
 	}
 
 	@Override
@@ -426,4 +927,276 @@ public class NioSocketChannel extends AbstractChannel implements com.generallycl
 		return selectionKey.isReadable();
 	}
 
+	@Override
+	public boolean isWriteReady() {
+		return selectionKey.isWritable();
+	}
+
+	/**
+	 * selector重建后替换为新的SelectionKey，只在selector线程中调用
+	 */
+	protected void setSelectionKey(SelectionKey selectionKey) {
+
+		this.selectionKey = selectionKey;
+
+		this.interestWrite = (selectionKey.interestOps() & SelectionKey.OP_WRITE) != 0;
+
+		this.interestRead = (selectionKey.interestOps() & SelectionKey.OP_READ) != 0;
+
+		updateInterestRead();
+	}
+
+	@Override
+	public ReadSizePredictor getReadSizePredictor() {
+		return readSizePredictor;
+	}
+
+	@Override
+	public SocketSelectorEventLoop getSelectorEventLoop() {
+		return (SocketSelectorEventLoop) selectorEventLoop;
+	}
+
+	@Override
+	public void active() {
+		super.active();
+		this.lastReadTime = lastAccess;
+	}
+
+	@Override
+	public long getLastReadTime() {
+		return lastReadTime;
+	}
+
+	@Override
+	public long getLastWriteTime() {
+		return lastWriteTime;
+	}
+
+	/**
+	 * 共享的ExecutorEventLoop不保证顺序，每个连接使用一个串行队列
+	 */
+	private ExecutorEventLoop newExecutorEventLoop(ExecutorEventLoop eventLoop) {
+
+		if (eventLoop instanceof SharedExecutorEventLoop) {
+			return ((SharedExecutorEventLoop) eventLoop).newSerialEventLoop();
+		}
+
+		return eventLoop;
+	}
+
+	private ReadSizePredictor newReadSizePredictor(ServerConfiguration configuration) {
+
+		int max = configuration.getSERVER_CHANNEL_READ_BUFFER();
+
+		int min = Math.min(configuration.getSERVER_CHANNEL_READ_BUFFER_MIN(), max);
+
+		return new ReadSizePredictor(min, min, max);
+	}
+
+	@Override
+	public boolean isWritable() {
+		return writable;
+	}
+
+	@Override
+	public void setWriteWaterMark(int lowWaterMark, int highWaterMark) {
+
+		if (lowWaterMark > highWaterMark) {
+			throw new IllegalArgumentException("lowWaterMark > highWaterMark");
+		}
+
+		this.writeLowWaterMark = lowWaterMark;
+		this.writeHighWaterMark = highWaterMark;
+	}
+
+	@Override
+	public void pauseRead() {
+		setUserReadPaused(true);
+	}
+
+	@Override
+	public void resumeRead() {
+		setUserReadPaused(false);
+	}
+
+	@Override
+	public boolean isReadPaused() {
+		return !interestRead;
+	}
+
+	@Override
+	public void setMemoryReadPaused(boolean paused) {
+		memoryReadPaused = paused;
+		updateInterestRead();
+	}
+
+	private void setUserReadPaused(final boolean paused) {
+
+		if (inSelectorLoop()) {
+			userReadPaused = paused;
+			updateInterestRead();
+			return;
+		}
+
+		fireEvent(new SelectorLoopEventAdapter() {
+
+			@Override
+			public void fireEvent(SelectorEventLoop selectLoop) throws IOException {
+				userReadPaused = paused;
+				updateInterestRead();
+			}
+		});
+	}
+
+	/**
+	 * 用户暂停、自动暂停或内存暂停任一生效时取消OP_READ，只在selector线程中调用
+	 */
+	private void updateInterestRead() {
+
+		boolean interest = !userReadPaused && !autoReadPaused && !memoryReadPaused;
+
+		if (interestRead == interest) {
+			return;
+		}
+
+		if (!selectionKey.isValid()) {
+			return;
+		}
+
+		interestRead = interest;
+
+		int ops = selectionKey.interestOps();
+
+		if (interest) {
+			selectionKey.interestOps(ops | SelectionKey.OP_READ);
+		} else {
+			selectionKey.interestOps(ops & ~SelectionKey.OP_READ);
+		}
+	}
+
+	/**
+	 * 在selector线程中调用
+	 */
+	@Override
+	public void executeReadTask(Runnable task, int count) {
+
+		int pending = pendingReadFutures.addAndGet(count);
+
+		try {
+			executorEventLoop.dispatch(task);
+		} catch (RejectedExecutionException e) {
+			executorMetrics.recordReject();
+			// 先置重试标记再暂停读，否则autoPauseRead中可能立即恢复读，后续消息先于本批次执行
+			retryingReadTask = true;
+			autoPauseRead();
+			retryReadTask(task);
+			return;
+		}
+
+		if (readPauseThreshold > 0 && pending > readPauseThreshold) {
+			autoPauseRead();
+			return;
+		}
+
+		if (queuePauseThreshold > 0 && sharedExecutorEventLoop.size() > queuePauseThreshold) {
+			autoPauseRead();
+		}
+	}
+
+	@Override
+	public void finishReadTask(int count, long dispatchTime) {
+
+		executorMetrics.recordTask(System.nanoTime() - dispatchTime);
+
+		int pending = pendingReadFutures.addAndGet(-count);
+
+		// 先减计数再读标记，与autoPauseRead中先置标记再读计数配合，两边至少有一边能看到对方
+		if (pending > readResumeThreshold() || !autoReadPaused) {
+			return;
+		}
+
+		fireEvent(resumeReadEvent);
+	}
+
+	@Override
+	public void setReadStartTime(long readStartTime) {
+		this.readStartTime = readStartTime;
+	}
+
+	@Override
+	public PipelineTrace newPipelineTrace() {
+
+		if (traceSampleRate == 0 || ++traceSampleCount < traceSampleRate) {
+			return null;
+		}
+
+		traceSampleCount = 0;
+
+		return new PipelineTrace(channelID, readStartTime);
+	}
+
+	private void autoPauseRead() {
+
+		if (!autoReadPaused) {
+			autoReadPaused = true;
+			updateInterestRead();
+		}
+
+		// 置标记前任务可能已经处理完，此时不会再有人来恢复，这里自己检查一次
+		tryAutoResumeRead();
+	}
+
+	/**
+	 * 只在selector线程中调用，重试中的任务完成前不恢复读，保证消息的顺序
+	 */
+	private void tryAutoResumeRead() {
+
+		if (!autoReadPaused || retryingReadTask) {
+			return;
+		}
+
+		if (pendingReadFutures.get() > readResumeThreshold()) {
+			return;
+		}
+
+		autoReadPaused = false;
+
+		updateInterestRead();
+	}
+
+	private int readResumeThreshold() {
+		return readPauseThreshold / 2;
+	}
+
+	/**
+	 * 业务线程拒绝任务时不丢弃消息，读已暂停，在时间轮上稍后重新投递
+	 */
+	private void retryReadTask(final Runnable task) {
+
+		retryingReadTask = true;
+
+		getSelectorEventLoop().schedule(new TimerTask() {
+
+			@Override
+			public void run(Timeout timeout) throws Exception {
+
+				if (!isOpened()) {
+					return;
+				}
+
+				try {
+					executorEventLoop.dispatch(task);
+				} catch (RejectedExecutionException e) {
+					executorMetrics.recordReject();
+					retryReadTask(task);
+					return;
+				}
+
+				retryingReadTask = false;
+
+				tryAutoResumeRead();
+			}
+		}, READ_TASK_RETRY_DELAY);
+	}
+
 }
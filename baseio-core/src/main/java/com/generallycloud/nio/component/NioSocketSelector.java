@@ -24,8 +24,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+import com.generallycloud.nio.common.CloseUtil;
 import com.generallycloud.nio.common.Logger;
 import com.generallycloud.nio.common.LoggerFactory;
+import com.generallycloud.nio.common.SelectorUtil;
 
 /**
  * @author wangkai
@@ -35,7 +37,7 @@ public abstract class NioSocketSelector implements SocketSelector {
 
 	private static final Logger		logger			= LoggerFactory.getLogger(NioSocketSelector.class);
 
-	private Selector				selector			= null;
+	private volatile Selector		selector			= null;
 
 	private List<SocketChannel>		selectedChannels	= new ArrayList<>(4096);
 
@@ -65,22 +67,21 @@ public abstract class NioSocketSelector implements SocketSelector {
 
 		Set<SelectionKey> sks = selector.selectedKeys();
 
-		for (SelectionKey k : sks) {
-			
-			if (!k.isValid()) {
-				continue;
-			}
+		if (sks instanceof SelectionKeySet) {
 
-			SocketChannel channel = (SocketChannel) k.attachment();
+			SelectionKeySet keySet = (SelectionKeySet) sks;
 
-			if (channel == null) {
-				// channel为空说明该链接未打开
-				initSocketChannel(k);
-				
-				continue;
+			for (int i = 0, size = keySet.size(); i < size; i++) {
+
+				selectedChannel(keySet.get(i));
 			}
 
-			selectedChannels.add(channel);
+		} else {
+
+			for (SelectionKey k : sks) {
+
+				selectedChannel(k);
+			}
 		}
 
 		sks.clear();
@@ -88,6 +89,72 @@ public abstract class NioSocketSelector implements SocketSelector {
 		return selectedChannels;
 	}
 
+	private void selectedChannel(SelectionKey k) {
+
+		if (!k.isValid()) {
+			return;
+		}
+
+		SocketChannel channel = (SocketChannel) k.attachment();
+
+		if (channel == null) {
+			// channel为空说明该链接未打开
+			initSocketChannel(k);
+
+			return;
+		}
+
+		selectedChannels.add(channel);
+	}
+
+	@Override
+	public void rebuildSelector() throws IOException {
+
+		Selector old = this.selector;
+
+		Selector selector = SelectorUtil.open();
+
+		int migrated = 0;
+
+		for (SelectionKey k : old.keys()) {
+
+			if (!k.isValid() || k.channel().keyFor(selector) != null) {
+				continue;
+			}
+
+			Object attachment = k.attachment();
+
+			int interestOps = k.interestOps();
+
+			k.cancel();
+
+			try {
+
+				SelectionKey newKey = k.channel().register(selector, interestOps, attachment);
+
+				if (attachment instanceof NioSocketChannel) {
+					((NioSocketChannel) attachment).setSelectionKey(newKey);
+				}
+
+				migrated++;
+
+			} catch (Exception e) {
+
+				logger.error(e.getMessage(), e);
+
+				if (attachment instanceof SocketChannel) {
+					CloseUtil.close((SocketChannel) attachment);
+				}
+			}
+		}
+
+		this.selector = selector;
+
+		CloseUtil.close(old);
+
+		logger.info("selector rebuilt, migrated {} keys", migrated);
+	}
+
 	private void initSocketChannel(SelectionKey k) {
 		try {
 			buildChannel(k);
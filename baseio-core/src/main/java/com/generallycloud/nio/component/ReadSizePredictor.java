@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.component;
+
+/**
+ * 根据最近几次读取的字节数预测下次读取的大小，读满时扩大一档，
+ * 连续两次读取不足下一档时缩小一档，大小在min与max之间按2的倍数变化
+ */
+public class ReadSizePredictor {
+
+	private int		min;
+
+	private int		max;
+
+	private int		next;
+
+	private boolean	decreaseNow;
+
+	public ReadSizePredictor(int min, int initial, int max) {
+
+		if (min > max) {
+			throw new IllegalArgumentException("min > max");
+		}
+
+		this.min = min;
+		this.max = max;
+		this.next = Math.min(Math.max(initial, min), max);
+	}
+
+	public int next() {
+		return next;
+	}
+
+	public void record(int actual) {
+
+		if (actual >= next) {
+
+			decreaseNow = false;
+
+			next = Math.min(next << 1, max);
+
+			return;
+		}
+
+		if (actual > (next >> 1) || next == min) {
+
+			decreaseNow = false;
+
+			return;
+		}
+
+		if (decreaseNow) {
+
+			decreaseNow = false;
+
+			next = Math.max(next >> 1, min);
+
+			return;
+		}
+
+		decreaseNow = true;
+	}
+
+}
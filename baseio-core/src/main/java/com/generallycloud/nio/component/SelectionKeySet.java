@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.component;
+
+import java.nio.channels.SelectionKey;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 基于数组的selectedKeys，通过反射替换JDK Selector内部的HashSet，
+ * select时只做数组追加，遍历时不产生Iterator与哈希开销
+ */
+public class SelectionKeySet extends AbstractSet<SelectionKey> {
+
+	private SelectionKey[]	keys	= new SelectionKey[1024];
+
+	private int			size;
+
+	@Override
+	public boolean add(SelectionKey key) {
+
+		if (key == null) {
+			return false;
+		}
+
+		if (size == keys.length) {
+			keys = Arrays.copyOf(keys, size << 1);
+		}
+
+		keys[size++] = key;
+
+		return true;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		return false;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return false;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	public SelectionKey get(int index) {
+		return keys[index];
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(keys, 0, size, null);
+		size = 0;
+	}
+
+	@Override
+	public Iterator<SelectionKey> iterator() {
+
+		return new Iterator<SelectionKey>() {
+
+			private int	index;
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			public SelectionKey next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return keys[index++];
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+}
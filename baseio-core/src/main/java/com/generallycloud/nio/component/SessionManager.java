@@ -20,7 +20,5 @@ import java.io.Closeable;
 public interface SessionManager extends Closeable{
 
 	public abstract int getManagedSessionSize();
-	
-	public abstract void loop();
-	
+
 }
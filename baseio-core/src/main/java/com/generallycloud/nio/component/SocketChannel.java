@@ -21,6 +21,7 @@ import java.nio.ByteBuffer;
 
 import com.generallycloud.nio.component.SelectorEventLoop.SelectorLoopEvent;
 import com.generallycloud.nio.component.concurrent.ExecutorEventLoop;
+import com.generallycloud.nio.metrics.PipelineTrace;
 import com.generallycloud.nio.protocol.ChannelReadFuture;
 import com.generallycloud.nio.protocol.ChannelWriteFuture;
 import com.generallycloud.nio.protocol.ProtocolDecoder;
@@ -48,8 +49,24 @@ public interface SocketChannel extends DuplexChannel, SelectorLoopEvent {
 
 	public abstract int write(ByteBuffer buffer) throws IOException;
 
+	public abstract long write(ByteBuffer[] buffers, int offset, int length) throws IOException;
+
+	/**
+	 * 放入写队列并调度一次写，等同于write(future)之后flush()
+	 */
 	public abstract void flush(ChannelWriteFuture future);
 
+	/**
+	 * 只放入写队列，不调度selector，需要调用flush()才会写出
+	 */
+	public abstract void write(ChannelWriteFuture future);
+
+	/**
+	 * 调度一次写，队列中的future在同一次写中合并写出，
+	 * 在selector线程中调用时直接写，不再dispatch
+	 */
+	public abstract void flush();
+
 	public abstract boolean isBlocking();
 
 	@Override
@@ -81,6 +98,70 @@ public interface SocketChannel extends DuplexChannel, SelectorLoopEvent {
 	public abstract ExecutorEventLoop getExecutorEventLoop();
 	
 	public abstract boolean isReadable();
+
+	public abstract boolean isWriteReady();
+
+	public abstract ReadSizePredictor getReadSizePredictor();
+
+	/**
+	 * 待写数据超过高水位后返回false，回落到低水位以下后恢复为true
+	 */
+	public abstract boolean isWritable();
+
+	public abstract void setWriteWaterMark(int lowWaterMark, int highWaterMark);
+
+	/**
+	 * 取消OP_READ，不再从socket读取数据，可在任意线程中调用
+	 */
+	public abstract void pauseRead();
+
+	/**
+	 * 恢复读，因业务线程积压而自动暂停的读要等积压回落后才会恢复
+	 */
+	public abstract void resumeRead();
+
+	public abstract boolean isReadPaused();
+
+	/**
+	 * 内存池超出预算时暂停读，内存回落后恢复，与pauseRead互不影响，只在selector线程中调用
+	 */
+	public abstract void setMemoryReadPaused(boolean paused);
+
+	/**
+	 * 将处理count个消息的任务交给业务线程，积压过多时自动暂停读，
+	 * 任务被拒绝时暂停读并稍后重试，不会丢弃
+	 */
+	public abstract void executeReadTask(Runnable task, int count);
+
+	/**
+	 * 任务处理完count个消息后调用，积压回落后自动恢复读，
+	 * dispatchTime为投递任务时的System.nanoTime()，用于统计任务延迟
+	 */
+	public abstract void finishReadTask(int count, long dispatchTime);
+
+	/**
+	 * 开始读一个新消息时调用，按SERVER_PIPELINE_TRACE_SAMPLE_RATE采样，
+	 * 未被采样时返回null，只在selector线程中调用
+	 */
+	public abstract PipelineTrace newPipelineTrace();
+
+	/**
+	 * selector线程在从socket读取前记录的System.nanoTime()，作为采样消息读阶段的开始，
+	 * 只在开启采样时记录
+	 */
+	public abstract void setReadStartTime(long readStartTime);
+
+	public abstract SocketSelectorEventLoop getSelectorEventLoop();
+
+	/**
+	 * 最后一次读到数据(或调用active)的时间
+	 */
+	public abstract long getLastReadTime();
+
+	/**
+	 * 最后一次有数据写出的时间
+	 */
+	public abstract long getLastWriteTime();
 	
 	public abstract <T> T getOption(SocketOption<T> name) throws IOException;
 	
@@ -19,6 +19,7 @@ import com.generallycloud.nio.Linkable;
 import com.generallycloud.nio.component.SocketSessionManager.SocketSessionManagerEvent;
 import com.generallycloud.nio.component.concurrent.ExecutorEventLoopGroup;
 import com.generallycloud.nio.component.ssl.SslContext;
+import com.generallycloud.nio.metrics.ChannelContextMetrics;
 import com.generallycloud.nio.protocol.ProtocolEncoder;
 import com.generallycloud.nio.protocol.ProtocolFactory;
 
@@ -33,6 +34,11 @@ public interface SocketChannelContext extends ChannelContext {
 
 	public abstract ExecutorEventLoopGroup getExecutorEventLoopGroup();
 
+	/**
+	 * 该context下selector、业务线程与内存池的运行指标，context启动后可用
+	 */
+	public abstract ChannelContextMetrics getMetrics();
+
 	public abstract int getSessionAttachmentSize();
 	
 	public abstract void setSessionAttachmentSize(int sessionAttachmentSize);
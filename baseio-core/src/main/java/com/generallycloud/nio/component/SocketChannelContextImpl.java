@@ -25,10 +25,13 @@ import com.generallycloud.nio.common.LoggerFactory;
 import com.generallycloud.nio.common.LoggerUtil;
 import com.generallycloud.nio.component.SocketSessionManager.SocketSessionManagerEvent;
 import com.generallycloud.nio.component.concurrent.ExecutorEventLoopGroup;
+import com.generallycloud.nio.component.concurrent.ForkJoinEventLoopGroup;
 import com.generallycloud.nio.component.concurrent.LineEventLoopGroup;
 import com.generallycloud.nio.component.concurrent.ThreadEventLoopGroup;
+import com.generallycloud.nio.component.concurrent.VirtualThreadEventLoopGroup;
 import com.generallycloud.nio.component.ssl.SslContext;
 import com.generallycloud.nio.configuration.ServerConfiguration;
+import com.generallycloud.nio.metrics.ChannelContextMetrics;
 import com.generallycloud.nio.protocol.EmptyReadFuture;
 import com.generallycloud.nio.protocol.ProtocolEncoder;
 import com.generallycloud.nio.protocol.ProtocolFactory;
@@ -49,6 +52,7 @@ public class SocketChannelContextImpl extends AbstractChannelContext
 	private ForeReadFutureAcceptor					foreReadFutureAcceptor;
 	private SocketSessionManager						sessionManager;
 	private SocketSessionFactory						sessionFactory;
+	private ChannelContextMetrics					metrics;
 	private LinkableGroup<SocketSessionEventListener>		sessionEventListenerGroup	= new LinkableGroup<>();
 	private LinkableGroup<SocketSessionIdleEventListener>	sessionIdleEventListenerGroup	= new LinkableGroup<>();
 	private Logger									logger					= LoggerFactory
@@ -184,6 +188,8 @@ public class SocketChannelContextImpl extends AbstractChannelContext
 					SERVER_MEMORY_POOL_UNIT, SERVER_MEMORY_POOL_CAPACITY, MEMORY_POOL_SIZE });
 		}
 		
+		// ioEventHandle启动时可能需要注册自己的指标
+		this.metrics = new ChannelContextMetrics(this);
 
 		LifeCycleUtil.start(ioEventHandleAdaptor);
 
@@ -194,8 +200,17 @@ public class SocketChannelContextImpl extends AbstractChannelContext
 			int eventLoopSize = serverConfiguration.getSERVER_CORE_SIZE();
 
 			if (serverConfiguration.isSERVER_ENABLE_WORK_EVENT_LOOP()) {
-				this.executorEventLoopGroup = new ThreadEventLoopGroup("event-process",
-						eventQueueSize, eventLoopSize);
+				String type = serverConfiguration.getSERVER_WORK_EVENT_LOOP_TYPE();
+				if ("forkjoin".equals(type)) {
+					this.executorEventLoopGroup = new ForkJoinEventLoopGroup("event-process",
+							eventQueueSize, eventLoopSize);
+				} else if ("virtual".equals(type)) {
+					this.executorEventLoopGroup = new VirtualThreadEventLoopGroup("event-process",
+							eventQueueSize, serverConfiguration.getSERVER_WORK_EVENT_LOOP_MAX_CONCURRENCY());
+				} else {
+					this.executorEventLoopGroup = new ThreadEventLoopGroup("event-process",
+							eventQueueSize, eventLoopSize);
+				}
 			} else {
 				this.executorEventLoopGroup = new LineEventLoopGroup("event-process",
 						eventQueueSize, eventLoopSize);
@@ -230,6 +245,8 @@ public class SocketChannelContextImpl extends AbstractChannelContext
 		LifeCycleUtil.start(byteBufAllocatorManager);
 
 		LifeCycleUtil.start(executorEventLoopGroup);
+
+		this.metrics.registerByteBufAllocators(byteBufAllocatorManager);
 	}
 
 	private ChannelByteBufReader getLastChannelByteBufReader(ChannelByteBufReader value) {
@@ -255,6 +272,10 @@ public class SocketChannelContextImpl extends AbstractChannelContext
 
 		LifeCycleUtil.stop(byteBufAllocatorManager);
 
+		if (metrics != null) {
+			metrics.unregisterAll();
+		}
+
 		clearContext();
 	}
 
@@ -273,6 +294,11 @@ public class SocketChannelContextImpl extends AbstractChannelContext
 		return executorEventLoopGroup;
 	}
 
+	@Override
+	public ChannelContextMetrics getMetrics() {
+		return metrics;
+	}
+
 	@Override
 	public void setIoEventHandleAdaptor(IoEventHandleAdaptor ioEventHandleAdaptor) {
 		this.ioEventHandleAdaptor = ioEventHandleAdaptor;
@@ -23,8 +23,11 @@ import com.generallycloud.nio.common.LoggerFactory;
 import com.generallycloud.nio.common.ReleaseUtil;
 import com.generallycloud.nio.component.IoEventHandle.IoEventState;
 import com.generallycloud.nio.component.concurrent.ExecutorEventLoop;
+import com.generallycloud.nio.component.concurrent.Timeout;
+import com.generallycloud.nio.component.concurrent.TimerTask;
 import com.generallycloud.nio.component.concurrent.Waiter;
 import com.generallycloud.nio.component.ssl.SslHandler;
+import com.generallycloud.nio.metrics.PipelineTrace;
 import com.generallycloud.nio.protocol.ChannelReadFuture;
 import com.generallycloud.nio.protocol.ChannelWriteFuture;
 import com.generallycloud.nio.protocol.ProtocolDecoder;
@@ -109,6 +112,35 @@ public abstract class SocketChannelSessionImpl extends SessionImpl implements So
 
 	@Override
 	public void flush(ReadFuture future) {
+		write(future, true);
+	}
+
+	@Override
+	public void writeAndFlush(ReadFuture future) {
+		write(future, true);
+	}
+
+	@Override
+	public void write(ReadFuture future) {
+		write(future, false);
+	}
+
+	@Override
+	public void flush(ChannelWriteFuture future) {
+		write(future, true);
+	}
+
+	@Override
+	public void write(ChannelWriteFuture future) {
+		write(future, false);
+	}
+
+	@Override
+	public void flush() {
+		channel.flush();
+	}
+
+	private void write(ReadFuture future, boolean flush) {
 
 		if (future == null || future.flushed()) {
 			return;
@@ -133,7 +165,22 @@ public abstract class SocketChannelSessionImpl extends SessionImpl implements So
 
 			ProtocolEncoder encoder = socketChannel.getProtocolEncoder();
 
-			flush(encoder.encode(getByteBufAllocator(), crf.flush()));
+			PipelineTrace trace = crf.getPipelineTrace();
+
+			if (trace == null) {
+
+				write(encoder.encode(getByteBufAllocator(), crf.flush()), flush);
+
+				return;
+			}
+
+			trace.encodeStart();
+
+			ChannelWriteFuture writeFuture = encoder.encode(getByteBufAllocator(), crf.flush());
+
+			trace.encodeEnd();
+
+			write(writeFuture, flush);
 
 		} catch (Exception e) {
 
@@ -145,8 +192,7 @@ public abstract class SocketChannelSessionImpl extends SessionImpl implements So
 		}
 	}
 
-	@Override
-	public void flush(ChannelWriteFuture future) {
+	private void write(ChannelWriteFuture future, boolean flush) {
 
 		try {
 
@@ -155,7 +201,11 @@ public abstract class SocketChannelSessionImpl extends SessionImpl implements So
 				future.wrapSSL(this, sslHandler);
 			}
 
-			channel.flush(future);
+			if (flush) {
+				channel.flush(future);
+			} else {
+				channel.write(future);
+			}
 
 		} catch (Exception e) {
 
@@ -171,6 +221,36 @@ public abstract class SocketChannelSessionImpl extends SessionImpl implements So
 		}
 	}
 
+	@Override
+	public boolean isWritable() {
+		return channel.isWritable();
+	}
+
+	@Override
+	public Timeout schedule(TimerTask task, long delay) {
+		return channel.getSelectorEventLoop().schedule(task, delay);
+	}
+
+	@Override
+	public void setWriteWaterMark(int lowWaterMark, int highWaterMark) {
+		channel.setWriteWaterMark(lowWaterMark, highWaterMark);
+	}
+
+	@Override
+	public void pauseRead() {
+		channel.pauseRead();
+	}
+
+	@Override
+	public void resumeRead() {
+		channel.resumeRead();
+	}
+
+	@Override
+	public boolean isReadPaused() {
+		return channel.isReadPaused();
+	}
+
 	@Override
 	public ProtocolDecoder getProtocolDecoder() {
 		return channel.getProtocolDecoder();
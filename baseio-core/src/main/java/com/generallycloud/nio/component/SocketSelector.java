@@ -35,4 +35,9 @@ public interface SocketSelector extends Closeable{
 
 	public abstract void wakeup();
 
+	/**
+	 * 打开新的Selector并迁移所有有效的SelectionKey，用于规避epoll空轮询
+	 */
+	public abstract void rebuildSelector() throws IOException;
+
 }
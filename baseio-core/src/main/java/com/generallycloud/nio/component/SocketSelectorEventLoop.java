@@ -15,9 +15,14 @@
  */
 package com.generallycloud.nio.component;
 
-import java.util.concurrent.locks.ReentrantLock;
+import java.nio.ByteBuffer;
 
 import com.generallycloud.nio.component.concurrent.ExecutorEventLoop;
+import com.generallycloud.nio.component.concurrent.Timeout;
+import com.generallycloud.nio.component.concurrent.TimerTask;
+import com.generallycloud.nio.metrics.ExecutorEventLoopMetrics;
+import com.generallycloud.nio.metrics.SelectorEventLoopMetrics;
+import com.generallycloud.nio.protocol.ChannelWriteFuture;
 import com.generallycloud.nio.protocol.ProtocolDecoder;
 import com.generallycloud.nio.protocol.ProtocolEncoder;
 import com.generallycloud.nio.protocol.ProtocolFactory;
@@ -43,11 +48,30 @@ public interface SocketSelectorEventLoop extends SelectorEventLoop {
 
 	public abstract ExecutorEventLoop getExecutorEventLoop();
 
-	public abstract boolean isWaitForRegist();
+	/**
+	 * 等待selector线程处理的事件数
+	 */
+	public abstract int getPendingEventSize();
 
-	public abstract void setWaitForRegist(boolean isWaitForRegist);
+	public abstract SelectorEventLoopMetrics getMetrics();
 
-	public abstract ReentrantLock getIsWaitForRegistLock();
+	/**
+	 * getExecutorEventLoop()的指标，多个selector共用一个ExecutorEventLoop时也共用指标
+	 */
+	public abstract ExecutorEventLoopMetrics getExecutorEventLoopMetrics();
+
+	/**
+	 * gathering write时使用的临时数组，仅在selector线程内使用
+	 */
+	public abstract ChannelWriteFuture[] getGatherFutures();
+
+	public abstract ByteBuffer[] getGatherBuffers();
+
+	/**
+	 * 在本selector线程的时间轮上延迟delay毫秒执行task，可在任意线程调用，
+	 * task在selector线程中执行，不可执行阻塞操作
+	 */
+	public abstract Timeout schedule(TimerTask task, long delay);
 	
 	@Override
 	public abstract SocketSelectorEventLoopGroup getEventLoopGroup();
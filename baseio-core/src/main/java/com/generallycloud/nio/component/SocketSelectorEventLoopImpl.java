@@ -16,12 +16,20 @@
 package com.generallycloud.nio.component;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.ReentrantLock;
 
+import com.generallycloud.nio.buffer.BuddyByteBufAllocator;
 import com.generallycloud.nio.buffer.ByteBuf;
+import com.generallycloud.nio.buffer.ByteBufAllocator;
+import com.generallycloud.nio.buffer.ByteBufAllocatorManager;
+import com.generallycloud.nio.buffer.ElasticByteBufPool;
+import com.generallycloud.nio.buffer.LinkAbleByteBufAllocator;
+import com.generallycloud.nio.buffer.PooledByteBufAllocatorManager;
 import com.generallycloud.nio.buffer.UnpooledByteBufAllocator;
 import com.generallycloud.nio.common.CloseUtil;
 import com.generallycloud.nio.common.LifeCycleUtil;
@@ -30,7 +38,15 @@ import com.generallycloud.nio.common.LoggerFactory;
 import com.generallycloud.nio.common.ReleaseUtil;
 import com.generallycloud.nio.component.concurrent.BufferedArrayListUnsafe;
 import com.generallycloud.nio.component.concurrent.ExecutorEventLoop;
+import com.generallycloud.nio.component.concurrent.HashedWheelTimer;
 import com.generallycloud.nio.component.concurrent.LineEventLoop;
+import com.generallycloud.nio.component.concurrent.LinkedQueueM2O;
+import com.generallycloud.nio.component.concurrent.Timeout;
+import com.generallycloud.nio.component.concurrent.TimerTask;
+import com.generallycloud.nio.configuration.ServerConfiguration;
+import com.generallycloud.nio.metrics.ExecutorEventLoopMetrics;
+import com.generallycloud.nio.metrics.SelectorEventLoopMetrics;
+import com.generallycloud.nio.protocol.ChannelWriteFuture;
 import com.generallycloud.nio.protocol.ProtocolDecoder;
 import com.generallycloud.nio.protocol.ProtocolEncoder;
 import com.generallycloud.nio.protocol.ProtocolFactory;
@@ -41,6 +57,13 @@ public class SocketSelectorEventLoopImpl extends AbstractSelectorLoop
 	private static final Logger						logger			= LoggerFactory
 			.getLogger(SocketSelectorEventLoopImpl.class);
 
+	private static final long						SELECT_TIMEOUT		= 16;
+
+	private static final long						SELECT_TIMEOUT_NANOS	= TimeUnit.MILLISECONDS
+			.toNanos(SELECT_TIMEOUT);
+
+	private static final long						MEMORY_CHECK_INTERVAL	= 50;
+
 	private ByteBuf								buf				= null;
 
 	private ChannelByteBufReader						byteBufReader		= null;
@@ -55,34 +78,53 @@ public class SocketSelectorEventLoopImpl extends AbstractSelectorLoop
 
 	private ExecutorEventLoop						executorEventLoop	= null;
 
-	private boolean								isWaitForRegist	= false;
-
-	private SessionManager							sessionManager		= null;
-
 	private SocketSelectorEventLoopGroup				eventLoopGroup		= null;
 
 	private SocketSelectorBuilder						selectorBuilder	= null;
 
 	private SocketSelector							selector			= null;
 
-	private ReentrantLock							runLock			= new ReentrantLock();
-
 	private int									runTask			= 0;
 
 	private boolean								hasTask			= false;
 
 	private int									eventQueueSize		= 0;
 
+	// 只在selector线程中访问
 	private BufferedArrayListUnsafe<SelectorLoopEvent>	negativeEvents		= new BufferedArrayListUnsafe<>();
 
-	private BufferedArrayListUnsafe<SelectorLoopEvent>	positiveEvents		= new BufferedArrayListUnsafe<>();
+	private LinkedQueueM2O<SelectorLoopEvent>			positiveEvents		= new LinkedQueueM2O<>();
 
 	private AtomicBoolean							selecting			= new AtomicBoolean();
 
-	private ReentrantLock							isWaitForRegistLock	= new ReentrantLock();
-
 	private UnpooledByteBufAllocator					unpooledByteBufAllocator;
 
+	private int									maxReadPerLoop;
+
+	private boolean								traceEnabled;
+
+	private int									rebuildThreshold;
+
+	private int									emptySelects;
+
+	private ChannelWriteFuture[]						gatherFutures;
+
+	private ByteBuffer[]							gatherBuffers;
+
+	// 只在selector线程中访问
+	private HashedWheelTimer							timer;
+
+	private SelectorEventLoopMetrics					metrics;
+
+	private ExecutorEventLoopMetrics					executorEventLoopMetrics;
+
+	private ElasticByteBufPool						elasticPool;
+
+	private volatile Timeout							trimTimeout;
+
+	// 因内存池超出预算而暂停读的channel，只在selector线程中访问
+	private List<SocketChannel>						memoryPausedChannels	= new ArrayList<>();
+
 	public SocketSelectorEventLoopImpl(SocketSelectorEventLoopGroup group, int eventQueueSize,
 			int coreIndex) {
 
@@ -104,26 +146,42 @@ public class SocketSelectorEventLoopImpl extends AbstractSelectorLoop
 
 		this.byteBufReader = context.getChannelByteBufReader();
 
-		this.sessionManager = context.getSessionManager();
-
 		this.eventQueueSize = eventQueueSize;
 
-		this.unpooledByteBufAllocator = new UnpooledByteBufAllocator(false);
-	}
+		// 使用direct内存读取，避免JDK内部再拷贝一次到临时的direct buffer
+		this.unpooledByteBufAllocator = new UnpooledByteBufAllocator(true);
 
-	@Override
-	public ReentrantLock getIsWaitForRegistLock() {
-		return isWaitForRegistLock;
+		this.maxReadPerLoop = context.getServerConfiguration().getSERVER_CHANNEL_MAX_READ_PER_LOOP();
+
+		this.rebuildThreshold = context.getServerConfiguration().getSERVER_SELECTOR_REBUILD_THRESHOLD();
+
+		this.traceEnabled = context.getServerConfiguration().getSERVER_PIPELINE_TRACE_SAMPLE_RATE() > 0;
+
+		ServerConfiguration configuration = context.getServerConfiguration();
+
+		this.timer = new HashedWheelTimer(configuration.getSERVER_TIMER_TICK_DURATION(),
+				configuration.getSERVER_TIMER_WHEEL_SIZE());
+
+		int gatherSize = configuration.getSERVER_CHANNEL_GATHER_SIZE();
+
+		this.gatherFutures = new ChannelWriteFuture[gatherSize];
+
+		// 组合buf会展开为多个ByteBuffer，预留一倍空间
+		this.gatherBuffers = new ByteBuffer[gatherSize * 2];
+
+		this.metrics = context.getMetrics().newSelectorEventLoopMetrics(this, coreIndex);
+
+		this.executorEventLoopMetrics = context.getMetrics().getExecutorEventLoopMetrics(executorEventLoop);
 	}
 
 	@Override
-	public boolean isWaitForRegist() {
-		return isWaitForRegist;
+	public ChannelWriteFuture[] getGatherFutures() {
+		return gatherFutures;
 	}
 
 	@Override
-	public void setWaitForRegist(boolean isWaitForRegist) {
-		this.isWaitForRegist = isWaitForRegist;
+	public ByteBuffer[] getGatherBuffers() {
+		return gatherBuffers;
 	}
 
 	@Override
@@ -132,17 +190,34 @@ public class SocketSelectorEventLoopImpl extends AbstractSelectorLoop
 	}
 
 	@Override
-	public void rebuildSelector() throws IOException {
-		this.selector = rebuildSelector0();
-	}
+	public Timeout schedule(TimerTask task, long delay) {
 
-	private void waitForRegist() {
+		final Timeout timeout = new Timeout(task, System.currentTimeMillis() + delay);
 
-		ReentrantLock lock = getIsWaitForRegistLock();
+		if (inEventLoop()) {
+			timer.addTimeout(timeout);
+			return timeout;
+		}
+
+		dispatch(new SelectorLoopEventAdapter() {
+
+			@Override
+			public void fireEvent(SelectorEventLoop selectorLoop) throws IOException {
+				timer.addTimeout(timeout);
+			}
+
+			@Override
+			public void close() throws IOException {
+				timeout.cancel();
+			}
+		});
 
-		lock.lock();
+		return timeout;
+	}
 
-		lock.unlock();
+	@Override
+	public void rebuildSelector() throws IOException {
+		this.selector = rebuildSelector0();
 	}
 
 	@Override
@@ -164,25 +239,112 @@ public class SocketSelectorEventLoopImpl extends AbstractSelectorLoop
 
 	public void accept0(SocketChannel channel) throws Exception {
 
+		ElasticByteBufPool elasticPool = this.elasticPool;
+
+		// 内存池超出预算，数据留在socket缓冲区，内存回落后再读
+		if (elasticPool != null && elasticPool.isExhausted()) {
+			pauseReadForMemory(channel);
+			return;
+		}
+
 		ByteBuf buf = this.buf;
 
-		buf.clear();
+		ReadSizePredictor predictor = channel.getReadSizePredictor();
+
+		for (int i = 0; i < maxReadPerLoop; i++) {
 
-		buf.nioBuffer();
+			int limit = predictor.next();
 
-		int length = buf.read(channel);
+			buf.clear().limit(limit);
 
-		if (length < 1) {
+			buf.nioBuffer();
 
-			if (length == -1) {
-				CloseUtil.close(channel);
+			// 在读取前记录，被采样的消息的读阶段包含这次系统调用
+			if (traceEnabled) {
+				channel.setReadStartTime(System.nanoTime());
 			}
+
+			int length = buf.read(channel);
+
+			if (length < 1) {
+
+				if (length == -1) {
+					CloseUtil.close(channel);
+				}
+				return;
+			}
+
+			predictor.record(length);
+
+			metrics.recordRead(length);
+
+			channel.active();
+
+			byteBufReader.accept(channel, buf.flip());
+
+			// 没有读满说明socket缓冲区已读空，读已暂停时剩下的留在socket缓冲区
+			if (length < limit || !channel.isOpened() || channel.isReadPaused()) {
+				return;
+			}
+		}
+	}
+
+	private void pauseReadForMemory(SocketChannel channel) {
+
+		channel.setMemoryReadPaused(true);
+
+		memoryPausedChannels.add(channel);
+
+		// 第一个暂停的channel负责启动检查
+		if (memoryPausedChannels.size() == 1) {
+			scheduleMemoryCheck();
+		}
+	}
+
+	private void scheduleMemoryCheck() {
+
+		timer.addTimeout(new Timeout(new TimerTask() {
+
+			@Override
+			public void run(Timeout timeout) throws Exception {
+				checkMemoryPausedChannels();
+			}
+		}, System.currentTimeMillis() + MEMORY_CHECK_INTERVAL));
+	}
+
+	private void checkMemoryPausedChannels() {
+
+		if (elasticPool.updateExhausted()) {
+			scheduleMemoryCheck();
 			return;
 		}
 
-		channel.active();
+		for (SocketChannel channel : memoryPausedChannels) {
+			channel.setMemoryReadPaused(false);
+		}
+
+		memoryPausedChannels.clear();
+	}
+
+	// 内存池由所有selector线程共用，只在主selector线程的时间轮上收缩
+	private void scheduleTrim(final long interval) {
+
+		Timeout timeout = new Timeout(new TimerTask() {
+
+			@Override
+			public void run(Timeout timeout) throws Exception {
+
+				try {
+					elasticPool.trim(System.currentTimeMillis());
+				} finally {
+					scheduleTrim(interval);
+				}
+			}
+		}, System.currentTimeMillis() + interval);
 
-		byteBufReader.accept(channel, buf.flip());
+		timer.addTimeout(timeout);
+
+		trimTimeout = timeout;
 	}
 
 	@Override
@@ -196,19 +358,82 @@ public class SocketSelectorEventLoopImpl extends AbstractSelectorLoop
 
 		int readBuffer = context.getServerConfiguration().getSERVER_CHANNEL_READ_BUFFER();
 
-		// FIXME 使用direct
 		this.buf = unpooledByteBufAllocator.allocate(readBuffer);
 
+		BuddyByteBufAllocator buddy = getBuddyByteBufAllocator();
+
+		// monitor线程已创建尚未启动，绑定后只有本线程使用内存池的缓存
+		if (buddy != null) {
+			buddy.bindOwner(getMonitor());
+		}
+
+		ByteBufAllocatorManager allocatorManager = context.getByteBufAllocatorManager();
+
+		if (allocatorManager instanceof PooledByteBufAllocatorManager) {
+			this.elasticPool = ((PooledByteBufAllocatorManager) allocatorManager).getElasticPool();
+		}
+
+		// selector线程尚未启动，可以直接操作时间轮
+		if (elasticPool != null && isMainEventLoop() && elasticPool.getTrimInterval() > 0) {
+			scheduleTrim(elasticPool.getTrimInterval());
+		}
+
 		super.doStartup();
 	}
 
+	@Override
+	public void loop() {
+		try {
+			super.loop();
+		} finally {
+			BuddyByteBufAllocator buddy = getBuddyByteBufAllocator();
+			if (buddy != null) {
+				buddy.unbindOwner();
+			}
+		}
+	}
+
+	private BuddyByteBufAllocator getBuddyByteBufAllocator() {
+
+		ByteBufAllocator allocator = getByteBufAllocator();
+
+		if (allocator instanceof LinkAbleByteBufAllocator) {
+			allocator = ((LinkAbleByteBufAllocator) allocator).unwrap();
+		}
+
+		if (allocator instanceof BuddyByteBufAllocator) {
+			return (BuddyByteBufAllocator) allocator;
+		}
+
+		return null;
+	}
+
 	@Override
 	protected void doStop() {
 
-		closeEvents(positiveEvents);
+		for (;;) {
+
+			SelectorLoopEvent event = positiveEvents.poll();
+
+			if (event == null) {
+				break;
+			}
+
+			CloseUtil.close(event);
+		}
 
 		closeEvents(negativeEvents);
 
+		Timeout trimTimeout = this.trimTimeout;
+
+		if (trimTimeout != null) {
+			trimTimeout.cancel();
+		}
+
+		timer.clear();
+
+		memoryPausedChannels.clear();
+
 		CloseUtil.close(selector);
 
 		ReleaseUtil.release(buf);
@@ -218,7 +443,7 @@ public class SocketSelectorEventLoopImpl extends AbstractSelectorLoop
 
 	private void closeEvents(BufferedArrayListUnsafe<SelectorLoopEvent> bufferedList) {
 
-		List<SelectorLoopEvent> events = getEventBuffer(bufferedList);
+		List<SelectorLoopEvent> events = bufferedList.getBuffer();
 
 		for (SelectorLoopEvent event : events) {
 
@@ -247,9 +472,26 @@ public class SocketSelectorEventLoopImpl extends AbstractSelectorLoop
 		return executorEventLoop;
 	}
 
+	@Override
+	public int getPendingEventSize() {
+		return positiveEvents.size();
+	}
+
+	@Override
+	public SelectorEventLoopMetrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public ExecutorEventLoopMetrics getExecutorEventLoopMetrics() {
+		return executorEventLoopMetrics;
+	}
+
 	@Override
 	protected void doLoop() {
 
+		long busyStart = System.nanoTime();
+
 		try {
 
 			SocketSelector selector = getSelector();
@@ -270,22 +512,29 @@ public class SocketSelectorEventLoopImpl extends AbstractSelectorLoop
 				selected = selector.selectNow();
 			} else {
 
-				if (selecting.compareAndSet(false, true)) {
+				selecting.set(true);
+
+				// 先置selecting再检查队列，与dispatch中先入队再检查selecting配合，避免丢失唤醒
+				if (positiveEvents.isEmpty()) {
 
-					selected = selector.select(16);// FIXME try
+					long startTime = System.nanoTime();
 
-					selecting.set(false);
+					selected = selector.select(SELECT_TIMEOUT);
+
+					checkEmptySelect(selected, startTime);
+
+					// 阻塞在select中的时间不计入忙碌时间
+					busyStart = System.nanoTime();
 				} else {
 
 					selected = selector.selectNow();
 				}
-			}
-
-			if (isWaitForRegist()) {
 
-				waitForRegist();
+				selecting.set(false);
 			}
 
+			metrics.recordSelect(selected);
+
 			if (selected < 1) {
 
 				handleNegativeEvents();
@@ -297,7 +546,13 @@ public class SocketSelectorEventLoopImpl extends AbstractSelectorLoop
 
 				for (SocketChannel channel : selectedChannels) {
 
-					accept(channel);
+					if (channel.isWriteReady()) {
+						handleEvent(channel);
+					}
+
+					if (channel.isOpened() && channel.isReadable()) {
+						accept(channel);
+					}
 				}
 
 				selector.clearSelectedChannels();
@@ -305,46 +560,54 @@ public class SocketSelectorEventLoopImpl extends AbstractSelectorLoop
 
 			handlePositiveEvents(true);
 
-			if (isMainEventLoop()) {
-				sessionManager.loop();
-			}
+			timer.expireTimeouts(System.currentTimeMillis());
 
 		} catch (Throwable e) {
 
 			logger.error(e.getMessage(), e);
+
+		} finally {
+
+			metrics.recordLoop(System.nanoTime() - busyStart);
+		}
+	}
+
+	/**
+	 * 没有就绪的key、没有待处理的事件且未到超时时间就返回，视为一次空轮询
+	 */
+	private void checkEmptySelect(int selected, long startTime) throws IOException {
+
+		if (selected > 0 || !positiveEvents.isEmpty()
+				|| System.nanoTime() - startTime >= SELECT_TIMEOUT_NANOS) {
+			emptySelects = 0;
+			return;
 		}
+
+		if (++emptySelects < rebuildThreshold || !isRunning()) {
+			return;
+		}
+
+		// JDK bug fired ?
+		logger.error("selector returned prematurely " + emptySelects + " times, rebuild selector");
+
+		emptySelects = 0;
+
+		rebuildSelector();
 	}
 
 	private SocketSelector rebuildSelector0() throws IOException {
-		SocketSelector selector = selectorBuilder.build(this);
 
-		//		Selector old = this.selector;
-		//
-		//		Set<SelectionKey> sks = old.keys();
-		//
-		//		if (sks.size() == 0) {
-		//			logger.debug("sk size 0");
-		//			CloseUtil.close(old);
-		//			return selector;
-		//		}
-		//
-		//		for (SelectionKey sk : sks) {
-		//
-		//			if (!sk.isValid() || sk.attachment() == null) {
-		//				cancelSelectionKey(sk);
-		//				continue;
-		//			}
-		//
-		//			try {
-		//				sk.channel().register(selector, SelectionKey.OP_READ);
-		//			} catch (ClosedChannelException e) {
-		//				cancelSelectionKey(sk, e);
-		//			}
-		//		}
-		//
-		//		CloseUtil.close(old);
+		SocketSelector selector = this.selector;
 
-		return selector;
+		if (selector != null) {
+
+			// 注册都在selector线程中执行，这里不会与注册并发
+			selector.rebuildSelector();
+
+			return selector;
+		}
+
+		return selectorBuilder.build(this);
 	}
 
 	@Override
@@ -357,11 +620,6 @@ public class SocketSelectorEventLoopImpl extends AbstractSelectorLoop
 	@Override
 	public void wakeup() {
 
-		if (selecting.compareAndSet(false, true)) {
-			selecting.set(false);
-			return;
-		}
-
 		getSelector().wakeup();
 
 		super.wakeup();
@@ -383,40 +641,27 @@ public class SocketSelectorEventLoopImpl extends AbstractSelectorLoop
 		//			return;
 		//		}
 
-		ReentrantLock lock = this.runLock;
-
-		lock.lock();
-
-		try {
-
-			if (!isRunning()) {
-				CloseUtil.close(event);
-				return;
-			}
-
-			fireEvent(event);
-
-		} finally {
-
-			lock.unlock();
+		if (!isRunning()) {
+			CloseUtil.close(event);
+			return;
 		}
-	}
 
-	private void fireEvent(SelectorLoopEvent event) {
+		LinkedQueueM2O<SelectorLoopEvent> events = positiveEvents;
 
-		BufferedArrayListUnsafe<SelectorLoopEvent> events = positiveEvents;
-
-		if (events.getBufferSize() > eventQueueSize) {
+		if (events.size() > eventQueueSize) {
 			throw new RejectedExecutionException();
 		}
 
-		events.offer(event);
-
-		wakeup();
+		// 只有队列由空变为非空且selector正在阻塞时才需要唤醒
+		if (events.offer(event) && selecting.get()) {
+			getSelector().wakeup();
+		}
 	}
 
 	private void handleEvent(SelectorLoopEvent event) {
 
+		metrics.recordEvent();
+
 		try {
 
 			event.fireEvent(this);
@@ -449,7 +694,7 @@ public class SocketSelectorEventLoopImpl extends AbstractSelectorLoop
 
 	private void handleNegativeEvents() {
 
-		List<SelectorLoopEvent> eventBuffer = getEventBuffer(negativeEvents);
+		List<SelectorLoopEvent> eventBuffer = negativeEvents.getBuffer();
 
 		if (eventBuffer.size() == 0) {
 			return;
@@ -460,55 +705,33 @@ public class SocketSelectorEventLoopImpl extends AbstractSelectorLoop
 
 	private void handlePositiveEvents(boolean refresh) {
 
-		List<SelectorLoopEvent> eventBuffer = getEventBuffer(positiveEvents);
+		LinkedQueueM2O<SelectorLoopEvent> events = positiveEvents;
 
-		if (eventBuffer.size() == 0) {
+		// 只处理本轮开始前已入队的事件，未完成而重新入队的事件留到下一轮
+		int size = events.size();
+
+		if (size == 0) {
 
 			hasTask = false;
 
 			return;
 		}
 
-		handleEvents(eventBuffer);
+		for (int i = 0; i < size; i++) {
 
-		hasTask = positiveEvents.getBufferSize() > 0;
+			SelectorLoopEvent event = events.poll();
 
-		if (hasTask && refresh) {
-			runTask = 5;
-		}
-	}
+			if (event == null) {
+				break;
+			}
 
-	private List<SelectorLoopEvent> getEventBuffer(
-			BufferedArrayListUnsafe<SelectorLoopEvent> bufferedList) {
-		ReentrantLock lock = this.runLock;
-		lock.lock();
-		try {
-			return bufferedList.getBuffer();
-		} finally {
-			lock.unlock();
+			handleEvent(event);
 		}
-	}
-
-	protected void selectEmpty(SelectorEventLoop looper, long last_select) {
 
-		long past = System.currentTimeMillis() - last_select;
+		hasTask = events.size() > 0;
 
-		if (past < 1000) {
-
-			if (!looper.isRunning() || past < 0) {
-				return;
-			}
-
-			// JDK bug fired ?
-			IOException e = new IOException("JDK bug fired ?");
-			logger.error(e.getMessage(), e);
-			logger.debug("last={},past={}", last_select, past);
-
-			try {
-				looper.rebuildSelector();
-			} catch (IOException e1) {
-				logger.error(e1.getMessage(), e1);
-			}
+		if (hasTask && refresh) {
+			runTask = 5;
 		}
 	}
 
@@ -18,6 +18,8 @@ package com.generallycloud.nio.component;
 import javax.net.ssl.SSLEngine;
 
 import com.generallycloud.nio.component.concurrent.ExecutorEventLoop;
+import com.generallycloud.nio.component.concurrent.Timeout;
+import com.generallycloud.nio.component.concurrent.TimerTask;
 import com.generallycloud.nio.component.ssl.SslHandler;
 import com.generallycloud.nio.protocol.ChannelWriteFuture;
 import com.generallycloud.nio.protocol.ProtocolDecoder;
@@ -55,10 +57,49 @@ public interface SocketSession extends Session {
 
 	public abstract ExecutorEventLoop getExecutorEventLoop();
 	
+	/**
+	 * 编码后写出，等同于writeAndFlush(future)
+	 */
 	public abstract void flush(ReadFuture future) ;
 	
 	public abstract void flush(ChannelWriteFuture future);
 
+	/**
+	 * 编码后只放入写队列，不调度selector，连续写多个消息后调用flush()一次写出
+	 */
+	public abstract void write(ReadFuture future);
+
+	public abstract void write(ChannelWriteFuture future);
+
+	public abstract void writeAndFlush(ReadFuture future);
+
+	/**
+	 * 将write放入队列的消息一次写出
+	 */
+	public abstract void flush();
+
+	/**
+	 * 待写数据超过高水位后返回false，此时应暂停向该session写入
+	 */
+	public abstract boolean isWritable();
+
+	public abstract void setWriteWaterMark(int lowWaterMark, int highWaterMark);
+
+	/**
+	 * 暂停从该session读取数据，用于业务处理跟不上时反压对端
+	 */
+	public abstract void pauseRead();
+
+	public abstract void resumeRead();
+
+	public abstract boolean isReadPaused();
+
+	/**
+	 * 在该session所属selector线程的时间轮上延迟delay毫秒执行task，
+	 * task在selector线程中执行，不可执行阻塞操作
+	 */
+	public abstract Timeout schedule(TimerTask task, long delay);
+
 	public abstract void setProtocolDecoder(ProtocolDecoder protocolDecoder);
 
 	public abstract void setProtocolEncoder(ProtocolEncoder protocolEncoder);
@@ -20,7 +20,7 @@ import com.generallycloud.nio.common.Logger;
 import com.generallycloud.nio.common.LoggerFactory;
 import com.generallycloud.nio.protocol.ReadFuture;
 
-public class SocketSessionActiveSEListener implements SocketSessionIdleEventListener {
+public class SocketSessionActiveSEListener extends SocketSessionIdleEventListenerAdapter {
 
 	private Logger		logger	= LoggerFactory.getLogger(SocketSessionActiveSEListener.class);
 
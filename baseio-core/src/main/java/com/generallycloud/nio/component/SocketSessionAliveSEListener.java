@@ -19,7 +19,7 @@ import com.generallycloud.nio.common.CloseUtil;
 import com.generallycloud.nio.common.Logger;
 import com.generallycloud.nio.common.LoggerFactory;
 
-public class SocketSessionAliveSEListener implements SocketSessionIdleEventListener{
+public class SocketSessionAliveSEListener extends SocketSessionIdleEventListenerAdapter{
 	
 	private Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -23,4 +23,9 @@ public interface SocketSessionEventListener extends EventListener {
 
 	public abstract void sessionClosed(SocketSession session) ;
 
+	/**
+	 * session.isWritable()发生变化时在selector线程中回调
+	 */
+	public abstract void sessionWritabilityChanged(SocketSession session);
+
 }
@@ -34,4 +34,9 @@ public class SocketSessionEventListenerWrapper extends AbstractLinkable<SocketSe
 
 	}
 
+	@Override
+	public void sessionWritabilityChanged(SocketSession session) {
+		getValue().sessionWritabilityChanged(session);
+	}
+
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.component;
+
+import com.generallycloud.nio.Linkable;
+import com.generallycloud.nio.common.Logger;
+import com.generallycloud.nio.common.LoggerFactory;
+import com.generallycloud.nio.component.concurrent.Timeout;
+import com.generallycloud.nio.component.concurrent.TimerTask;
+import com.generallycloud.nio.configuration.ServerConfiguration;
+
+/**
+ * 在session所属selector线程的时间轮上检测空闲，读写时不重置定时器，
+ * 到期时再根据最后的读写时间决定触发事件还是推迟到新的到期时间
+ */
+public class SocketSessionIdleChecker {
+
+	private static final Logger	logger	= LoggerFactory.getLogger(SocketSessionIdleChecker.class);
+
+	private UnsafeSocketSession	session;
+
+	private SocketChannel		channel;
+
+	private SessionIdleTask		sessionIdleTask;
+
+	private IdleStateTask		readIdleTask;
+
+	private IdleStateTask		writeIdleTask;
+
+	private IdleStateTask		allIdleTask;
+
+	public SocketSessionIdleChecker(UnsafeSocketSession session) {
+		this.session = session;
+		this.channel = session.getSocketChannel();
+	}
+
+	public void start() {
+
+		SocketChannelContext context = channel.getContext();
+
+		ServerConfiguration configuration = context.getServerConfiguration();
+
+		if (context.getSessionIdleEventListenerLink() == null) {
+			return;
+		}
+
+		long sessionIdleTime = context.getSessionIdleTime();
+
+		if (sessionIdleTime > 0) {
+			sessionIdleTask = new SessionIdleTask(sessionIdleTime);
+		}
+
+		readIdleTask = newIdleStateTask(IdleState.READER_IDLE,
+				configuration.getSERVER_SESSION_READ_IDLE_TIME());
+
+		writeIdleTask = newIdleStateTask(IdleState.WRITER_IDLE,
+				configuration.getSERVER_SESSION_WRITE_IDLE_TIME());
+
+		allIdleTask = newIdleStateTask(IdleState.ALL_IDLE,
+				configuration.getSERVER_SESSION_ALL_IDLE_TIME());
+	}
+
+	private IdleStateTask newIdleStateTask(IdleState idleState, long idleTime) {
+
+		if (idleTime <= 0) {
+			return null;
+		}
+
+		return new IdleStateTask(idleState, idleTime);
+	}
+
+	/**
+	 * 只在selector线程中执行
+	 */
+	public void stop() {
+		cancel(sessionIdleTask);
+		cancel(readIdleTask);
+		cancel(writeIdleTask);
+		cancel(allIdleTask);
+	}
+
+	private void cancel(IdleTask task) {
+		if (task != null) {
+			task.cancel();
+		}
+	}
+
+	private long lastIdleTime(IdleState idleState) {
+
+		switch (idleState) {
+		case READER_IDLE:
+			return channel.getLastReadTime();
+		case WRITER_IDLE:
+			return channel.getLastWriteTime();
+		default:
+			return Math.max(channel.getLastReadTime(), channel.getLastWriteTime());
+		}
+	}
+
+	abstract class IdleTask implements TimerTask {
+
+		private volatile Timeout	timeout;
+
+		private volatile boolean	cancelled;
+
+		protected void schedule(long delay) {
+
+			if (cancelled || !session.isOpened()) {
+				return;
+			}
+
+			timeout = channel.getSelectorEventLoop().schedule(this, delay);
+		}
+
+		void cancel() {
+
+			cancelled = true;
+
+			Timeout timeout = this.timeout;
+
+			if (timeout != null) {
+				timeout.cancel();
+			}
+		}
+	}
+
+	class SessionIdleTask extends IdleTask {
+
+		private long	idleTime;
+
+		private long	lastIdleTime;
+
+		SessionIdleTask(long idleTime) {
+			this.idleTime = idleTime;
+			this.lastIdleTime = System.currentTimeMillis();
+			schedule(idleTime);
+		}
+
+		@Override
+		public void run(Timeout timeout) {
+
+			long currentTime = System.currentTimeMillis();
+
+			Linkable<SocketSessionIdleEventListener> linkable = channel.getContext()
+					.getSessionIdleEventListenerLink();
+
+			for (; linkable != null && session.isOpened();) {
+
+				try {
+
+					linkable.getValue().sessionIdled(session, lastIdleTime, currentTime);
+
+				} catch (Exception e) {
+					logger.error(e.getMessage(), e);
+				}
+				linkable = linkable.getNext();
+			}
+
+			lastIdleTime = currentTime;
+
+			schedule(idleTime);
+		}
+	}
+
+	class IdleStateTask extends IdleTask {
+
+		private IdleState	idleState;
+
+		private long		idleTime;
+
+		IdleStateTask(IdleState idleState, long idleTime) {
+			this.idleState = idleState;
+			this.idleTime = idleTime;
+			schedule(idleTime);
+		}
+
+		@Override
+		public void run(Timeout timeout) {
+
+			long currentTime = System.currentTimeMillis();
+
+			long next = lastIdleTime(idleState) + idleTime - currentTime;
+
+			// 期间有过读写，推迟到最后一次读写后的idleTime再检查
+			if (next > 0) {
+				schedule(next);
+				return;
+			}
+
+			Linkable<SocketSessionIdleEventListener> linkable = channel.getContext()
+					.getSessionIdleEventListenerLink();
+
+			for (; linkable != null && session.isOpened();) {
+
+				try {
+
+					linkable.getValue().sessionIdled(session, idleState);
+
+				} catch (Exception e) {
+					logger.error(e.getMessage(), e);
+				}
+				linkable = linkable.getNext();
+			}
+
+			schedule(idleTime);
+		}
+	}
+
+}
@@ -19,6 +19,14 @@ import java.util.EventListener;
 
 public interface SocketSessionIdleEventListener extends EventListener {
 
+	/**
+	 * 每隔SERVER_SESSION_IDLE_TIME在session所属的selector线程中回调一次
+	 */
 	public abstract void sessionIdled(SocketSession session, long lastIdleTime, long currentTime) throws Exception;
 
+	/**
+	 * 读、写或读写空闲超过配置的时间时在session所属的selector线程中回调
+	 */
+	public abstract void sessionIdled(SocketSession session, IdleState idleState) throws Exception;
+
 }
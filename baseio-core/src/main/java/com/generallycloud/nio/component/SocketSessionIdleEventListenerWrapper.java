@@ -31,4 +31,9 @@ public class SocketSessionIdleEventListenerWrapper
 		getValue().sessionIdled(session, lastIdleTime, currentTime);
 	}
 
+	@Override
+	public void sessionIdled(SocketSession session, IdleState idleState) throws Exception {
+		getValue().sessionIdled(session, idleState);
+	}
+
 }
@@ -19,7 +19,6 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Map;
 
-import com.generallycloud.nio.Linkable;
 import com.generallycloud.nio.OverflowException;
 import com.generallycloud.nio.common.CloseUtil;
 import com.generallycloud.nio.common.Logger;
@@ -34,7 +33,6 @@ public class SocketSessionManagerImpl extends AbstractSessionManager implements
 	private Logger							logger	= LoggerFactory.getLogger(SocketSessionManagerImpl.class);
 
 	public SocketSessionManagerImpl(SocketChannelContext context) {
-		super(context.getSessionIdleTime());
 		this.context = context;
 	}
 	
@@ -61,43 +59,6 @@ public class SocketSessionManagerImpl extends AbstractSessionManager implements
 		});
 	}
 
-	@Override
-	protected void sessionIdle(long lastIdleTime, long currentTime) {
-
-		Map<Integer, SocketSession> map = sessions.getSnapshot();
-
-		if (map.size() == 0) {
-			return;
-		}
-
-		Collection<SocketSession> es = map.values();
-
-		SocketChannelContext context = this.context;
-
-		for (SocketSession session : es) {
-
-			sessionIdle(context, session, lastIdleTime, currentTime);
-		}
-	}
-
-	protected void sessionIdle(SocketChannelContext context, SocketSession session, long lastIdleTime,
-			long currentTime) {
-
-		Linkable<SocketSessionIdleEventListener> linkable = context.getSessionIdleEventListenerLink();
-
-		for (; linkable != null;) {
-
-			try {
-
-				linkable.getValue().sessionIdled(session, lastIdleTime, currentTime);
-
-			} catch (Exception e) {
-				logger.error(e.getMessage(), e);
-			}
-			linkable = linkable.getNext();
-		}
-	}
-
 	@Override
 	public void close() throws IOException {
 
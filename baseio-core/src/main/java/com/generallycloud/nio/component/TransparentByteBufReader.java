@@ -16,10 +16,13 @@
 package com.generallycloud.nio.component;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.generallycloud.nio.buffer.ByteBuf;
 import com.generallycloud.nio.common.CloseUtil;
 import com.generallycloud.nio.common.ReleaseUtil;
+import com.generallycloud.nio.metrics.PipelineTrace;
 import com.generallycloud.nio.protocol.ChannelReadFuture;
 import com.generallycloud.nio.protocol.ProtocolDecoder;
 
@@ -31,57 +34,120 @@ public class TransparentByteBufReader extends LinkableChannelByteBufReader {
 		this.foreReadFutureAcceptor = context.getForeReadFutureAcceptor();
 	}
 
+	/**
+	 * 本次读取中解码出的future全部收集后再一起交给foreReadFutureAcceptor，
+	 * 只有一个时按单个处理，避免创建list
+	 */
 	@Override
 	public void accept(SocketChannel channel, ByteBuf buf) throws Exception {
 
 		UnsafeSocketSession session = channel.getSession();
 
-		for (;;) {
+		List<ChannelReadFuture> futures = null;
 
-			if (!buf.hasRemaining()) {
-				return;
-			}
-
-			ChannelReadFuture future = channel.getReadFuture();
+		ChannelReadFuture first = null;
 
-			if (future == null) {
+		try {
 
-				ProtocolDecoder decoder = channel.getProtocolDecoder();
+			for (;;) {
 
-				future = decoder.decode(session, buf);
+				ChannelReadFuture future = read(channel, session, buf);
 
 				if (future == null) {
-					CloseUtil.close(channel);
 					return;
 				}
 
-				channel.setReadFuture(future);
+				if (first == null) {
+					first = future;
+					continue;
+				}
+
+				if (futures == null) {
+					futures = new ArrayList<ChannelReadFuture>();
+					futures.add(first);
+				}
+
+				futures.add(future);
 			}
 
-			try {
+		} finally {
 
-				if (!future.read(session, buf)) {
+			if (futures != null) {
+				foreReadFutureAcceptor.accept(session, futures);
+			} else if (first != null) {
+				foreReadFutureAcceptor.accept(session, first);
+			}
+		}
+	}
 
-					return;
-				}
+	/**
+	 * @return 读完整的future，buf中的数据不足一个完整的future时返回null
+	 */
+	private ChannelReadFuture read(SocketChannel channel, UnsafeSocketSession session, ByteBuf buf)
+			throws IOException {
 
-				ReleaseUtil.release(future);
+		if (!buf.hasRemaining()) {
+			return null;
+		}
 
-			} catch (Throwable e) {
+		ChannelReadFuture future = channel.getReadFuture();
 
-				ReleaseUtil.release(future);
+		if (future == null) {
 
-				if (e instanceof IOException) {
-					throw (IOException) e;
-				}
+			ProtocolDecoder decoder = channel.getProtocolDecoder();
+
+			// 读阶段从本次读取前开始计时，解析报文头计入读阶段
+			PipelineTrace trace = channel.newPipelineTrace();
 
-				throw new IOException("exception occurred when read from channel,the nested exception is,"
-						+ e.getMessage(), e);
+			future = decoder.decode(session, buf);
+
+			if (future == null) {
+				CloseUtil.close(channel);
+				return null;
 			}
 
-			channel.setReadFuture(null);
+			future.setPipelineTrace(trace);
 
-			foreReadFutureAcceptor.accept(session, future);
+			channel.setReadFuture(future);
 		}
+
+		PipelineTrace trace = future.getPipelineTrace();
+
+		try {
+
+			if (trace != null) {
+				trace.decodeStart();
+			}
+
+			if (!future.read(session, buf)) {
+
+				return null;
+			}
+
+			long decodeTime = System.nanoTime();
+
+			future.setDecodeTime(decodeTime);
+
+			if (trace != null) {
+				trace.decoded(decodeTime);
+			}
+
+			ReleaseUtil.release(future);
+
+		} catch (Throwable e) {
+
+			ReleaseUtil.release(future);
+
+			if (e instanceof IOException) {
+				throw (IOException) e;
+			}
+
+			throw new IOException("exception occurred when read from channel,the nested exception is,"
+					+ e.getMessage(), e);
+		}
+
+		channel.setReadFuture(null);
+
+		return future;
 	}
 }
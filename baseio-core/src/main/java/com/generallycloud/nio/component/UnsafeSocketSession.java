@@ -23,6 +23,8 @@ public interface UnsafeSocketSession extends SocketSession{
 
 	public abstract void fireClosed();
 
+	public abstract void fireWritabilityChanged();
+
 	public abstract void physicalClose();
 	
 }
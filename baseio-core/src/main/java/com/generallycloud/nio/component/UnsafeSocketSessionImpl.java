@@ -30,6 +30,8 @@ public class UnsafeSocketSessionImpl extends SocketChannelSessionImpl implements
 
 	private static final Logger	logger	= LoggerFactory.getLogger(UnsafeSocketSessionImpl.class);
 
+	private SocketSessionIdleChecker	idleChecker;
+
 	public UnsafeSocketSessionImpl(SocketChannel channel,Integer sessionID) {
 		super(channel,sessionID);
 	}
@@ -86,6 +88,11 @@ public class UnsafeSocketSessionImpl extends SocketChannelSessionImpl implements
 			
 			linkable = linkable.getNext();
 		}
+
+		if (isOpened()) {
+			idleChecker = new SocketSessionIdleChecker(this);
+			idleChecker.start();
+		}
 	}
 
 	@Override
@@ -106,6 +113,24 @@ public class UnsafeSocketSessionImpl extends SocketChannelSessionImpl implements
 		}
 	}
 
+	@Override
+	public void fireWritabilityChanged() {
+
+		Linkable<SocketSessionEventListener> linkable = getContext().getSessionEventListenerLink();
+
+		for (; linkable != null;) {
+
+			try {
+
+				linkable.getValue().sessionWritabilityChanged(this);
+
+			} catch (Exception e) {
+				logger.error(e.getMessage(), e);
+			}
+			linkable = linkable.getNext();
+		}
+	}
+
 	@Override
 	public void physicalClose() {
 
@@ -125,6 +150,10 @@ public class UnsafeSocketSessionImpl extends SocketChannelSessionImpl implements
 			}
 		}
 
+		if (idleChecker != null) {
+			idleChecker.stop();
+		}
+
 		fireClosed();
 	}
 
@@ -16,149 +16,180 @@
 package com.generallycloud.nio.component.concurrent;
 
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
 
 import com.generallycloud.nio.common.MessageFormatter;
 
-public abstract class AbstractListQueue<T> implements ListQueue<T> {
+/**
+ * 无锁的有界数组队列，只允许一个消费者线程调用poll，
+ * 生产者与消费者的下标之间有填充，避免伪共享。
+ * poll(timeout)先自旋，仍然没有数据时park，生产者只在消费者park时才unpark
+ */
+public abstract class AbstractListQueue<T> extends ListQueueConsumerIndex implements ListQueue<T> {
 
-	protected int			_capability	;
-	private Object[]		_array		;
-	private AtomicInteger	_size		= new AtomicInteger(0);
-	private ReentrantLock	_lock		= new ReentrantLock();
-	private AtomicInteger	_real_size	= new AtomicInteger();
-	private Condition		_notEmpty		= _lock.newCondition();
-	private boolean		_locked		= false;
-	private int			_start		;
+	private static final int	SPIN_TIMES	= 64;
+
+	protected final int		_capability;
+	protected final int		_mask;
+	private final AtomicReferenceArray<T>	_array;
+	private volatile Thread	_waiter;
 
 	protected AbstractListQueue(int capability) {
-		this._capability = capability;
-		this._array = new Object[capability];
+		this._capability = roundToPowerOfTwo(capability);
+		this._mask = _capability - 1;
+		this._array = new AtomicReferenceArray<T>(_capability);
 	}
 
 	protected AbstractListQueue() {
 		this(1024 * 8);
 	}
 
-	@Override
-	public boolean offer(T object) {
-		if (!tryIncrementSize()) {
-			return false;
+	private static int roundToPowerOfTwo(int value) {
+		if (value < 2) {
+			return 2;
 		}
+		return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+	}
 
-		int _c = getAndIncrementEnd();
-
-		_array[_c] = object;
-
-		_real_size.incrementAndGet();
+	/**
+	 * 占用一个生产者下标，队列已满时返回-1
+	 */
+	protected abstract long claimProducerIndex();
 
-		if (_locked) {
+	@Override
+	public boolean offer(T object) {
 
-			final ReentrantLock _lock = this._lock;
+		long index = claimProducerIndex();
 
-			_lock.lock();
+		if (index == -1) {
+			return false;
+		}
 
-			_notEmpty.signal();
+		// volatile写之后再读_waiter，与消费者先写_waiter再读元素配合，不会丢失唤醒
+		_array.set((int) index & _mask, object);
 
-			_locked = false;
+		Thread waiter = _waiter;
 
-			_lock.unlock();
+		if (waiter != null) {
+			LockSupport.unpark(waiter);
 		}
 
 		return true;
 	}
 
-	private boolean tryIncrementSize() {
+	@Override
+	public T poll() {
+
+		long index = consumerIndex;
 
-		for (;;) {
-			int __size = _size.get();
-			
-			int _next = __size + 1;
+		int offset = (int) index & _mask;
 
-			if (_next > _capability) {
-				return false;
-			}
+		AtomicReferenceArray<T> array = this._array;
 
-			if (_size.compareAndSet(__size, _next))
-				return true;
-		}
-	}
-	
-	@Override
-	@SuppressWarnings("unchecked")
-	public T poll() {
+		T object = array.get(offset);
 
-		if (_real_size.get() == 0) {
-			return null;
-		}
+		if (object == null) {
 
-		int index = getAndincrementStart();
+			if (index == producerIndex) {
+				return null;
+			}
 
-		Object obj = _array[index];
+			// 生产者已占用下标但还没有写入元素，很快会写入
+			do {
+				object = array.get(offset);
+			} while (object == null);
+		}
 
-		_size.decrementAndGet();
+		array.lazySet(offset, null);
 
-		_real_size.decrementAndGet();
+		CONSUMER_INDEX.lazySet(this, index + 1);
 
-		return (T) obj;
+		return object;
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public T poll(long timeout) {
 
-		if (_real_size.get() == 0) {
-
-			final ReentrantLock _lock = this._lock;
+		T object = poll();
 
-			_lock.lock();
+		if (object != null) {
+			return object;
+		}
 
-			try {
-				_locked = true;
+		for (int i = 0; i < SPIN_TIMES; i++) {
 
-				_notEmpty.await(timeout, TimeUnit.MILLISECONDS);
-			} catch (InterruptedException e1) {
+			object = poll();
 
-				_notEmpty.signal();
+			if (object != null) {
+				return object;
 			}
-			
-			_locked = false;
+		}
 
-			_lock.unlock();
+		_waiter = Thread.currentThread();
 
-			return poll();
-		}
+		try {
 
-		int index = getAndincrementStart();
+			object = poll();
 
-		Object obj = _array[index];
+			if (object != null) {
+				return object;
+			}
 
-		_size.decrementAndGet();
+			LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(timeout));
 
-		_real_size.decrementAndGet();
+		} finally {
+			_waiter = null;
+		}
 
-		return (T) obj;
+		return poll();
 	}
 
 	@Override
 	public int size() {
-		return _size.get();
-	}
-	
-	protected int getAndincrementStart() {
-		if (_start == _capability) {
-			_start = 0;
+
+		// 先读消费者下标，保证结果不会小于0
+		long consumer = consumerIndex;
+
+		long size = producerIndex - consumer;
+
+		if (size > _capability) {
+			return _capability;
 		}
-		return _start++;
+
+		return (int) size;
 	}
-	
-	protected abstract int getAndIncrementEnd();
-	
+
 	@Override
 	public String toString() {
-		return MessageFormatter.format("capability {} , size {}", _capability,_real_size.get());
+		return MessageFormatter.format("capability {} , size {}", _capability, size());
 	}
 
 }
+
+abstract class ListQueuePad0 {
+	long	p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class ListQueueProducerIndex extends ListQueuePad0 {
+
+	static final AtomicLongFieldUpdater<ListQueueProducerIndex>	PRODUCER_INDEX	= AtomicLongFieldUpdater
+			.newUpdater(ListQueueProducerIndex.class, "producerIndex");
+
+	volatile long	producerIndex;
+}
+
+abstract class ListQueuePad1 extends ListQueueProducerIndex {
+	long	p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class ListQueueConsumerIndex extends ListQueuePad1 {
+
+	static final AtomicLongFieldUpdater<ListQueueConsumerIndex>	CONSUMER_INDEX	= AtomicLongFieldUpdater
+			.newUpdater(ListQueueConsumerIndex.class, "consumerIndex");
+
+	volatile long	consumerIndex;
+
+	long			p20, p21, p22, p23, p24, p25, p26, p27;
+}
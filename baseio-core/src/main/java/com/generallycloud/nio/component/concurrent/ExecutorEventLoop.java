@@ -24,6 +24,11 @@ import java.util.concurrent.RejectedExecutionException;
 public interface ExecutorEventLoop extends EventLoop{
 
 	public void dispatch(Runnable job) throws RejectedExecutionException;
+
+	/**
+	 * 等待执行的任务数
+	 */
+	public abstract int size();
 	
 	@Override
 	public abstract ExecutorEventLoopGroup getEventLoopGroup();
@@ -98,6 +98,11 @@ public class ExecutorPoolEventLoop implements ExecutorEventLoop {
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public int size() {
+		return poolExecutor.getQueue().size();
+	}
+
 	@Override
 	public ExecutorEventLoopGroup getEventLoopGroup() {
 		return eventLoopGroup;
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.component.concurrent;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.generallycloud.nio.common.Logger;
+import com.generallycloud.nio.common.LoggerFactory;
+
+/**
+ * 任务在共享的ForkJoinPool中执行，工作线程可以互相窃取任务
+ */
+public class ForkJoinEventLoop implements SharedExecutorEventLoop {
+
+	private int					parallelism;
+	private int					maxSessionQueueSize;
+	private boolean				running	= false;
+	private ForkJoinPool			pool;
+	private ExecutorEventLoopGroup	eventLoopGroup;
+
+	// 统计排队中的任务数，pool.getQueuedTaskCount()需要扫描所有工作线程的队列，不适合每次读都调用
+	private LongAdder				submitted	= new LongAdder();
+	private LongAdder				started	= new LongAdder();
+
+	private static final Logger		logger	= LoggerFactory.getLogger(ForkJoinEventLoop.class);
+
+	public ForkJoinEventLoop(ExecutorEventLoopGroup eventLoopGroup, int parallelism,
+			int maxSessionQueueSize) {
+		this.eventLoopGroup = eventLoopGroup;
+		this.parallelism = parallelism;
+		this.maxSessionQueueSize = maxSessionQueueSize;
+	}
+
+	@Override
+	public void dispatch(Runnable job) throws RejectedExecutionException {
+
+		submitted.increment();
+
+		try {
+			pool.execute(new CountedTask(job));
+		} catch (RejectedExecutionException e) {
+			submitted.decrement();
+			throw e;
+		}
+	}
+
+	@Override
+	public SerialEventLoop newSerialEventLoop() {
+		return new SerialEventLoop(this, maxSessionQueueSize);
+	}
+
+	@Override
+	public void startup(final String threadName) throws Exception {
+
+		final AtomicInteger threadNumber = new AtomicInteger(0);
+
+		ForkJoinWorkerThreadFactory factory = new ForkJoinWorkerThreadFactory() {
+
+			@Override
+			public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+
+				ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory
+						.newThread(pool);
+
+				t.setName(threadName + "-" + threadNumber.getAndIncrement());
+
+				return t;
+			}
+		};
+
+		Thread.UncaughtExceptionHandler handler = new Thread.UncaughtExceptionHandler() {
+
+			@Override
+			public void uncaughtException(Thread t, Throwable e) {
+				logger.error(e.getMessage(), e);
+			}
+		};
+
+		// asyncMode为true时本地队列先进先出，适合不会join的事件任务
+		pool = new ForkJoinPool(parallelism, factory, handler, true);
+
+		running = true;
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		if (pool != null) {
+			pool.shutdown();
+		}
+	}
+
+	@Override
+	public boolean inEventLoop() {
+		return inEventLoop(Thread.currentThread());
+	}
+
+	@Override
+	public boolean inEventLoop(Thread thread) {
+		return thread instanceof ForkJoinWorkerThread
+				&& ((ForkJoinWorkerThread) thread).getPool() == pool;
+	}
+
+	@Override
+	public Thread getMonitor() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public void loop() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void wakeup() {
+	}
+
+	@Override
+	public int size() {
+		// 两次读取之间可能有任务开始执行，结果只是近似值
+		return (int) Math.max(0, submitted.sum() - started.sum());
+	}
+
+	@Override
+	public ExecutorEventLoopGroup getEventLoopGroup() {
+		return eventLoopGroup;
+	}
+
+	/**
+	 * 代替pool.execute(Runnable)内部的包装，开始执行时计数，异常与原来一样交给UncaughtExceptionHandler
+	 */
+	@SuppressWarnings("serial")
+	class CountedTask extends ForkJoinTask<Void> {
+
+		private Runnable	job;
+
+		CountedTask(Runnable job) {
+			this.job = job;
+		}
+
+		@Override
+		public Void getRawResult() {
+			return null;
+		}
+
+		@Override
+		protected void setRawResult(Void value) {
+		}
+
+		@Override
+		protected boolean exec() {
+
+			started.increment();
+
+			try {
+				job.run();
+			} catch (Throwable e) {
+				Thread t = Thread.currentThread();
+				t.getUncaughtExceptionHandler().uncaughtException(t, e);
+			}
+
+			return true;
+		}
+	}
+
+}
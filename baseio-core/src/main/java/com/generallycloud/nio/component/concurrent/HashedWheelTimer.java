@@ -0,0 +1,223 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.component.concurrent;
+
+import com.generallycloud.nio.common.Logger;
+import com.generallycloud.nio.common.LoggerFactory;
+
+/**
+ * 单线程的哈希时间轮，由selector线程持有并在每次循环时推进，
+ * 添加与到期均为O(1)，除cancel外所有方法只能在所属线程中调用
+ */
+public class HashedWheelTimer {
+
+	private static final Logger	logger	= LoggerFactory.getLogger(HashedWheelTimer.class);
+
+	private Timeout[]			wheel;
+
+	private int				mask;
+
+	private long				tickDuration;
+
+	private long				startTime;
+
+	// 已经处理过的tick数
+	private long				tick;
+
+	private long				nextTickTime;
+
+	private int				pendingTimeouts;
+
+	public HashedWheelTimer(long tickDuration, int ticksPerWheel) {
+
+		if (tickDuration < 1) {
+			throw new IllegalArgumentException("tickDuration: " + tickDuration);
+		}
+
+		int size = 1;
+
+		while (size < ticksPerWheel) {
+			size <<= 1;
+		}
+
+		this.wheel = new Timeout[size];
+		this.mask = size - 1;
+		this.tickDuration = tickDuration;
+		this.startTime = System.currentTimeMillis();
+		this.nextTickTime = startTime + tickDuration;
+	}
+
+	public Timeout newTimeout(TimerTask task, long delay) {
+
+		Timeout timeout = new Timeout(task, System.currentTimeMillis() + delay);
+
+		addTimeout(timeout);
+
+		return timeout;
+	}
+
+	public void addTimeout(Timeout timeout) {
+
+		if (timeout.isCancelled()) {
+			return;
+		}
+
+		long calculated = (timeout.getDeadline() - startTime) / tickDuration;
+
+		long ticks = Math.max(calculated, tick);
+
+		timeout.setRemainingRounds((ticks - tick) / wheel.length);
+
+		int index = (int) (ticks & mask);
+
+		Timeout head = wheel[index];
+
+		timeout.prev = null;
+		timeout.next = head;
+
+		if (head != null) {
+			head.prev = timeout;
+		}
+
+		wheel[index] = timeout;
+
+		pendingTimeouts++;
+	}
+
+	/**
+	 * 推进时间轮到currentTime，执行所有到期的任务
+	 */
+	public void expireTimeouts(long currentTime) {
+
+		if (currentTime < nextTickTime) {
+			return;
+		}
+
+		Timeout expired = null;
+
+		for (; nextTickTime <= currentTime;) {
+
+			expired = expireBucket((int) (tick & mask), expired);
+
+			tick++;
+
+			nextTickTime += tickDuration;
+		}
+
+		// 在推进完成后再执行，任务中重新添加的timeout不会落入正在处理的槽位
+		for (; expired != null;) {
+
+			Timeout timeout = expired;
+
+			expired = timeout.next;
+
+			timeout.next = null;
+
+			if (timeout.isCancelled()) {
+				continue;
+			}
+
+			timeout.expire();
+
+			try {
+				timeout.getTask().run(timeout);
+			} catch (Throwable e) {
+				logger.error(e.getMessage(), e);
+			}
+		}
+	}
+
+	private Timeout expireBucket(int index, Timeout expired) {
+
+		Timeout timeout = wheel[index];
+
+		for (; timeout != null;) {
+
+			Timeout next = timeout.next;
+
+			if (timeout.isCancelled() || timeout.getRemainingRounds() <= 0) {
+
+				remove(index, timeout);
+
+				if (!timeout.isCancelled()) {
+					timeout.next = expired;
+					expired = timeout;
+				}
+			} else {
+
+				timeout.setRemainingRounds(timeout.getRemainingRounds() - 1);
+			}
+
+			timeout = next;
+		}
+
+		return expired;
+	}
+
+	private void remove(int index, Timeout timeout) {
+
+		Timeout prev = timeout.prev;
+
+		Timeout next = timeout.next;
+
+		if (prev == null) {
+			wheel[index] = next;
+		} else {
+			prev.next = next;
+		}
+
+		if (next != null) {
+			next.prev = prev;
+		}
+
+		timeout.prev = null;
+		timeout.next = null;
+
+		pendingTimeouts--;
+	}
+
+	/**
+	 * 包含已取消但尚未移除的任务
+	 */
+	public int pendingTimeouts() {
+		return pendingTimeouts;
+	}
+
+	public void clear() {
+
+		for (int i = 0; i < wheel.length; i++) {
+
+			Timeout timeout = wheel[i];
+
+			for (; timeout != null;) {
+
+				Timeout next = timeout.next;
+
+				timeout.cancel();
+
+				timeout.prev = null;
+				timeout.next = null;
+
+				timeout = next;
+			}
+
+			wheel[i] = null;
+		}
+
+		pendingTimeouts = 0;
+	}
+
+}
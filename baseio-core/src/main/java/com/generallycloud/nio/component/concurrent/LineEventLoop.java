@@ -78,6 +78,11 @@ public class LineEventLoop implements ExecutorEventLoop {
 		unwrap().wakeup();
 	}
 
+	@Override
+	public int size() {
+		return 0;
+	}
+
 	@Override
 	public ExecutorEventLoopGroup getEventLoopGroup() {
 		return eventLoopGroup;
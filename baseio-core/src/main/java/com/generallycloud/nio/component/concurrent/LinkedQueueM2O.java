@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.component.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * 无锁的多生产者单消费者链表队列，offer可在任意线程调用，poll只能在消费者线程调用
+ */
+public class LinkedQueueM2O<T> {
+
+	private AtomicReference<Node<T>>	tail;
+
+	private Node<T>				head;
+
+	private AtomicInteger			size	= new AtomicInteger();
+
+	public LinkedQueueM2O() {
+		Node<T> stub = new Node<T>(null);
+		this.head = stub;
+		this.tail = new AtomicReference<Node<T>>(stub);
+	}
+
+	/**
+	 * @return 入队前队列是否为空，可用于只在空到非空时唤醒消费者
+	 */
+	public boolean offer(T object) {
+
+		Node<T> node = new Node<T>(object);
+
+		// 先增加size，保证消费者看到的size不会小于0
+		int old = size.getAndIncrement();
+
+		Node<T> prev = tail.getAndSet(node);
+
+		Node.NEXT.lazySet(prev, node);
+
+		return old == 0;
+	}
+
+	/**
+	 * 只能在消费者线程中调用，生产者尚未完成链接时可能返回null
+	 */
+	public T poll() {
+
+		Node<T> next = head.next;
+
+		if (next == null) {
+			return null;
+		}
+
+		T value = next.value;
+
+		next.value = null;
+
+		head = next;
+
+		size.decrementAndGet();
+
+		return value;
+	}
+
+	public int size() {
+		return size.get();
+	}
+
+	public boolean isEmpty() {
+		return size.get() == 0;
+	}
+
+	static class Node<T> {
+
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<Node, Node>	NEXT	= AtomicReferenceFieldUpdater
+				.newUpdater(Node.class, Node.class, "next");
+
+		T					value;
+
+		volatile Node<T>		next;
+
+		Node(T value) {
+			this.value = value;
+		}
+	}
+
+}
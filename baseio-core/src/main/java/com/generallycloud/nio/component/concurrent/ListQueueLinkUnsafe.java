@@ -38,6 +38,21 @@ public class ListQueueLinkUnsafe<T extends Linkable<T>> implements ListQueue<T>
 		return true;
 	}
 
+	/**
+	 * 将元素放回队首，用于未能处理完的元素重新排队
+	 */
+	public void offerFirst(T object) {
+
+		if (size == 0) {
+			object.setNext(null);
+			head = tail = object;
+		} else {
+			object.setNext(head);
+			head = object;
+		}
+		size++;
+	}
+
 	@Override
 	public T poll() {
 
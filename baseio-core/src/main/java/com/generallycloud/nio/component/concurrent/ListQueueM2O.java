@@ -15,23 +15,36 @@
  */ 
 package com.generallycloud.nio.component.concurrent;
 
+/**
+ * 多生产者单消费者，生产者通过CAS占用下标
+ */
 public class ListQueueM2O<T> extends AbstractListQueue<T> implements ListQueue<T> {
 
-	private FixedAtomicInteger	_end;
-
-	protected ListQueueM2O(int capability) {
+	public ListQueueM2O(int capability) {
 		super(capability);
-		_end = new FixedAtomicInteger(capability - 1);
 	}
 
-	protected ListQueueM2O() {
+	public ListQueueM2O() {
 		super();
-		_end = new FixedAtomicInteger(_capability - 1);
 	}
 
 	@Override
-	public final int getAndIncrementEnd() {
-		return _end.getAndIncrement();
+	protected final long claimProducerIndex() {
+
+		long capability = _capability;
+
+		for (;;) {
+
+			long index = producerIndex;
+
+			if (index - consumerIndex >= capability) {
+				return -1;
+			}
+
+			if (PRODUCER_INDEX.compareAndSet(this, index, index + 1)) {
+				return index;
+			}
+		}
 	}
 
 }
@@ -15,25 +15,31 @@
  */ 
 package com.generallycloud.nio.component.concurrent;
 
+/**
+ * 单生产者单消费者，生产者不需要CAS
+ */
 public class ListQueueO2O<T> extends AbstractListQueue<T> implements ListQueue<T>{
 
-	private int			_end			;
-
-	protected ListQueueO2O(int _capability) {
-		super(_capability);
+	public ListQueueO2O(int capability) {
+		super(capability);
 	}
 	
-	protected ListQueueO2O(){
+	public ListQueueO2O(){
 		super();
 	}
 	
 	@Override
-	protected int getAndIncrementEnd() {
-		if (_end == _capability) {
-			_end = 0;
+	protected final long claimProducerIndex() {
+
+		long index = producerIndex;
+
+		if (index - consumerIndex >= _capability) {
+			return -1;
 		}
-		return _end++;
+
+		PRODUCER_INDEX.lazySet(this, index + 1);
+
+		return index;
 	}
 	
-	
 }
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.component.concurrent;
+
+/**
+ * 可回收到{@link Recycler}中的对象
+ */
+public interface Recyclable {
+
+	/**
+	 * 重置状态并归还到对象池，不是从对象池中取出的对象调用时不做任何事情，
+	 * 调用后不能再使用该对象
+	 */
+	public abstract void recycle();
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.component.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 线程本地的对象池，用于热点路径上频繁创建的对象（ReadFuture，WriteFuture等）。
+ * 对象可以在任意线程回收，在其它线程回收的对象会交还给创建它的线程，
+ * 创建线程的池中没有对象时再取回，池满后直接丢弃交给GC。
+ * 虚拟线程中不使用对象池，虚拟线程通常每个任务一个，线程本地的池只会创建不会复用。
+ * <ul>
+ * <li>-Dbaseio.recycler.maxCapacity=256 每个线程每种对象最多缓存的个数</li>
+ * <li>-Dbaseio.recycler.disable=true 关闭对象池，便于排查问题</li>
+ * </ul>
+ */
+public abstract class Recycler<T> {
+
+	public static final boolean	DISABLED				= Boolean
+			.getBoolean("baseio.recycler.disable");
+
+	public static final int		DEFAULT_MAX_CAPACITY	= Integer
+			.getInteger("baseio.recycler.maxCapacity", 256);
+
+	private static final Handle<Object>	NOOP_HANDLE			= new Handle<Object>() {
+		@Override
+		public void recycle(Object value) {
+		}
+	};
+
+	// Thread.isVirtual()，JDK21之前为null
+	private static final MethodHandle	IS_VIRTUAL			= isVirtualHandle();
+
+	private final int				maxCapacity;
+
+	private final ThreadLocal<Stack<T>>	stacks;
+
+	public Recycler() {
+		this(DEFAULT_MAX_CAPACITY);
+	}
+
+	public Recycler(final int maxCapacity) {
+		this.maxCapacity = DISABLED ? 0 : Math.max(0, maxCapacity);
+		this.stacks = new ThreadLocal<Stack<T>>() {
+			@Override
+			protected Stack<T> initialValue() {
+				return new Stack<T>(Recycler.this.maxCapacity);
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	public final T get() {
+
+		if (maxCapacity == 0 || isVirtual(Thread.currentThread())) {
+			return newObject((Handle<T>) NOOP_HANDLE);
+		}
+
+		Stack<T> stack = stacks.get();
+
+		DefaultHandle<T> handle = stack.pop();
+
+		if (handle == null) {
+			handle = new DefaultHandle<T>(stack);
+			handle.value = newObject(handle);
+		}
+
+		handle.recycled = false;
+
+		return handle.value;
+	}
+
+	public int getMaxCapacity() {
+		return maxCapacity;
+	}
+
+	/**
+	 * 当前线程池中缓存的对象个数
+	 */
+	public int size() {
+		if (maxCapacity == 0 || isVirtual(Thread.currentThread())) {
+			return 0;
+		}
+		return stacks.get().size;
+	}
+
+	private static MethodHandle isVirtualHandle() {
+		try {
+			return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual",
+					MethodType.methodType(boolean.class));
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	static boolean isVirtual(Thread thread) {
+
+		MethodHandle isVirtual = IS_VIRTUAL;
+
+		if (isVirtual == null) {
+			return false;
+		}
+
+		try {
+			return (boolean) isVirtual.invokeExact(thread);
+		} catch (Throwable e) {
+			return false;
+		}
+	}
+
+	/**
+	 * 创建新对象，对象需要持有handle并在用完后调用handle.recycle(this)
+	 */
+	protected abstract T newObject(Handle<T> handle);
+
+	public interface Handle<T> {
+
+		/**
+		 * 归还对象，调用前对象需要已经reset，归还后不能再使用
+		 */
+		public abstract void recycle(T value);
+	}
+
+	private static class DefaultHandle<T> implements Handle<T> {
+
+		// 创建该对象的线程的池
+		private Stack<T>	stack;
+
+		private T			value;
+
+		private boolean	recycled;
+
+		DefaultHandle(Stack<T> stack) {
+			this.stack = stack;
+		}
+
+		@Override
+		public void recycle(T value) {
+
+			if (value != this.value) {
+				throw new IllegalArgumentException("value does not belong to this handle");
+			}
+
+			// 重复回收直接忽略，避免同一个对象被两次取出
+			if (recycled) {
+				return;
+			}
+
+			recycled = true;
+
+			stack.push(this);
+		}
+	}
+
+	private static class Stack<T> {
+
+		private DefaultHandle<T>[]	elements;
+
+		private int				size;
+
+		private int				maxCapacity;
+
+		private Thread				thread;
+
+		// 其它线程回收的对象，由thread在池空时取回
+		private ConcurrentLinkedQueue<DefaultHandle<T>>	foreignHandles	= new ConcurrentLinkedQueue<DefaultHandle<T>>();
+
+		private AtomicInteger		foreignSize	= new AtomicInteger();
+
+		@SuppressWarnings("unchecked")
+		Stack(int maxCapacity) {
+			this.maxCapacity = maxCapacity;
+			this.thread = Thread.currentThread();
+			this.elements = (DefaultHandle<T>[]) new DefaultHandle<?>[Math.min(16, maxCapacity)];
+		}
+
+		DefaultHandle<T> pop() {
+
+			if (size == 0 && !scavenge()) {
+				return null;
+			}
+
+			DefaultHandle<T> handle = elements[--size];
+
+			elements[size] = null;
+
+			return handle;
+		}
+
+		void push(DefaultHandle<T> handle) {
+
+			if (Thread.currentThread() != thread) {
+				pushForeign(handle);
+				return;
+			}
+
+			pushLocal(handle);
+		}
+
+		private void pushForeign(DefaultHandle<T> handle) {
+
+			if (foreignSize.incrementAndGet() > maxCapacity) {
+				foreignSize.decrementAndGet();
+				return;
+			}
+
+			foreignHandles.offer(handle);
+		}
+
+		private boolean scavenge() {
+
+			for (; size < maxCapacity;) {
+
+				DefaultHandle<T> handle = foreignHandles.poll();
+
+				if (handle == null) {
+					break;
+				}
+
+				foreignSize.decrementAndGet();
+
+				pushLocal(handle);
+			}
+
+			return size > 0;
+		}
+
+		private void pushLocal(DefaultHandle<T> handle) {
+
+			if (size == maxCapacity) {
+				return;
+			}
+
+			if (size == elements.length) {
+				elements = Arrays.copyOf(elements, Math.min(size << 1, maxCapacity));
+			}
+
+			elements[size++] = handle;
+		}
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.component.concurrent;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.generallycloud.nio.common.Logger;
+import com.generallycloud.nio.common.LoggerFactory;
+
+/**
+ * 单个session的串行任务队列，同一时刻至多一个线程在执行队列中的任务，
+ * 每轮最多执行MAX_RUN_PER_LOOP个任务后让出线程，避免一个繁忙的session占住工作线程
+ */
+public class SerialEventLoop implements ExecutorEventLoop, Runnable {
+
+	private static final int				MAX_RUN_PER_LOOP	= 64;
+
+	private ExecutorEventLoop			executor;
+	private int						maxQueueSize;
+	private volatile Thread				monitor;
+	private AtomicInteger				size				= new AtomicInteger();
+	private AtomicBoolean				scheduled			= new AtomicBoolean();
+	private ConcurrentLinkedQueue<Runnable>	jobs				= new ConcurrentLinkedQueue<Runnable>();
+
+	private static final Logger			logger			= LoggerFactory.getLogger(SerialEventLoop.class);
+
+	public SerialEventLoop(ExecutorEventLoop executor, int maxQueueSize) {
+		this.executor = executor;
+		this.maxQueueSize = maxQueueSize;
+	}
+
+	@Override
+	public void dispatch(Runnable job) throws RejectedExecutionException {
+
+		if (job == null) {
+			return;
+		}
+
+		if (size.incrementAndGet() > maxQueueSize) {
+			size.decrementAndGet();
+			throw new RejectedExecutionException();
+		}
+
+		jobs.offer(job);
+
+		try {
+			schedule();
+		} catch (RejectedExecutionException e) {
+
+			// 任务仍在队列中则撤回后抛出，由调用方重试；已被正在退出的一轮取走执行则视为成功
+			if (jobs.remove(job)) {
+				size.decrementAndGet();
+				throw e;
+			}
+		}
+	}
+
+	private void schedule() {
+
+		if (!scheduled.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			executor.dispatch(this);
+		} catch (RejectedExecutionException e) {
+			scheduled.set(false);
+			throw e;
+		}
+	}
+
+	@Override
+	public void run() {
+
+		monitor = Thread.currentThread();
+
+		try {
+
+			for (int i = 0; i < MAX_RUN_PER_LOOP; i++) {
+
+				Runnable job = jobs.poll();
+
+				if (job == null) {
+					break;
+				}
+
+				size.decrementAndGet();
+
+				try {
+					job.run();
+				} catch (Throwable e) {
+					logger.error(e.getMessage(), e);
+				}
+			}
+
+		} finally {
+
+			monitor = null;
+
+			scheduled.set(false);
+		}
+
+		// 先清除scheduled再检查队列，与dispatch中先入队再设置scheduled配合，避免任务滞留
+		if (!jobs.isEmpty()) {
+			try {
+				schedule();
+			} catch (RejectedExecutionException e) {
+				// 剩余的任务留在队列中，下次dispatch时按原顺序继续执行
+				logger.error("serial event loop rejected, pending jobs:" + size.get());
+			}
+		}
+	}
+
+	@Override
+	public boolean inEventLoop() {
+		return inEventLoop(Thread.currentThread());
+	}
+
+	@Override
+	public boolean inEventLoop(Thread thread) {
+		return monitor == thread;
+	}
+
+	@Override
+	public Thread getMonitor() {
+		return monitor;
+	}
+
+	@Override
+	public boolean isRunning() {
+		return executor.isRunning();
+	}
+
+	@Override
+	public void startup(String threadName) throws Exception {
+	}
+
+	@Override
+	public void loop() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void stop() {
+	}
+
+	@Override
+	public void wakeup() {
+	}
+
+	@Override
+	public ExecutorEventLoopGroup getEventLoopGroup() {
+		return executor.getEventLoopGroup();
+	}
+
+	@Override
+	public int size() {
+		return size.get();
+	}
+
+}
@@ -16,10 +16,10 @@
 package com.generallycloud.nio.component.concurrent;
 
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.LockSupport;
 
 import com.generallycloud.nio.common.Logger;
 import com.generallycloud.nio.common.LoggerFactory;
-import com.generallycloud.nio.common.ThreadUtil;
 
 public class ThreadEventLoop extends AbstractEventLoop implements ExecutorEventLoop {
 
@@ -27,59 +27,110 @@ public class ThreadEventLoop extends AbstractEventLoop implements ExecutorEventL
 
 	private ExecutorEventLoopGroup	executorEventLoopGroup;
 
+	// 投递任务时会unpark，这里只是兜底的超时时间
+	private static final long		POLL_TIMEOUT	= 1000;
+
 	public ThreadEventLoop(ExecutorEventLoopGroup eventLoopGroup, int queueSize) {
-		this.jobs = new ListQueueABQ<Runnable>(queueSize);
+		this.executorEventLoopGroup = eventLoopGroup;
+		this.jobs = new ListQueueM2O<Runnable>(queueSize);
 	}
 
 	private ListQueue<Runnable>	jobs;
 
+	private volatile boolean		terminated;
+
+	@Override
 	public void dispatch(Runnable job) throws RejectedExecutionException{
 
 		if (!isRunning() || !jobs.offer(job)) {
 			throw new RejectedExecutionException();
 		}
+
+		// loop线程已经退出，由投递线程执行剩余的任务
+		if (terminated) {
+			drain();
+		}
 	}
 
 	@Override
 	protected void doLoop() {
 
-		try {
+		Runnable runnable = jobs.poll(POLL_TIMEOUT);
+
+		if (runnable == null) {
+			return;
+		}
+
+		run(runnable);
+	}
+
+	@Override
+	public void loop() {
+
+		super.loop();
+
+		// 先标记再执行剩余任务，与dispatch中先入队再检查terminated配合，
+		// 保证stop之前投递的任务都会被执行
+		terminated = true;
+
+		drain();
+	}
+
+	/**
+	 * loop线程退出后可能有多个线程同时执行，加锁保证只有一个消费者
+	 */
+	private void drain() {
+
+		synchronized (jobs) {
+
+			for (;;) {
 
-			Runnable runnable = jobs.poll(32);
+				Runnable runnable = jobs.poll();
 
-			if (runnable == null) {
-				return;
+				if (runnable == null) {
+					break;
+				}
+
+				run(runnable);
 			}
+		}
+	}
 
+	private void run(Runnable runnable) {
+		try {
 			runnable.run();
-
 		} catch (Throwable e) {
 			logger.error(e.getMessage(), e);
 		}
 	}
 
 	@Override
-	protected void beforeStop() {
-
-		//FIXME __与dispatch互斥
-		ThreadUtil.sleep(8);
-		
-		for(;;){
-			
-			Runnable runnable = jobs.poll();
-			
-			if (runnable == null) {
-				break;
-			}
-			
-			try {
-				runnable.run();
-			} catch (Exception e) {
-				logger.error(e.getMessage(),e);
-			}
+	public void wakeup() {
+		LockSupport.unpark(getMonitor());
+	}
+
+	@Override
+	protected void doStop() {
+
+		Thread monitor = getMonitor();
+
+		// 等待loop线程执行完剩余的任务
+		if (monitor == null || inEventLoop()) {
+			return;
 		}
-		
-		super.beforeStop();
+
+		LockSupport.unpark(monitor);
+
+		try {
+			monitor.join();
+		} catch (InterruptedException e) {
+			logger.debug(e);
+		}
+	}
+
+	@Override
+	public int size() {
+		return jobs.size();
 	}
 
 	@Override
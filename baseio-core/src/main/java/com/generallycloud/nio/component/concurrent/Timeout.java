@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.component.concurrent;
+
+/**
+ * 时间轮中的一个定时任务句柄，cancel可在任意线程调用，
+ * 被取消的任务在轮到其所在的槽位时才会被移除
+ */
+public class Timeout {
+
+	private TimerTask			task;
+
+	private long				deadline;
+
+	private long				remainingRounds;
+
+	private volatile boolean	cancelled;
+
+	private boolean			expired;
+
+	// 以下字段只在时间轮所属线程中访问
+	Timeout					prev;
+
+	Timeout					next;
+
+	public Timeout(TimerTask task, long deadline) {
+		this.task = task;
+		this.deadline = deadline;
+	}
+
+	public TimerTask getTask() {
+		return task;
+	}
+
+	public long getDeadline() {
+		return deadline;
+	}
+
+	public boolean cancel() {
+
+		if (expired || cancelled) {
+			return false;
+		}
+
+		cancelled = true;
+
+		return true;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	public boolean isExpired() {
+		return expired;
+	}
+
+	long getRemainingRounds() {
+		return remainingRounds;
+	}
+
+	void setRemainingRounds(long remainingRounds) {
+		this.remainingRounds = remainingRounds;
+	}
+
+	void expire() {
+		this.expired = true;
+	}
+
+}
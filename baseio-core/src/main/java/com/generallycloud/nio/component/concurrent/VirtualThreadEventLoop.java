@@ -0,0 +1,187 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.component.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.generallycloud.nio.common.Logger;
+import com.generallycloud.nio.common.LoggerFactory;
+
+/**
+ * 运行时支持虚拟线程（JDK21+）时每个任务启动一个虚拟线程，阻塞只占用虚拟线程，
+ * 同时执行的任务数由信号量限制；不支持时退化为maxConcurrency个平台线程的线程池
+ */
+public class VirtualThreadEventLoop implements SharedExecutorEventLoop {
+
+	private int					maxConcurrency;
+	private int					maxSessionQueueSize;
+	private boolean				running	= false;
+	private Semaphore				permits;
+	private ThreadFactory			threadFactory;
+	private ThreadPoolExecutor		poolExecutor;
+	private ExecutorEventLoopGroup	eventLoopGroup;
+	private ThreadLocal<Boolean>		inEventLoop	= new ThreadLocal<Boolean>();
+
+	private static final Logger		logger	= LoggerFactory.getLogger(VirtualThreadEventLoop.class);
+
+	public VirtualThreadEventLoop(ExecutorEventLoopGroup eventLoopGroup, int maxConcurrency,
+			int maxSessionQueueSize) {
+		this.eventLoopGroup = eventLoopGroup;
+		this.maxConcurrency = maxConcurrency;
+		this.maxSessionQueueSize = maxSessionQueueSize;
+	}
+
+	@Override
+	public void dispatch(final Runnable job) throws RejectedExecutionException {
+
+		if (!running) {
+			throw new RejectedExecutionException("stopped");
+		}
+
+		Runnable task = new Runnable() {
+
+			@Override
+			public void run() {
+				permits.acquireUninterruptibly();
+				inEventLoop.set(Boolean.TRUE);
+				try {
+					job.run();
+				} finally {
+					inEventLoop.remove();
+					permits.release();
+				}
+			}
+		};
+
+		if (poolExecutor != null) {
+			poolExecutor.execute(task);
+			return;
+		}
+
+		threadFactory.newThread(task).start();
+	}
+
+	@Override
+	public SerialEventLoop newSerialEventLoop() {
+		return new SerialEventLoop(this, maxSessionQueueSize);
+	}
+
+	@Override
+	public void startup(String threadName) throws Exception {
+
+		permits = new Semaphore(maxConcurrency);
+
+		threadFactory = newVirtualThreadFactory(threadName);
+
+		if (threadFactory == null) {
+
+			logger.info("virtual thread not supported, use {} platform threads", maxConcurrency);
+
+			poolExecutor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60,
+					TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+					new NamedThreadFactory(threadName));
+
+			poolExecutor.allowCoreThreadTimeOut(true);
+		}
+
+		running = true;
+	}
+
+	/**
+	 * 通过反射调用Thread.ofVirtual().name(prefix, 0).factory()，运行时不支持时返回null
+	 */
+	private ThreadFactory newVirtualThreadFactory(String threadName) {
+
+		try {
+
+			Method ofVirtual = Thread.class.getMethod("ofVirtual");
+
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+
+			Method name = builderClass.getMethod("name", String.class, long.class);
+
+			Method factory = builderClass.getMethod("factory");
+
+			Object builder = ofVirtual.invoke(null);
+
+			builder = name.invoke(builder, threadName + "-", 0L);
+
+			return (ThreadFactory) factory.invoke(builder);
+
+		} catch (Throwable e) {
+			// JDK19、20中虚拟线程为预览特性，未开启时调用会抛出异常
+			logger.debug(e.getMessage(), e);
+			return null;
+		}
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		if (poolExecutor != null) {
+			poolExecutor.shutdown();
+		}
+	}
+
+	@Override
+	public boolean inEventLoop() {
+		return inEventLoop.get() != null;
+	}
+
+	@Override
+	public boolean inEventLoop(Thread thread) {
+		return false;
+	}
+
+	@Override
+	public Thread getMonitor() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public void loop() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void wakeup() {
+	}
+
+	@Override
+	public int size() {
+		if (poolExecutor != null) {
+			return poolExecutor.getQueue().size();
+		}
+		return permits.getQueueLength();
+	}
+
+	@Override
+	public ExecutorEventLoopGroup getEventLoopGroup() {
+		return eventLoopGroup;
+	}
+
+}
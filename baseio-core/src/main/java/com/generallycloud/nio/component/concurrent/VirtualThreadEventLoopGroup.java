@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.component.concurrent;
+
+import com.generallycloud.nio.AbstractLifeCycle;
+import com.generallycloud.nio.common.LifeCycleUtil;
+
+/**
+ * 每个任务在一个虚拟线程中执行，适合执行阻塞操作（JDBC、远程调用等）的业务，
+ * 每个session的任务串行执行，同时执行的任务数不超过maxConcurrency
+ */
+public class VirtualThreadEventLoopGroup extends AbstractLifeCycle implements ExecutorEventLoopGroup {
+
+	private String				eventLoopName;
+
+	private int				eventQueueSize;
+
+	private int				maxConcurrency;
+
+	private VirtualThreadEventLoop	eventLoop;
+
+	public VirtualThreadEventLoopGroup(String eventLoopName, int eventQueueSize, int maxConcurrency) {
+		this.eventLoopName = eventLoopName;
+		this.eventQueueSize = eventQueueSize;
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	@Override
+	public ExecutorEventLoop getNext() {
+		return eventLoop;
+	}
+
+	@Override
+	protected void doStart() throws Exception {
+
+		eventLoop = new VirtualThreadEventLoop(this, maxConcurrency, eventQueueSize);
+
+		eventLoop.startup(eventLoopName);
+	}
+
+	@Override
+	protected void doStop() throws Exception {
+		LifeCycleUtil.stop(eventLoop);
+	}
+
+}
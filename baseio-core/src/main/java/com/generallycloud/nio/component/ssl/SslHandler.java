@@ -16,6 +16,7 @@
 package com.generallycloud.nio.component.ssl;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLEngineResult;
@@ -23,6 +24,7 @@ import javax.net.ssl.SSLEngineResult.HandshakeStatus;
 import javax.net.ssl.SSLEngineResult.Status;
 
 import com.generallycloud.nio.buffer.ByteBuf;
+import com.generallycloud.nio.buffer.CompositeByteBuf;
 import com.generallycloud.nio.buffer.EmptyByteBuf;
 import com.generallycloud.nio.common.ReleaseUtil;
 import com.generallycloud.nio.component.Session;
@@ -56,7 +58,7 @@ public class SslHandler {
 
 			for (;;) {
 
-				SSLEngineResult result = engine.wrap(src.nioBuffer(), dst.nioBuffer());
+				SSLEngineResult result = wrap(engine, src, dst);
 
 				Status status = result.getStatus();
 				
@@ -96,6 +98,22 @@ public class SslHandler {
 		}
 	}
 
+	private SSLEngineResult wrap(SSLEngine engine, ByteBuf src, ByteBuf dst) throws IOException {
+
+		if (src instanceof CompositeByteBuf) {
+
+			CompositeByteBuf composite = (CompositeByteBuf) src;
+
+			ByteBuffer[] srcs = new ByteBuffer[composite.componentCount()];
+
+			int count = composite.nioBuffers(srcs, 0);
+
+			return engine.wrap(srcs, 0, count, dst.nioBuffer());
+		}
+
+		return engine.wrap(src.nioBuffer(), dst.nioBuffer());
+	}
+
 	//FIXME 部分buf不需要gc
 	private ByteBuf gc(Session session,ByteBuf buf) throws IOException {
 
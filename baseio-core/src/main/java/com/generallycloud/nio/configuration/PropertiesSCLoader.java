@@ -49,6 +49,11 @@ public class PropertiesSCLoader implements ServerConfigurationLoader {
 
 			String temp = name.replace("setSERVER_", "SERVER.");
 
+			// 没有配置的项保留ServerConfiguration中的默认值
+			if (bundle.getProperty(temp) == null) {
+				continue;
+			}
+
 			if (type == String.class) {
 				method.invoke(cfg, bundle.getProperty(temp));
 			} else if (type == int.class) {
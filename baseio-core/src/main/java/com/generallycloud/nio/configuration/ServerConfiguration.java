@@ -33,10 +33,36 @@ public class ServerConfiguration {
 	private boolean	SERVER_ENABLE_MEMORY_POOL_DIRECT;
 	private boolean	SERVER_ENABLE_SSL;
 	private boolean	SERVER_ENABLE_WORK_EVENT_LOOP;
+	private String		SERVER_WORK_EVENT_LOOP_TYPE		= "thread";
+	private int		SERVER_WORK_EVENT_LOOP_MAX_CONCURRENCY	= 1024;
 	private boolean	SERVER_ENABLE_MEMORY_POOL		= true;
 	private int		SERVER_MEMORY_POOL_CAPACITY;
 	private int		SERVER_CHANNEL_READ_BUFFER		= 1024 * 512;
+	private int		SERVER_CHANNEL_READ_BUFFER_MIN	= 1024 * 2;
+	private int		SERVER_CHANNEL_MAX_READ_PER_LOOP	= 16;
 	private double	SERVER_MEMORY_POOL_CAPACITY_RATE	= 1d;
+	private String		SERVER_MEMORY_POOL_TYPE			= "simple";
+	private long		SERVER_MEMORY_POOL_MAX_MEMORY;
+	private long		SERVER_MEMORY_POOL_IDLE_TIME		= 60 * 1000;
+	private String		SERVER_MEMORY_POOL_EXHAUSTED_POLICY	= "pause";
+	private double	SERVER_BUFFER_LEAK_DETECT_RATE;
+	private int		SERVER_CHANNEL_GATHER_SIZE		= 32;
+	private int		SERVER_CHANNEL_GATHER_LENGTH		= 1024 * 256;
+	private int		SERVER_CHANNEL_COALESCE_THRESHOLD;
+	private int		SERVER_CHANNEL_HIGH_WATER_MARK	= 1024 * 1024;
+	private int		SERVER_CHANNEL_LOW_WATER_MARK		= 1024 * 512;
+	private int		SERVER_SESSION_READ_PAUSE_THRESHOLD;
+	private int		SERVER_IO_EVENT_QUEUE_PAUSE_THRESHOLD;
+	private int		SERVER_SELECTOR_REBUILD_THRESHOLD	= 512;
+	private int		SERVER_ACCEPT_BACKLOG			= 1024;
+	private boolean	SERVER_ENABLE_REUSE_PORT;
+	private boolean	SERVER_ENABLE_JMX				= true;
+	private int		SERVER_PIPELINE_TRACE_SAMPLE_RATE;
+	private long		SERVER_SESSION_READ_IDLE_TIME;
+	private long		SERVER_SESSION_WRITE_IDLE_TIME;
+	private long		SERVER_SESSION_ALL_IDLE_TIME;
+	private int		SERVER_TIMER_TICK_DURATION		= 50;
+	private int		SERVER_TIMER_WHEEL_SIZE			= 512;
 
 	public ServerConfiguration() {
 	}
@@ -142,6 +168,9 @@ public class ServerConfiguration {
 		this.SERVER_MEMORY_POOL_CAPACITY = SERVER_MEMORY_POOL_CAPACITY;
 	}
 
+	/**
+	 * 每个selector线程的direct读缓冲区大小，也是单次读取的上限
+	 */
 	public int getSERVER_CHANNEL_READ_BUFFER() {
 		return SERVER_CHANNEL_READ_BUFFER;
 	}
@@ -153,6 +182,270 @@ public class ServerConfiguration {
 		this.SERVER_CHANNEL_READ_BUFFER = SERVER_CHANNEL_READ_BUFFER;
 	}
 
+	/**
+	 * 单次读取预测大小的下限，连接上的预测值在该值与SERVER_CHANNEL_READ_BUFFER之间变化
+	 */
+	public int getSERVER_CHANNEL_READ_BUFFER_MIN() {
+		return SERVER_CHANNEL_READ_BUFFER_MIN;
+	}
+
+	public void setSERVER_CHANNEL_READ_BUFFER_MIN(int SERVER_CHANNEL_READ_BUFFER_MIN) {
+		if (SERVER_CHANNEL_READ_BUFFER_MIN == 0) {
+			return;
+		}
+		this.SERVER_CHANNEL_READ_BUFFER_MIN = SERVER_CHANNEL_READ_BUFFER_MIN;
+	}
+
+	/**
+	 * 每轮select中单个连接最多连续读取的次数，超过后让出给其他连接
+	 */
+	public int getSERVER_CHANNEL_MAX_READ_PER_LOOP() {
+		return SERVER_CHANNEL_MAX_READ_PER_LOOP;
+	}
+
+	public void setSERVER_CHANNEL_MAX_READ_PER_LOOP(int SERVER_CHANNEL_MAX_READ_PER_LOOP) {
+		if (SERVER_CHANNEL_MAX_READ_PER_LOOP == 0) {
+			return;
+		}
+		this.SERVER_CHANNEL_MAX_READ_PER_LOOP = SERVER_CHANNEL_MAX_READ_PER_LOOP;
+	}
+
+	/**
+	 * 单次gathering write最多合并的ChannelWriteFuture数量，设置为1时每次只写一个
+	 */
+	public int getSERVER_CHANNEL_GATHER_SIZE() {
+		return SERVER_CHANNEL_GATHER_SIZE;
+	}
+
+	public void setSERVER_CHANNEL_GATHER_SIZE(int SERVER_CHANNEL_GATHER_SIZE) {
+		if (SERVER_CHANNEL_GATHER_SIZE == 0) {
+			return;
+		}
+		this.SERVER_CHANNEL_GATHER_SIZE = SERVER_CHANNEL_GATHER_SIZE;
+	}
+
+	/**
+	 * 单次gathering write最多合并的字节数
+	 */
+	public int getSERVER_CHANNEL_GATHER_LENGTH() {
+		return SERVER_CHANNEL_GATHER_LENGTH;
+	}
+
+	public void setSERVER_CHANNEL_GATHER_LENGTH(int SERVER_CHANNEL_GATHER_LENGTH) {
+		if (SERVER_CHANNEL_GATHER_LENGTH == 0) {
+			return;
+		}
+		this.SERVER_CHANNEL_GATHER_LENGTH = SERVER_CHANNEL_GATHER_LENGTH;
+	}
+
+	/**
+	 * 小于等于该长度的连续待写数据在写之前拷贝到同一个buf中，
+	 * 拷贝后原buf立即释放，0表示不合并
+	 */
+	public int getSERVER_CHANNEL_COALESCE_THRESHOLD() {
+		return SERVER_CHANNEL_COALESCE_THRESHOLD;
+	}
+
+	public void setSERVER_CHANNEL_COALESCE_THRESHOLD(int SERVER_CHANNEL_COALESCE_THRESHOLD) {
+		if (SERVER_CHANNEL_COALESCE_THRESHOLD == 0) {
+			return;
+		}
+		this.SERVER_CHANNEL_COALESCE_THRESHOLD = SERVER_CHANNEL_COALESCE_THRESHOLD;
+	}
+
+	/**
+	 * 单个连接待写数据的高水位，超过后session.isWritable()返回false
+	 */
+	public int getSERVER_CHANNEL_HIGH_WATER_MARK() {
+		return SERVER_CHANNEL_HIGH_WATER_MARK;
+	}
+
+	public void setSERVER_CHANNEL_HIGH_WATER_MARK(int SERVER_CHANNEL_HIGH_WATER_MARK) {
+		if (SERVER_CHANNEL_HIGH_WATER_MARK == 0) {
+			return;
+		}
+		this.SERVER_CHANNEL_HIGH_WATER_MARK = SERVER_CHANNEL_HIGH_WATER_MARK;
+	}
+
+	/**
+	 * 单个连接待写数据的低水位，回落到该值以下后session.isWritable()恢复为true
+	 */
+	public int getSERVER_CHANNEL_LOW_WATER_MARK() {
+		return SERVER_CHANNEL_LOW_WATER_MARK;
+	}
+
+	public void setSERVER_CHANNEL_LOW_WATER_MARK(int SERVER_CHANNEL_LOW_WATER_MARK) {
+		if (SERVER_CHANNEL_LOW_WATER_MARK == 0) {
+			return;
+		}
+		this.SERVER_CHANNEL_LOW_WATER_MARK = SERVER_CHANNEL_LOW_WATER_MARK;
+	}
+
+	/**
+	 * 单个连接交给业务线程但尚未处理完的消息数超过该值时暂停读，
+	 * 回落到一半以下后恢复读，0表示不限制
+	 */
+	public int getSERVER_SESSION_READ_PAUSE_THRESHOLD() {
+		return SERVER_SESSION_READ_PAUSE_THRESHOLD;
+	}
+
+	public void setSERVER_SESSION_READ_PAUSE_THRESHOLD(int SERVER_SESSION_READ_PAUSE_THRESHOLD) {
+		if (SERVER_SESSION_READ_PAUSE_THRESHOLD == 0) {
+			return;
+		}
+		this.SERVER_SESSION_READ_PAUSE_THRESHOLD = SERVER_SESSION_READ_PAUSE_THRESHOLD;
+	}
+
+	/**
+	 * 业务线程队列中等待的任务数超过该值时，向其投递任务的连接暂停读，
+	 * 直到该连接的消息处理完，0表示不限制
+	 */
+	public int getSERVER_IO_EVENT_QUEUE_PAUSE_THRESHOLD() {
+		return SERVER_IO_EVENT_QUEUE_PAUSE_THRESHOLD;
+	}
+
+	public void setSERVER_IO_EVENT_QUEUE_PAUSE_THRESHOLD(int SERVER_IO_EVENT_QUEUE_PAUSE_THRESHOLD) {
+		if (SERVER_IO_EVENT_QUEUE_PAUSE_THRESHOLD == 0) {
+			return;
+		}
+		this.SERVER_IO_EVENT_QUEUE_PAUSE_THRESHOLD = SERVER_IO_EVENT_QUEUE_PAUSE_THRESHOLD;
+	}
+
+	/**
+	 * select(timeout)连续无故提前返回的次数超过该值时认为发生epoll空轮询，重建selector
+	 */
+	public int getSERVER_SELECTOR_REBUILD_THRESHOLD() {
+		return SERVER_SELECTOR_REBUILD_THRESHOLD;
+	}
+
+	public void setSERVER_SELECTOR_REBUILD_THRESHOLD(int SERVER_SELECTOR_REBUILD_THRESHOLD) {
+		if (SERVER_SELECTOR_REBUILD_THRESHOLD == 0) {
+			return;
+		}
+		this.SERVER_SELECTOR_REBUILD_THRESHOLD = SERVER_SELECTOR_REBUILD_THRESHOLD;
+	}
+
+	/**
+	 * 监听端口的accept队列长度
+	 */
+	public int getSERVER_ACCEPT_BACKLOG() {
+		return SERVER_ACCEPT_BACKLOG;
+	}
+
+	public void setSERVER_ACCEPT_BACKLOG(int SERVER_ACCEPT_BACKLOG) {
+		if (SERVER_ACCEPT_BACKLOG == 0) {
+			return;
+		}
+		this.SERVER_ACCEPT_BACKLOG = SERVER_ACCEPT_BACKLOG;
+	}
+
+	/**
+	 * 开启后每个selector线程使用SO_REUSEPORT绑定各自的ServerSocketChannel，
+	 * 由内核分发连接，JDK不支持SO_REUSEPORT时退回到单个ServerSocketChannel
+	 */
+	public boolean isSERVER_ENABLE_REUSE_PORT() {
+		return SERVER_ENABLE_REUSE_PORT;
+	}
+
+	public void setSERVER_ENABLE_REUSE_PORT(boolean SERVER_ENABLE_REUSE_PORT) {
+		this.SERVER_ENABLE_REUSE_PORT = SERVER_ENABLE_REUSE_PORT;
+	}
+
+	/**
+	 * 将selector、业务线程与内存池的运行指标注册为MBean，关闭后指标仍然统计
+	 */
+	public boolean isSERVER_ENABLE_JMX() {
+		return SERVER_ENABLE_JMX;
+	}
+
+	public void setSERVER_ENABLE_JMX(boolean SERVER_ENABLE_JMX) {
+		this.SERVER_ENABLE_JMX = SERVER_ENABLE_JMX;
+	}
+
+	/**
+	 * 每个连接每N个消息采样一个，记录其经过各处理阶段的时间并发出JFR事件，0表示不采样
+	 */
+	public int getSERVER_PIPELINE_TRACE_SAMPLE_RATE() {
+		return SERVER_PIPELINE_TRACE_SAMPLE_RATE;
+	}
+
+	public void setSERVER_PIPELINE_TRACE_SAMPLE_RATE(int SERVER_PIPELINE_TRACE_SAMPLE_RATE) {
+		if (SERVER_PIPELINE_TRACE_SAMPLE_RATE == 0) {
+			return;
+		}
+		this.SERVER_PIPELINE_TRACE_SAMPLE_RATE = SERVER_PIPELINE_TRACE_SAMPLE_RATE;
+	}
+
+	/**
+	 * 超过该时间未读到数据时触发READER_IDLE，为0时不检测
+	 */
+	public long getSERVER_SESSION_READ_IDLE_TIME() {
+		return SERVER_SESSION_READ_IDLE_TIME;
+	}
+
+	public void setSERVER_SESSION_READ_IDLE_TIME(long SERVER_SESSION_READ_IDLE_TIME) {
+		if (SERVER_SESSION_READ_IDLE_TIME == 0) {
+			return;
+		}
+		this.SERVER_SESSION_READ_IDLE_TIME = SERVER_SESSION_READ_IDLE_TIME;
+	}
+
+	/**
+	 * 超过该时间未写出数据时触发WRITER_IDLE，为0时不检测
+	 */
+	public long getSERVER_SESSION_WRITE_IDLE_TIME() {
+		return SERVER_SESSION_WRITE_IDLE_TIME;
+	}
+
+	public void setSERVER_SESSION_WRITE_IDLE_TIME(long SERVER_SESSION_WRITE_IDLE_TIME) {
+		if (SERVER_SESSION_WRITE_IDLE_TIME == 0) {
+			return;
+		}
+		this.SERVER_SESSION_WRITE_IDLE_TIME = SERVER_SESSION_WRITE_IDLE_TIME;
+	}
+
+	/**
+	 * 超过该时间既未读也未写时触发ALL_IDLE，为0时不检测
+	 */
+	public long getSERVER_SESSION_ALL_IDLE_TIME() {
+		return SERVER_SESSION_ALL_IDLE_TIME;
+	}
+
+	public void setSERVER_SESSION_ALL_IDLE_TIME(long SERVER_SESSION_ALL_IDLE_TIME) {
+		if (SERVER_SESSION_ALL_IDLE_TIME == 0) {
+			return;
+		}
+		this.SERVER_SESSION_ALL_IDLE_TIME = SERVER_SESSION_ALL_IDLE_TIME;
+	}
+
+	/**
+	 * selector线程时间轮每一格的时长(毫秒)，即定时任务的精度
+	 */
+	public int getSERVER_TIMER_TICK_DURATION() {
+		return SERVER_TIMER_TICK_DURATION;
+	}
+
+	public void setSERVER_TIMER_TICK_DURATION(int SERVER_TIMER_TICK_DURATION) {
+		if (SERVER_TIMER_TICK_DURATION == 0) {
+			return;
+		}
+		this.SERVER_TIMER_TICK_DURATION = SERVER_TIMER_TICK_DURATION;
+	}
+
+	/**
+	 * selector线程时间轮的格数，会向上取整为2的幂
+	 */
+	public int getSERVER_TIMER_WHEEL_SIZE() {
+		return SERVER_TIMER_WHEEL_SIZE;
+	}
+
+	public void setSERVER_TIMER_WHEEL_SIZE(int SERVER_TIMER_WHEEL_SIZE) {
+		if (SERVER_TIMER_WHEEL_SIZE == 0) {
+			return;
+		}
+		this.SERVER_TIMER_WHEEL_SIZE = SERVER_TIMER_WHEEL_SIZE;
+	}
+
 	public double getSERVER_MEMORY_POOL_CAPACITY_RATE() {
 		return SERVER_MEMORY_POOL_CAPACITY_RATE;
 	}
@@ -164,6 +457,78 @@ public class ServerConfiguration {
 		this.SERVER_MEMORY_POOL_CAPACITY_RATE = SERVER_MEMORY_POOL_CAPACITY_RATE;
 	}
 
+	/**
+	 * 内存池的分配算法，buddy为按2的幂次分级的伙伴算法，simple为线性查找的首次适配
+	 */
+	public String getSERVER_MEMORY_POOL_TYPE() {
+		return SERVER_MEMORY_POOL_TYPE;
+	}
+
+	public void setSERVER_MEMORY_POOL_TYPE(String SERVER_MEMORY_POOL_TYPE) {
+		if (SERVER_MEMORY_POOL_TYPE == null) {
+			return;
+		}
+		this.SERVER_MEMORY_POOL_TYPE = SERVER_MEMORY_POOL_TYPE;
+	}
+
+	/**
+	 * 单个context内存池的预算(byte)，超过SERVER_MEMORY_POOL_CAPACITY * SERVER_CORE_SIZE的部分按整块扩容，
+	 * 为0时不扩容
+	 */
+	public long getSERVER_MEMORY_POOL_MAX_MEMORY() {
+		return SERVER_MEMORY_POOL_MAX_MEMORY;
+	}
+
+	public void setSERVER_MEMORY_POOL_MAX_MEMORY(long SERVER_MEMORY_POOL_MAX_MEMORY) {
+		if (SERVER_MEMORY_POOL_MAX_MEMORY == 0) {
+			return;
+		}
+		this.SERVER_MEMORY_POOL_MAX_MEMORY = SERVER_MEMORY_POOL_MAX_MEMORY;
+	}
+
+	/**
+	 * 扩容出来的内存块全部空闲超过该时间(ms)后释放
+	 */
+	public long getSERVER_MEMORY_POOL_IDLE_TIME() {
+		return SERVER_MEMORY_POOL_IDLE_TIME;
+	}
+
+	public void setSERVER_MEMORY_POOL_IDLE_TIME(long SERVER_MEMORY_POOL_IDLE_TIME) {
+		if (SERVER_MEMORY_POOL_IDLE_TIME == 0) {
+			return;
+		}
+		this.SERVER_MEMORY_POOL_IDLE_TIME = SERVER_MEMORY_POOL_IDLE_TIME;
+	}
+
+	/**
+	 * 内存池超出预算时的策略，pause为暂停读取直到内存回落（正在解码的报文退回java堆内存），
+	 * heap为退回java堆内存，reject为抛出BufferException
+	 */
+	public String getSERVER_MEMORY_POOL_EXHAUSTED_POLICY() {
+		return SERVER_MEMORY_POOL_EXHAUSTED_POLICY;
+	}
+
+	public void setSERVER_MEMORY_POOL_EXHAUSTED_POLICY(String SERVER_MEMORY_POOL_EXHAUSTED_POLICY) {
+		if (SERVER_MEMORY_POOL_EXHAUSTED_POLICY == null) {
+			return;
+		}
+		this.SERVER_MEMORY_POOL_EXHAUSTED_POLICY = SERVER_MEMORY_POOL_EXHAUSTED_POLICY;
+	}
+
+	/**
+	 * 记录申请位置用于泄漏检测的ByteBuf比例(0~1)，为0时不检测
+	 */
+	public double getSERVER_BUFFER_LEAK_DETECT_RATE() {
+		return SERVER_BUFFER_LEAK_DETECT_RATE;
+	}
+
+	public void setSERVER_BUFFER_LEAK_DETECT_RATE(double SERVER_BUFFER_LEAK_DETECT_RATE) {
+		if (SERVER_BUFFER_LEAK_DETECT_RATE == 0) {
+			return;
+		}
+		this.SERVER_BUFFER_LEAK_DETECT_RATE = SERVER_BUFFER_LEAK_DETECT_RATE;
+	}
+
 	public boolean isSERVER_ENABLE_MEMORY_POOL_DIRECT() {
 		return SERVER_ENABLE_MEMORY_POOL_DIRECT;
 	}
@@ -199,6 +564,36 @@ public class ServerConfiguration {
 		this.SERVER_ENABLE_WORK_EVENT_LOOP = SERVER_ENABLE_WORK_EVENT_LOOP;
 	}
 
+	/**
+	 * 开启工作线程时的线程模型，thread：每个selector绑定一个工作线程，
+	 * forkjoin：共享一个ForkJoinPool，每个session的任务串行执行，
+	 * virtual：每个任务一个虚拟线程，每个session的任务串行执行，适合阻塞的业务
+	 */
+	public String getSERVER_WORK_EVENT_LOOP_TYPE() {
+		return SERVER_WORK_EVENT_LOOP_TYPE;
+	}
+
+	public void setSERVER_WORK_EVENT_LOOP_TYPE(String SERVER_WORK_EVENT_LOOP_TYPE) {
+		if (SERVER_WORK_EVENT_LOOP_TYPE == null) {
+			return;
+		}
+		this.SERVER_WORK_EVENT_LOOP_TYPE = SERVER_WORK_EVENT_LOOP_TYPE;
+	}
+
+	/**
+	 * virtual线程模型下同时执行的最大任务数，运行时不支持虚拟线程时为平台线程数
+	 */
+	public int getSERVER_WORK_EVENT_LOOP_MAX_CONCURRENCY() {
+		return SERVER_WORK_EVENT_LOOP_MAX_CONCURRENCY;
+	}
+
+	public void setSERVER_WORK_EVENT_LOOP_MAX_CONCURRENCY(int SERVER_WORK_EVENT_LOOP_MAX_CONCURRENCY) {
+		if (SERVER_WORK_EVENT_LOOP_MAX_CONCURRENCY == 0) {
+			return;
+		}
+		this.SERVER_WORK_EVENT_LOOP_MAX_CONCURRENCY = SERVER_WORK_EVENT_LOOP_MAX_CONCURRENCY;
+	}
+
 	public boolean isSERVER_ENABLE_MEMORY_POOL() {
 		return SERVER_ENABLE_MEMORY_POOL;
 	}
@@ -20,6 +20,7 @@ import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
 
 import com.generallycloud.nio.acceptor.NioChannelService;
+import com.generallycloud.nio.common.SelectorUtil;
 import com.generallycloud.nio.component.SocketChannelContext;
 import com.generallycloud.nio.component.SocketSelector;
 import com.generallycloud.nio.component.SocketSelectorBuilder;
@@ -48,7 +49,7 @@ public class ClientNioSocketSelectorBuilder implements SocketSelectorBuilder {
 		SocketChannel channel = (SocketChannel) nioChannelService.getSelectableChannel();
 
 		// 打开selector
-		java.nio.channels.Selector selector = java.nio.channels.Selector.open();
+		java.nio.channels.Selector selector = SelectorUtil.open();
 
 		channel.register(selector, SelectionKey.OP_CONNECT);
 
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.metrics;
+
+import com.generallycloud.nio.buffer.AbstractPooledByteBufAllocator;
+
+/**
+ * 读取时才计算，不影响申请与释放
+ */
+public class ByteBufAllocatorMetrics implements ByteBufAllocatorMetricsMBean {
+
+	private AbstractPooledByteBufAllocator allocator;
+
+	public ByteBufAllocatorMetrics(AbstractPooledByteBufAllocator allocator) {
+		this.allocator = allocator;
+	}
+
+	@Override
+	public int getCapacity() {
+		return allocator.getCapacity();
+	}
+
+	@Override
+	public int getUnitMemorySize() {
+		return allocator.getUnitMemorySize();
+	}
+
+	@Override
+	public int getUsedUnits() {
+		return allocator.getCapacity() - allocator.getFreeUnits();
+	}
+
+	@Override
+	public int getFreeUnits() {
+		return allocator.getFreeUnits();
+	}
+
+	@Override
+	public int getMaxFreeUnits() {
+		return allocator.getMaxFreeUnits();
+	}
+
+	@Override
+	public double getFragmentation() {
+		return allocator.getFragmentation();
+	}
+
+	@Override
+	public boolean isDirect() {
+		return allocator.isDirect();
+	}
+
+}
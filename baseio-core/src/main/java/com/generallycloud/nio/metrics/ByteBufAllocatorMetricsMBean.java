@@ -0,0 +1,40 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.metrics;
+
+public interface ByteBufAllocatorMetricsMBean {
+
+	public abstract int getCapacity();
+
+	public abstract int getUnitMemorySize();
+
+	public abstract int getUsedUnits();
+
+	public abstract int getFreeUnits();
+
+	/**
+	 * 最大的连续空闲unit数
+	 */
+	public abstract int getMaxFreeUnits();
+
+	/**
+	 * 0到1之间，越大说明空闲内存越零碎
+	 */
+	public abstract double getFragmentation();
+
+	public abstract boolean isDirect();
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.generallycloud.nio.buffer.AbstractPooledByteBufAllocator;
+import com.generallycloud.nio.buffer.ByteBufAllocator;
+import com.generallycloud.nio.buffer.ByteBufAllocatorManager;
+import com.generallycloud.nio.buffer.LinkAbleByteBufAllocator;
+import com.generallycloud.nio.buffer.PooledByteBufAllocatorManager;
+import com.generallycloud.nio.common.Logger;
+import com.generallycloud.nio.common.LoggerFactory;
+import com.generallycloud.nio.component.SocketChannelContext;
+import com.generallycloud.nio.component.SocketSelectorEventLoop;
+import com.generallycloud.nio.component.concurrent.ExecutorEventLoop;
+
+/**
+ * 一个context下的所有指标，指标始终统计，开启SERVER_ENABLE_JMX时注册为MBean，
+ * ObjectName为com.generallycloud.nio:context=端口-序号,type=类型,index=序号，
+ * context停止时全部注销
+ */
+public class ChannelContextMetrics {
+
+	public static final String								DOMAIN			= "com.generallycloud.nio";
+
+	private static final AtomicInteger						contextIndex		= new AtomicInteger();
+
+	private static final Logger							logger			= LoggerFactory
+			.getLogger(ChannelContextMetrics.class);
+
+	private String										contextName;
+
+	private boolean										enableJmx;
+
+	private List<ObjectName>								objectNames		= new ArrayList<ObjectName>();
+
+	private Map<ExecutorEventLoop, ExecutorEventLoopMetrics>	executorMetrics	= new HashMap<ExecutorEventLoop, ExecutorEventLoopMetrics>();
+
+	public ChannelContextMetrics(SocketChannelContext context) {
+		this.contextName = context.getServerConfiguration().getSERVER_PORT() + "-"
+				+ contextIndex.incrementAndGet();
+		this.enableJmx = context.getServerConfiguration().isSERVER_ENABLE_JMX();
+	}
+
+	public SelectorEventLoopMetrics newSelectorEventLoopMetrics(SocketSelectorEventLoop eventLoop,
+			int index) {
+
+		SelectorEventLoopMetrics metrics = new SelectorEventLoopMetrics(eventLoop);
+
+		register("SelectorEventLoop", index, metrics);
+
+		return metrics;
+	}
+
+	/**
+	 * 多个selector可能共用同一个ExecutorEventLoop，同一个只创建一份
+	 */
+	public synchronized ExecutorEventLoopMetrics getExecutorEventLoopMetrics(
+			ExecutorEventLoop eventLoop) {
+
+		ExecutorEventLoopMetrics metrics = executorMetrics.get(eventLoop);
+
+		if (metrics == null) {
+
+			metrics = new ExecutorEventLoopMetrics(eventLoop);
+
+			register("ExecutorEventLoop", executorMetrics.size(), metrics);
+
+			executorMetrics.put(eventLoop, metrics);
+		}
+
+		return metrics;
+	}
+
+	public void registerByteBufAllocators(ByteBufAllocatorManager manager) {
+
+		if (!(manager instanceof PooledByteBufAllocatorManager)) {
+			return;
+		}
+
+		PooledByteBufAllocatorManager pooled = (PooledByteBufAllocatorManager) manager;
+
+		LinkAbleByteBufAllocator[] allocators = pooled.getByteBufAllocators();
+
+		for (int i = 0; i < allocators.length; i++) {
+
+			ByteBufAllocator allocator = allocators[i].unwrap();
+
+			if (allocator instanceof AbstractPooledByteBufAllocator) {
+				register("ByteBufAllocator", i, new ByteBufAllocatorMetrics(
+						(AbstractPooledByteBufAllocator) allocator));
+			}
+		}
+
+		register("ElasticByteBufPool", 0, new ElasticByteBufPoolMetrics(pooled.getElasticPool()));
+	}
+
+	private void register(String type, int index, Object mbean) {
+		register0(type, "index=" + index, mbean);
+	}
+
+	/**
+	 * 供上层(如container)注册自己的指标，随context停止一起注销
+	 * @param type 指标类型
+	 * @param name 在该类型下区分不同实例的名称，可以包含任意字符
+	 */
+	public void register(String type, String name, Object mbean) {
+		register0(type, "name=" + ObjectName.quote(name), mbean);
+	}
+
+	private synchronized void register0(String type, String key, Object mbean) {
+
+		if (!enableJmx) {
+			return;
+		}
+
+		try {
+
+			ObjectName name = new ObjectName(DOMAIN + ":context=" + contextName + ",type=" + type
+					+ "," + key);
+
+			ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, name);
+
+			objectNames.add(name);
+
+		} catch (Exception e) {
+			// 指标注册失败不影响服务
+			logger.error(e.getMessage(), e);
+		}
+	}
+
+	public synchronized void unregisterAll() {
+
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+		for (ObjectName name : objectNames) {
+
+			try {
+				server.unregisterMBean(name);
+			} catch (Exception e) {
+				logger.error(e.getMessage(), e);
+			}
+		}
+
+		objectNames.clear();
+	}
+
+	public String getContextName() {
+		return contextName;
+	}
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.metrics;
+
+import com.generallycloud.nio.buffer.ElasticByteBufPool;
+
+public class ElasticByteBufPoolMetrics implements ElasticByteBufPoolMetricsMBean {
+
+	private ElasticByteBufPool pool;
+
+	public ElasticByteBufPoolMetrics(ElasticByteBufPool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public int getChunkCount() {
+		return pool.getChunkCount();
+	}
+
+	@Override
+	public long getGrowCount() {
+		return pool.getGrowCount();
+	}
+
+	@Override
+	public long getShrinkCount() {
+		return pool.getShrinkCount();
+	}
+
+	@Override
+	public long getHeapFallbackCount() {
+		return pool.getHeapFallbackCount();
+	}
+
+	@Override
+	public long getRejectCount() {
+		return pool.getRejectCount();
+	}
+
+}
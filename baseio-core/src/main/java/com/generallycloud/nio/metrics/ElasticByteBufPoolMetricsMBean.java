@@ -0,0 +1,33 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.metrics;
+
+public interface ElasticByteBufPoolMetricsMBean {
+
+	public abstract int getChunkCount();
+
+	public abstract long getGrowCount();
+
+	public abstract long getShrinkCount();
+
+	/**
+	 * 内存池耗尽后退回堆内存的次数
+	 */
+	public abstract long getHeapFallbackCount();
+
+	public abstract long getRejectCount();
+
+}
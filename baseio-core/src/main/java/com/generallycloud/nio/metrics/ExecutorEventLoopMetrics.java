@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.generallycloud.nio.component.concurrent.ExecutorEventLoop;
+
+/**
+ * 多个业务线程同时累加，使用分段计数避免竞争
+ */
+public class ExecutorEventLoopMetrics implements ExecutorEventLoopMetricsMBean {
+
+	private ExecutorEventLoop	eventLoop;
+
+	private LongAdder			taskCount			= new LongAdder();
+
+	private LongAdder			taskLatencyNanos	= new LongAdder();
+
+	private AtomicLong			maxTaskLatencyNanos	= new AtomicLong();
+
+	private LongAdder			rejectCount		= new LongAdder();
+
+	public ExecutorEventLoopMetrics(ExecutorEventLoop eventLoop) {
+		this.eventLoop = eventLoop;
+	}
+
+	public void recordTask(long latencyNanos) {
+
+		taskCount.increment();
+
+		taskLatencyNanos.add(latencyNanos);
+
+		// 大多数时候不会刷新最大值，只读不写
+		for (;;) {
+
+			long max = maxTaskLatencyNanos.get();
+
+			if (latencyNanos <= max || maxTaskLatencyNanos.compareAndSet(max, latencyNanos)) {
+				return;
+			}
+		}
+	}
+
+	public void recordReject() {
+		rejectCount.increment();
+	}
+
+	@Override
+	public int getQueueSize() {
+		return eventLoop.size();
+	}
+
+	@Override
+	public long getTaskCount() {
+		return taskCount.sum();
+	}
+
+	@Override
+	public long getTaskLatencyNanos() {
+		return taskLatencyNanos.sum();
+	}
+
+	@Override
+	public long getAverageTaskLatencyNanos() {
+
+		long count = taskCount.sum();
+
+		if (count == 0) {
+			return 0;
+		}
+
+		return taskLatencyNanos.sum() / count;
+	}
+
+	@Override
+	public long getMaxTaskLatencyNanos() {
+		return maxTaskLatencyNanos.get();
+	}
+
+	@Override
+	public long getRejectCount() {
+		return rejectCount.sum();
+	}
+
+}
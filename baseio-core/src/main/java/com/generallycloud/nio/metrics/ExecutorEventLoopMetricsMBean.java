@@ -0,0 +1,38 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.metrics;
+
+public interface ExecutorEventLoopMetricsMBean {
+
+	/**
+	 * 等待执行的任务数
+	 */
+	public abstract int getQueueSize();
+
+	public abstract long getTaskCount();
+
+	/**
+	 * 任务从投递到执行完的时间
+	 */
+	public abstract long getTaskLatencyNanos();
+
+	public abstract long getAverageTaskLatencyNanos();
+
+	public abstract long getMaxTaskLatencyNanos();
+
+	public abstract long getRejectCount();
+
+}
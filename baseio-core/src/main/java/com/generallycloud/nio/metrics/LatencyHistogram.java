@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无锁的延迟直方图，与HdrHistogram相同按2的幂次分段、段内线性分桶，相对误差不超过1/32，
+ * 记录时只有一次原子自增，不分配内存，可以常驻在生产环境中，单位由调用方决定(一般为纳秒)
+ */
+public class LatencyHistogram {
+
+	private static final int	SUB_BUCKET_BITS	= 6;
+
+	private static final int	SUB_BUCKET_COUNT	= 1 << SUB_BUCKET_BITS;
+
+	private static final int	SUB_BUCKET_HALF	= SUB_BUCKET_COUNT >> 1;
+
+	// 以纳秒计约18分钟，更大的值记在最后一个桶中
+	private static final long	MAX_VALUE			= (1L << 40) - 1;
+
+	private AtomicLongArray		counts			= new AtomicLongArray(index(MAX_VALUE) + 1);
+
+	public void record(long value) {
+
+		if (value < 0) {
+			value = 0;
+		} else if (value > MAX_VALUE) {
+			value = MAX_VALUE;
+		}
+
+		counts.getAndIncrement(index(value));
+	}
+
+	static int index(long value) {
+
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+
+		// 使value >>> shift落在[SUB_BUCKET_HALF, SUB_BUCKET_COUNT)
+		int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+
+		return shift * SUB_BUCKET_HALF + (int) (value >>> shift);
+	}
+
+	/**
+	 * 落在该桶中的最大值
+	 */
+	static long highestValue(int index) {
+
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+
+		int shift = index / SUB_BUCKET_HALF - 1;
+
+		long lowest = (long) (index - shift * SUB_BUCKET_HALF) << shift;
+
+		return lowest + (1L << shift) - 1;
+	}
+
+	/**
+	 * 复制当前的计数，复制过程中仍在记录的值可能只有一部分被计入
+	 */
+	public Snapshot snapshot() {
+
+		AtomicLongArray counts = this.counts;
+
+		long[] copy = new long[counts.length()];
+
+		for (int i = 0; i < copy.length; i++) {
+			copy[i] = counts.get(i);
+		}
+
+		return new Snapshot(copy);
+	}
+
+	public static class Snapshot {
+
+		private long[]	counts;
+
+		private long	count;
+
+		Snapshot(long[] counts) {
+
+			this.counts = counts;
+
+			long count = 0;
+
+			for (long c : counts) {
+				count += c;
+			}
+
+			this.count = count;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 * @param percentile 0到100之间，如99.9
+		 */
+		public long getValueAtPercentile(double percentile) {
+
+			if (count == 0) {
+				return 0;
+			}
+
+			long target = (long) Math.ceil(Math.min(percentile, 100) / 100 * count);
+
+			if (target < 1) {
+				target = 1;
+			}
+
+			long total = 0;
+
+			for (int i = 0; i < counts.length; i++) {
+
+				total += counts[i];
+
+				if (total >= target) {
+					return highestValue(i);
+				}
+			}
+
+			return highestValue(counts.length - 1);
+		}
+
+		public long getMax() {
+			return getValueAtPercentile(100);
+		}
+
+		public long getMean() {
+
+			if (count == 0) {
+				return 0;
+			}
+
+			double total = 0;
+
+			for (int i = 0; i < counts.length; i++) {
+
+				if (counts[i] == 0) {
+					continue;
+				}
+
+				long lowest = i == 0 ? 0 : highestValue(i - 1) + 1;
+
+				total += (double) counts[i] * (lowest + highestValue(i)) / 2;
+			}
+
+			return (long) (total / count);
+		}
+	}
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.metrics;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.generallycloud.nio.common.Logger;
+import com.generallycloud.nio.common.LoggerFactory;
+
+/**
+ * 通过jdk.jfr.EventFactory(JDK 11+、8u272+)动态定义com.generallycloud.nio.PipelineStage事件，
+ * 源码仍以Java 8编译，所以全部通过反射调用，运行时不支持JFR时什么也不做。
+ * 只有被采样的消息会创建事件，事件的开始和结束时间由JFR记录，
+ * 可以在同一时间线上和GC、safepoint等事件对照
+ */
+public class PipelineFlightRecorder {
+
+	public static final String	EVENT_NAME	= "com.generallycloud.nio.PipelineStage";
+
+	private static final Logger	logger		= LoggerFactory.getLogger(PipelineFlightRecorder.class);
+
+	private static Object		eventFactory;
+
+	private static Method		newEvent;
+
+	private static Object		eventType;
+
+	private static Method		isEnabled;
+
+	private static Method		set;
+
+	private static Method		begin;
+
+	private static Method		end;
+
+	private static Method		commit;
+
+	static {
+		try {
+			initialize();
+		} catch (Throwable e) {
+			eventFactory = null;
+			logger.info("JFR is not available, pipeline stage events disabled: {}", e.toString());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void initialize() throws Exception {
+
+		ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+
+		Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement", true, classLoader);
+		Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor", true, classLoader);
+		Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory", true, classLoader);
+		Class<?> eventClass = Class.forName("jdk.jfr.Event", true, classLoader);
+
+		Constructor<?> newAnnotation = annotationElementClass.getConstructor(Class.class, Object.class);
+		Constructor<?> newValueDescriptor = valueDescriptorClass.getConstructor(Class.class,
+				String.class, List.class);
+
+		Class<? extends Annotation> name = (Class<? extends Annotation>) Class.forName("jdk.jfr.Name",
+				true, classLoader);
+		Class<? extends Annotation> label = (Class<? extends Annotation>) Class.forName("jdk.jfr.Label",
+				true, classLoader);
+		Class<? extends Annotation> category = (Class<? extends Annotation>) Class
+				.forName("jdk.jfr.Category", true, classLoader);
+		Class<? extends Annotation> description = (Class<? extends Annotation>) Class
+				.forName("jdk.jfr.Description", true, classLoader);
+		Class<? extends Annotation> stackTrace = (Class<? extends Annotation>) Class
+				.forName("jdk.jfr.StackTrace", true, classLoader);
+
+		List<Object> annotations = new ArrayList<Object>();
+		annotations.add(newAnnotation.newInstance(name, EVENT_NAME));
+		annotations.add(newAnnotation.newInstance(label, "Pipeline Stage"));
+		annotations.add(newAnnotation.newInstance(category, new String[] { "baseio" }));
+		annotations.add(newAnnotation.newInstance(description,
+				"A sampled message passing one stage of the read/handle/write pipeline"));
+		// 调用栈只有反射的几层，没有意义
+		annotations.add(newAnnotation.newInstance(stackTrace, false));
+
+		// 字段顺序与begin中set的下标一致
+		List<Object> fields = new ArrayList<Object>();
+		fields.add(newValueDescriptor.newInstance(String.class, "stage",
+				Collections.singletonList(newAnnotation.newInstance(label, "Stage"))));
+		fields.add(newValueDescriptor.newInstance(int.class, "channelID",
+				Collections.singletonList(newAnnotation.newInstance(label, "Channel ID"))));
+		fields.add(newValueDescriptor.newInstance(long.class, "traceID",
+				Collections.singletonList(newAnnotation.newInstance(label, "Trace ID"))));
+
+		Method create = eventFactoryClass.getMethod("create", List.class, List.class);
+
+		eventFactory = create.invoke(null, annotations, fields);
+		newEvent = eventFactoryClass.getMethod("newEvent");
+		eventType = eventFactoryClass.getMethod("getEventType").invoke(eventFactory);
+		isEnabled = eventType.getClass().getMethod("isEnabled");
+		set = eventClass.getMethod("set", int.class, Object.class);
+		begin = eventClass.getMethod("begin");
+		end = eventClass.getMethod("end");
+		commit = eventClass.getMethod("commit");
+	}
+
+	public static boolean isAvailable() {
+		return eventFactory != null;
+	}
+
+	/**
+	 * @return 运行时支持JFR且正在记录该事件
+	 */
+	public static boolean isEnabled() {
+
+		if (eventFactory == null) {
+			return false;
+		}
+
+		try {
+			return (Boolean) isEnabled.invoke(eventType);
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @return 已开始的事件，出错时返回null
+	 */
+	static Object begin(PipelineStage stage, int channelID, long traceID) {
+
+		try {
+
+			Object event = newEvent.invoke(eventFactory);
+
+			set.invoke(event, 0, stage.name());
+			set.invoke(event, 1, channelID);
+			set.invoke(event, 2, traceID);
+
+			begin.invoke(event);
+
+			return event;
+
+		} catch (Exception e) {
+			logger.debug(e);
+			return null;
+		}
+	}
+
+	static void end(Object event) {
+
+		if (event == null) {
+			return;
+		}
+
+		try {
+			end.invoke(event);
+		} catch (Exception e) {
+			logger.debug(e);
+		}
+	}
+
+	static void commit(Object event) {
+
+		if (event == null) {
+			return;
+		}
+
+		try {
+			commit.invoke(event);
+		} catch (Exception e) {
+			logger.debug(e);
+		}
+	}
+
+}
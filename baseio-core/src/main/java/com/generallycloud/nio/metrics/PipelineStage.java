@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.metrics;
+
+public enum PipelineStage {
+
+	/**
+	 * 读到消息的第一段数据到开始解析最后一段数据，消息较大或网络较慢时主要是等待剩余数据的时间
+	 */
+	READ,
+
+	/**
+	 * 解析最后一段数据直到消息完整
+	 */
+	DECODE,
+
+	/**
+	 * 消息完整到业务开始处理，包含在业务线程队列中等待的时间
+	 */
+	DISPATCH,
+
+	/**
+	 * 业务处理
+	 */
+	HANDLE,
+
+	/**
+	 * 响应编码
+	 */
+	ENCODE,
+
+	/**
+	 * 编码完成到响应全部写出，包含在写队列中等待的时间
+	 */
+	WRITE
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 被采样的消息经过各处理阶段的时间(System.nanoTime())，
+ * 同时在各阶段开始和结束时发出JFR事件(运行时支持JFR且开启了记录时)，
+ * 各阶段在不同的线程中依次执行，通过队列传递保证可见性
+ */
+public class PipelineTrace {
+
+	private static final AtomicLong	traceIndex	= new AtomicLong();
+
+	private static final int		STAGE_COUNT	= PipelineStage.values().length;
+
+	private long					traceID		= traceIndex.incrementAndGet();
+
+	private int					channelID;
+
+	private long					readTime;
+
+	private long					decodeStartTime;
+
+	private long					decodeTime;
+
+	private long					handleStartTime;
+
+	private long					handleEndTime;
+
+	private long					encodeStartTime;
+
+	private long					encodeEndTime;
+
+	private long					writeTime;
+
+	// 各阶段未提交的JFR事件，不支持JFR或未在记录时为null
+	private Object[]				events;
+
+	/**
+	 * @param readTime selector线程从socket读取前的System.nanoTime()，JFR事件无法指定开始时间，
+	 *            READ阶段的JFR事件仍从创建时开始
+	 */
+	public PipelineTrace(int channelID, long readTime) {
+		this.channelID = channelID;
+		this.readTime = readTime;
+		if (PipelineFlightRecorder.isEnabled()) {
+			this.events = new Object[STAGE_COUNT];
+		}
+		begin(PipelineStage.READ);
+	}
+
+	/**
+	 * 每次解析数据前调用，以最后一次为准
+	 */
+	public void decodeStart() {
+		this.decodeStartTime = System.nanoTime();
+		end(PipelineStage.READ);
+		begin(PipelineStage.DECODE);
+	}
+
+	public void decoded(long decodeTime) {
+		this.decodeTime = decodeTime;
+		commit(PipelineStage.READ);
+		commit(PipelineStage.DECODE);
+		begin(PipelineStage.DISPATCH);
+	}
+
+	public void handleStart() {
+		this.handleStartTime = System.nanoTime();
+		commit(PipelineStage.DISPATCH);
+		begin(PipelineStage.HANDLE);
+	}
+
+	public void handleEnd() {
+		this.handleEndTime = System.nanoTime();
+		commit(PipelineStage.HANDLE);
+	}
+
+	public void encodeStart() {
+		this.encodeStartTime = System.nanoTime();
+		begin(PipelineStage.ENCODE);
+	}
+
+	public void encodeEnd() {
+		this.encodeEndTime = System.nanoTime();
+		commit(PipelineStage.ENCODE);
+		begin(PipelineStage.WRITE);
+	}
+
+	public void written() {
+		this.writeTime = System.nanoTime();
+		commit(PipelineStage.WRITE);
+	}
+
+	private void begin(PipelineStage stage) {
+		if (events != null) {
+			events[stage.ordinal()] = PipelineFlightRecorder.begin(stage, channelID, traceID);
+		}
+	}
+
+	private void end(PipelineStage stage) {
+		if (events != null) {
+			PipelineFlightRecorder.end(events[stage.ordinal()]);
+		}
+	}
+
+	private void commit(PipelineStage stage) {
+		if (events != null) {
+			int i = stage.ordinal();
+			PipelineFlightRecorder.commit(events[i]);
+			events[i] = null;
+		}
+	}
+
+	/**
+	 * @return 该阶段耗时(纳秒)，该阶段尚未完成时返回-1
+	 */
+	public long getStageTime(PipelineStage stage) {
+		switch (stage) {
+		case READ:
+			return between(readTime, decodeStartTime);
+		case DECODE:
+			return between(decodeStartTime, decodeTime);
+		case DISPATCH:
+			return between(decodeTime, handleStartTime);
+		case HANDLE:
+			return between(handleStartTime, handleEndTime);
+		case ENCODE:
+			return between(encodeStartTime, encodeEndTime);
+		case WRITE:
+			return between(encodeEndTime, writeTime);
+		default:
+			return -1;
+		}
+	}
+
+	private long between(long start, long end) {
+		if (start == 0 || end == 0) {
+			return -1;
+		}
+		return end - start;
+	}
+
+	public long getTraceID() {
+		return traceID;
+	}
+
+	public int getChannelID() {
+		return channelID;
+	}
+
+	public long getReadTime() {
+		return readTime;
+	}
+
+	public long getDecodeStartTime() {
+		return decodeStartTime;
+	}
+
+	public long getDecodeTime() {
+		return decodeTime;
+	}
+
+	public long getHandleStartTime() {
+		return handleStartTime;
+	}
+
+	public long getHandleEndTime() {
+		return handleEndTime;
+	}
+
+	public long getEncodeStartTime() {
+		return encodeStartTime;
+	}
+
+	public long getEncodeEndTime() {
+		return encodeEndTime;
+	}
+
+	public long getWriteTime() {
+		return writeTime;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("PipelineTrace[id=");
+		builder.append(traceID);
+		builder.append(",channel=");
+		builder.append(channelID);
+		for (PipelineStage stage : PipelineStage.values()) {
+			builder.append(',');
+			builder.append(stage.name().toLowerCase());
+			builder.append('=');
+			builder.append(getStageTime(stage));
+		}
+		builder.append(']');
+		return builder.toString();
+	}
+
+}
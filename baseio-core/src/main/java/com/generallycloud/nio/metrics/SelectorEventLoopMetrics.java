@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.generallycloud.nio.component.SocketSelectorEventLoop;
+
+/**
+ * 只在selector线程中累加，读取时不加锁
+ */
+public class SelectorEventLoopMetrics implements SelectorEventLoopMetricsMBean {
+
+	private SocketSelectorEventLoop	eventLoop;
+
+	private LongAdder				selectCount		= new LongAdder();
+
+	private LongAdder				emptySelectCount	= new LongAdder();
+
+	private LongAdder				eventCount		= new LongAdder();
+
+	private LongAdder				loopCount			= new LongAdder();
+
+	private LongAdder				busyTimeNanos		= new LongAdder();
+
+	private LongAdder				readBytes			= new LongAdder();
+
+	private LongAdder				writeBytes		= new LongAdder();
+
+	public SelectorEventLoopMetrics(SocketSelectorEventLoop eventLoop) {
+		this.eventLoop = eventLoop;
+	}
+
+	public void recordSelect(int selected) {
+		selectCount.increment();
+		if (selected < 1) {
+			emptySelectCount.increment();
+		}
+	}
+
+	public void recordEvent() {
+		eventCount.increment();
+	}
+
+	public void recordLoop(long busyNanos) {
+		loopCount.increment();
+		busyTimeNanos.add(busyNanos);
+	}
+
+	public void recordRead(long length) {
+		readBytes.add(length);
+	}
+
+	public void recordWrite(long length) {
+		if (length > 0) {
+			writeBytes.add(length);
+		}
+	}
+
+	@Override
+	public long getSelectCount() {
+		return selectCount.sum();
+	}
+
+	@Override
+	public long getEmptySelectCount() {
+		return emptySelectCount.sum();
+	}
+
+	@Override
+	public long getEventCount() {
+		return eventCount.sum();
+	}
+
+	@Override
+	public int getEventQueueSize() {
+		return eventLoop.getPendingEventSize();
+	}
+
+	@Override
+	public long getLoopCount() {
+		return loopCount.sum();
+	}
+
+	@Override
+	public long getBusyTimeNanos() {
+		return busyTimeNanos.sum();
+	}
+
+	@Override
+	public long getReadBytes() {
+		return readBytes.sum();
+	}
+
+	@Override
+	public long getWriteBytes() {
+		return writeBytes.sum();
+	}
+
+}
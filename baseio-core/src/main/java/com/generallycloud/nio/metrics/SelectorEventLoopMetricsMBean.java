@@ -0,0 +1,45 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.metrics;
+
+public interface SelectorEventLoopMetricsMBean {
+
+	public abstract long getSelectCount();
+
+	/**
+	 * select返回0的次数
+	 */
+	public abstract long getEmptySelectCount();
+
+	public abstract long getEventCount();
+
+	/**
+	 * 等待selector线程处理的事件数
+	 */
+	public abstract int getEventQueueSize();
+
+	public abstract long getLoopCount();
+
+	/**
+	 * 在doLoop中除阻塞select以外的时间
+	 */
+	public abstract long getBusyTimeNanos();
+
+	public abstract long getReadBytes();
+
+	public abstract long getWriteBytes();
+
+}
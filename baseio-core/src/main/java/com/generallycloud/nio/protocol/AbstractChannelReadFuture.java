@@ -18,6 +18,7 @@ package com.generallycloud.nio.protocol;
 import com.generallycloud.nio.buffer.ByteBuf;
 import com.generallycloud.nio.component.Session;
 import com.generallycloud.nio.component.SocketChannelContext;
+import com.generallycloud.nio.metrics.PipelineTrace;
 
 
 public abstract class AbstractChannelReadFuture extends AbstractReadFuture implements ChannelReadFuture {
@@ -34,6 +35,41 @@ public abstract class AbstractChannelReadFuture extends AbstractReadFuture imple
 	
 	protected boolean isSilent;
 
+	protected long		decodeTime;
+
+	protected PipelineTrace	pipelineTrace;
+
+	@Override
+	protected void reset() {
+		super.reset();
+		this.isHeartbeat = false;
+		this.isPING = false;
+		this.isPONG = false;
+		this.isSilent = false;
+		this.decodeTime = 0;
+		this.pipelineTrace = null;
+	}
+
+	@Override
+	public long getDecodeTime() {
+		return decodeTime;
+	}
+
+	@Override
+	public void setDecodeTime(long decodeTime) {
+		this.decodeTime = decodeTime;
+	}
+
+	@Override
+	public PipelineTrace getPipelineTrace() {
+		return pipelineTrace;
+	}
+
+	@Override
+	public void setPipelineTrace(PipelineTrace pipelineTrace) {
+		this.pipelineTrace = pipelineTrace;
+	}
+
 	@Override
 	public ChannelReadFuture flush() {
 		flushed = true;
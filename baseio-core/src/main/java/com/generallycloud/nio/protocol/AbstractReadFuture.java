@@ -31,6 +31,22 @@ public abstract class AbstractReadFuture extends FutureImpl implements ReadFutur
 		this.context = context;
 	}
 
+	/**
+	 * 回收前重置状态，子类覆盖时需要调用super.reset()
+	 */
+	protected void reset() {
+		this.flushed = false;
+		this.readText = null;
+		this.ioEventHandle = null;
+		this.attach(null);
+		// 过大的缓存不再保留，避免池中对象长期占用内存
+		if (writeTextBuffer.capacity() > 1024 * 8) {
+			writeTextBuffer = new StringBuilder();
+		} else {
+			writeTextBuffer.setLength(0);
+		}
+	}
+
 	@Override
 	public boolean flushed() {
 		return flushed;
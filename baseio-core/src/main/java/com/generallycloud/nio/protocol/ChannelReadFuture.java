@@ -19,6 +19,7 @@ import java.io.IOException;
 
 import com.generallycloud.nio.buffer.ByteBuf;
 import com.generallycloud.nio.component.SocketSession;
+import com.generallycloud.nio.metrics.PipelineTrace;
 
 public interface ChannelReadFuture extends ReadFuture {
 
@@ -40,4 +41,18 @@ public interface ChannelReadFuture extends ReadFuture {
 
 	public abstract void setSilent(boolean isSilent);
 
+	/**
+	 * 解码完成时的System.nanoTime()，未记录时为0
+	 */
+	public abstract long getDecodeTime();
+
+	public abstract void setDecodeTime(long decodeTime);
+
+	/**
+	 * 被采样时记录各处理阶段的时间，未被采样时为null
+	 */
+	public abstract PipelineTrace getPipelineTrace();
+
+	public abstract void setPipelineTrace(PipelineTrace pipelineTrace);
+
 }
@@ -20,6 +20,7 @@ import java.io.IOException;
 import javax.net.ssl.SSLException;
 
 import com.generallycloud.nio.Linkable;
+import com.generallycloud.nio.buffer.ByteBuf;
 import com.generallycloud.nio.component.SocketSession;
 import com.generallycloud.nio.component.ssl.SslHandler;
 import com.generallycloud.nio.component.SocketChannel;
@@ -38,5 +39,12 @@ public interface ChannelWriteFuture extends WriteFuture, Linkable<ChannelWriteFu
 	
 	public abstract int getBinaryLength();
 
+	public abstract ByteBuf getByteBuf();
+
+	/**
+	 * 数据已被拷贝到合并写的buf中时提前释放自己的buf，之后getByteBuf()返回空buf
+	 */
+	public abstract void releaseByteBuf();
+
 	public abstract void wrapSSL(SocketSession session, SslHandler handler) throws SSLException, IOException;
 }
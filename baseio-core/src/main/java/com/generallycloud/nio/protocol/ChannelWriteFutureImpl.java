@@ -19,6 +19,7 @@ import java.io.IOException;
 
 import com.generallycloud.nio.Linkable;
 import com.generallycloud.nio.buffer.ByteBuf;
+import com.generallycloud.nio.buffer.EmptyByteBuf;
 import com.generallycloud.nio.common.Logger;
 import com.generallycloud.nio.common.LoggerFactory;
 import com.generallycloud.nio.common.ReleaseUtil;
@@ -27,6 +28,9 @@ import com.generallycloud.nio.component.IoEventHandle.IoEventState;
 import com.generallycloud.nio.component.ssl.SslHandler;
 import com.generallycloud.nio.component.SocketSession;
 import com.generallycloud.nio.component.SocketChannel;
+import com.generallycloud.nio.component.concurrent.Recyclable;
+import com.generallycloud.nio.component.concurrent.Recycler;
+import com.generallycloud.nio.metrics.PipelineTrace;
 
 public class ChannelWriteFutureImpl extends FutureImpl implements ChannelWriteFuture {
 
@@ -34,14 +38,64 @@ public class ChannelWriteFutureImpl extends FutureImpl implements ChannelWriteFu
 	protected ByteBuf					buf;
 	protected Linkable<ChannelWriteFuture>	next;
 
+	private Recycler.Handle<ChannelWriteFutureImpl>	handle;
+
+	// 由编码器创建的future在写完后负责回收readFuture，duplicate出来的不负责
+	private boolean						recycleReadFuture;
+
 	private static final Logger			logger	= LoggerFactory.getLogger(ChannelWriteFutureImpl.class);
 
+	private static final Recycler<ChannelWriteFutureImpl>	RECYCLER	= new Recycler<ChannelWriteFutureImpl>() {
+		@Override
+		protected ChannelWriteFutureImpl newObject(Handle<ChannelWriteFutureImpl> handle) {
+			return new ChannelWriteFutureImpl(handle);
+		}
+	};
+
 	public ChannelWriteFutureImpl(ReadFuture readFuture, ByteBuf buf) {
 		this.readFuture = readFuture;
 		this.buf = buf;
 		this.buf.nioBuffer();
 	}
 
+	private ChannelWriteFutureImpl(Recycler.Handle<ChannelWriteFutureImpl> handle) {
+		this.handle = handle;
+	}
+
+	/**
+	 * 从对象池中取出一个future，写完（onSuccess或onException）后自动回收，
+	 * 同时回收可回收的readFuture，所以回调之后不要再持有这两个对象
+	 */
+	public static ChannelWriteFutureImpl newInstance(ReadFuture readFuture, ByteBuf buf) {
+		ChannelWriteFutureImpl f = RECYCLER.get();
+		f.readFuture = readFuture;
+		f.buf = buf;
+		f.recycleReadFuture = true;
+		buf.nioBuffer();
+		return f;
+	}
+
+	private void recycle() {
+
+		if (handle == null) {
+			return;
+		}
+
+		ReadFuture readFuture = this.readFuture;
+
+		if (recycleReadFuture && readFuture instanceof Recyclable) {
+			((Recyclable) readFuture).recycle();
+		}
+
+		this.readFuture = null;
+		this.buf = null;
+		this.next = null;
+		this.recycleReadFuture = false;
+		this.attach(null);
+
+		handle.recycle(this);
+	}
+
 	@Override
 	public void onException(SocketSession session, Exception e) {
 
@@ -56,6 +110,8 @@ public class ChannelWriteFutureImpl extends FutureImpl implements ChannelWriteFu
 		} catch (Throwable e1) {
 			logger.debug(e1.getMessage(), e1);
 		}
+
+		recycle();
 	}
 
 	@Override
@@ -65,6 +121,15 @@ public class ChannelWriteFutureImpl extends FutureImpl implements ChannelWriteFu
 
 		ReleaseUtil.release(this);
 
+		if (readFuture instanceof ChannelReadFuture) {
+
+			PipelineTrace trace = ((ChannelReadFuture) readFuture).getPipelineTrace();
+
+			if (trace != null) {
+				trace.written();
+			}
+		}
+
 		IoEventHandle handle = readFuture.getIOEventHandle();
 
 		try {
@@ -72,6 +137,8 @@ public class ChannelWriteFutureImpl extends FutureImpl implements ChannelWriteFu
 		} catch (Throwable e) {
 			logger.debug(e);
 		}
+
+		recycle();
 	}
 
 	@Override
@@ -110,7 +177,11 @@ public class ChannelWriteFutureImpl extends FutureImpl implements ChannelWriteFu
 	
 	@Override
 	public ChannelWriteFuture duplicate(ReadFuture future) {
-		return new ChannelWriteFutureImpl(future, buf.duplicate());
+		ChannelWriteFutureImpl f = RECYCLER.get();
+		f.readFuture = future;
+		f.buf = buf.duplicate();
+		f.buf.nioBuffer();
+		return f;
 	}
 
 	@Override
@@ -154,5 +225,20 @@ public class ChannelWriteFutureImpl extends FutureImpl implements ChannelWriteFu
 	public int getBinaryLength() {
 		return buf.limit();
 	}
+
+	@Override
+	public ByteBuf getByteBuf() {
+		return buf;
+	}
+
+	@Override
+	public void releaseByteBuf() {
+
+		ByteBuf buf = this.buf;
+
+		this.buf = EmptyByteBuf.getInstance();
+
+		ReleaseUtil.release(buf);
+	}
 	
 }
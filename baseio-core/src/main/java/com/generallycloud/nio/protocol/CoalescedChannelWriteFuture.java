@@ -0,0 +1,195 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.nio.protocol;
+
+import java.io.IOException;
+
+import com.generallycloud.nio.Linkable;
+import com.generallycloud.nio.buffer.ByteBuf;
+import com.generallycloud.nio.common.ReleaseUtil;
+import com.generallycloud.nio.component.SocketChannel;
+import com.generallycloud.nio.component.SocketSession;
+import com.generallycloud.nio.component.ssl.SslHandler;
+
+/**
+ * 将多个小的future拷贝到同一个buf中一次写出，拷贝后原future的buf立即释放，
+ * 写完后按加入的顺序回调每个future
+ */
+public class CoalescedChannelWriteFuture extends FutureImpl implements ChannelWriteFuture {
+
+	private ByteBuf					buf;
+	private ChannelWriteFuture			head;
+	private ChannelWriteFuture			tail;
+	private int						size;
+	private int						binaryLength;
+	private Linkable<ChannelWriteFuture>	next;
+
+	public CoalescedChannelWriteFuture(ByteBuf buf) {
+		this.buf = buf;
+	}
+
+	/**
+	 * 拷贝future剩余的数据，之后该future只用于回调
+	 */
+	public void add(ChannelWriteFuture future) {
+
+		buf.read(future.getByteBuf());
+
+		binaryLength += future.getBinaryLength();
+
+		future.releaseByteBuf();
+
+		// 从写队列取出的future可能还指向队列中的下一个
+		future.setNext(null);
+
+		if (head == null) {
+			head = future;
+		} else {
+			tail.setNext(future);
+		}
+
+		tail = future;
+
+		size++;
+	}
+
+	/**
+	 * 全部add之后调用，准备写出
+	 */
+	public CoalescedChannelWriteFuture flip() {
+		buf.flip();
+		buf.nioBuffer();
+		return this;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean write(SocketChannel channel) throws IOException {
+
+		ByteBuf buf = this.buf;
+
+		buf.write(channel);
+
+		return !buf.hasRemaining();
+	}
+
+	@Override
+	public void onException(SocketSession session, Exception e) {
+
+		ReleaseUtil.release(this);
+
+		for (ChannelWriteFuture f = head; f != null;) {
+
+			ChannelWriteFuture future = f;
+
+			f = nextOf(future);
+
+			future.onException(session, e);
+		}
+
+		head = tail = null;
+	}
+
+	@Override
+	public void onSuccess(SocketSession session) {
+
+		ReleaseUtil.release(this);
+
+		for (ChannelWriteFuture f = head; f != null;) {
+
+			ChannelWriteFuture future = f;
+
+			f = nextOf(future);
+
+			future.onSuccess(session);
+		}
+
+		head = tail = null;
+	}
+
+	// 回调中future可能被回收，先断开链接
+	private ChannelWriteFuture nextOf(ChannelWriteFuture future) {
+
+		Linkable<ChannelWriteFuture> next = future.getNext();
+
+		future.setNext(null);
+
+		return next == null ? null : next.getValue();
+	}
+
+	@Override
+	public ReadFuture getReadFuture() {
+		return head == null ? null : head.getReadFuture();
+	}
+
+	@Override
+	public void release() {
+		ReleaseUtil.release(buf);
+	}
+
+	@Override
+	public void releaseByteBuf() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ChannelWriteFuture duplicate() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ChannelWriteFuture duplicate(ReadFuture future) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void wrapSSL(SocketSession session, SslHandler handler) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int getBinaryLength() {
+		return binaryLength;
+	}
+
+	@Override
+	public ByteBuf getByteBuf() {
+		return buf;
+	}
+
+	@Override
+	public Linkable<ChannelWriteFuture> getNext() {
+		return next;
+	}
+
+	@Override
+	public void setNext(Linkable<ChannelWriteFuture> next) {
+		this.next = next;
+	}
+
+	@Override
+	public ChannelWriteFuture getValue() {
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		return "coalesced(" + size + "):" + getReadFuture();
+	}
+}
@@ -90,6 +90,13 @@ public class Consumer {
 		}
 	}
 
+	/**
+	 * 连接上待写数据超过高水位时返回false，此时不应再向该消费者推送
+	 */
+	public boolean isWritable() {
+		return session.isWritable();
+	}
+
 	public Message getMessage() {
 		return message;
 	}
@@ -58,7 +58,17 @@ public class P2PProductLine extends AbstractProductLine {
 			return;
 		}
 
+		boolean pushed = false;
+
 		for (Consumer consumer : consumers) {
+
+			// 慢消费者上不再继续堆积数据
+			if (!consumer.isWritable()) {
+				continue;
+			}
+
+			pushed = true;
+
 			try {
 				consumer.push(message);
 			} catch (IOException e) {
@@ -67,6 +77,14 @@ public class P2PProductLine extends AbstractProductLine {
 			}
 		}
 
+		// 没有可写的消费者时与没有消费者一样，未过期的消息放回队列
+		if (!pushed) {
+
+			filterUseless(message);
+
+			return;
+		}
+
 		context.consumerMessage(message);
 	}
 
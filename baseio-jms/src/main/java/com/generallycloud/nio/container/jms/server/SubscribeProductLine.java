@@ -58,6 +58,13 @@ public class SubscribeProductLine extends AbstractProductLine {
 		}
 
 		for (Consumer consumer : consumers) {
+
+			// 慢订阅者上不再继续堆积数据，该订阅者收不到这条消息
+			if (!consumer.isWritable()) {
+				logger.warn("message dropped, consumer not writable:{}", consumer.getQueueName());
+				continue;
+			}
+
 			try {
 				consumer.push(message);
 			} catch (IOException e) {
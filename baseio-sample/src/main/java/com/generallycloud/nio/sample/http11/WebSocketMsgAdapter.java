@@ -28,7 +28,7 @@ import com.generallycloud.nio.common.StringUtil;
 import com.generallycloud.nio.component.SocketSession;
 import com.generallycloud.nio.component.concurrent.AbstractEventLoop;
 import com.generallycloud.nio.component.concurrent.ListQueue;
-import com.generallycloud.nio.component.concurrent.ListQueueABQ;
+import com.generallycloud.nio.component.concurrent.ListQueueM2O;
 
 public class WebSocketMsgAdapter extends AbstractEventLoop {
 
@@ -38,7 +38,7 @@ public class WebSocketMsgAdapter extends AbstractEventLoop {
 
 	private Map<String, SocketSession>	clientsMap	= new HashMap<>();
 
-	private ListQueue<Msg>			msgs			= new ListQueueABQ<Msg>(1024 * 4);
+	private ListQueue<Msg>			msgs			= new ListQueueM2O<Msg>(1024 * 4);
 
 	public synchronized void addClient(String username,SocketSession session) {
 
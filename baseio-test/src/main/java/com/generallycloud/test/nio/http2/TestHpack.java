@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.test.nio.http2;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.generallycloud.nio.buffer.ByteBuf;
+import com.generallycloud.nio.buffer.UnpooledByteBufAllocator;
+import com.generallycloud.nio.codec.http2.hpack.Decoder;
+import com.generallycloud.nio.codec.http2.hpack.Encoder;
+import com.generallycloud.nio.codec.http2.hpack.Http2Headers;
+import com.generallycloud.nio.codec.http2.hpack.Http2HeadersEncoder;
+import com.generallycloud.nio.codec.http2.hpack.Http2HeadersImpl;
+
+/**
+ * 用RFC 7541 C.4中的三个请求（Huffman编码）校验静态表与动态表的下标
+ */
+public class TestHpack {
+
+	private static final String[] BLOCKS = new String[] {
+			"828684418cf1e3c2e5f23a6ba0ab90f4ff",
+			"828684be5886a8eb10649cbf",
+			"828785bf408825a849e95ba97d7f8925a849e95bb8e8b4bf" };
+
+	public static void main(String[] args) throws Exception {
+
+		Http2Headers[] requests = new Http2Headers[] { request1(), request2(), request3() };
+
+		Decoder decoder = new Decoder();
+
+		for (int i = 0; i < BLOCKS.length; i++) {
+
+			Http2Headers headers = new Http2HeadersImpl();
+
+			decoder.decode(0, wrap(BLOCKS[i]), headers);
+
+			assertEquals("decode C.4." + (i + 1), toMap(requests[i]), toMap(headers));
+		}
+
+		Encoder encoder = new Encoder();
+
+		Decoder peer = new Decoder();
+
+		ByteBuf out = UnpooledByteBufAllocator.getHeapInstance().allocate(4096);
+
+		for (int i = 0; i < requests.length; i++) {
+
+			out.clear();
+
+			encoder.encodeHeaders(out, requests[i], Http2HeadersEncoder.NEVER_SENSITIVE);
+
+			String block = toHex(out.flip());
+
+			// Http2HeadersImpl不保证header的顺序，只有第一个请求的输出与RFC逐字节相同
+			if (i == 0) {
+				assertEquals("encode bytes C.4.1", BLOCKS[0], block);
+			}
+
+			Http2Headers headers = new Http2HeadersImpl();
+
+			peer.decode(0, out.position(0), headers);
+
+			assertEquals("encode C.4." + (i + 1), toMap(requests[i]), toMap(headers));
+		}
+
+		System.out.println("all passed");
+	}
+
+	private static Http2Headers request1() {
+		return new Http2HeadersImpl().method("GET").scheme("http").path("/")
+				.authority("www.example.com");
+	}
+
+	private static Http2Headers request2() {
+		Http2Headers headers = request1();
+		headers.add("cache-control", "no-cache");
+		return headers;
+	}
+
+	private static Http2Headers request3() {
+		Http2Headers headers = new Http2HeadersImpl().method("GET").scheme("https")
+				.path("/index.html").authority("www.example.com");
+		headers.add("custom-key", "custom-value");
+		return headers;
+	}
+
+	private static Map<String, String> toMap(Http2Headers headers) {
+		Map<String, String> map = new HashMap<String, String>();
+		for (Entry<String, String> e : headers) {
+			map.put(e.getKey(), e.getValue());
+		}
+		return map;
+	}
+
+	private static void assertEquals(String name, Object expected, Object actual) {
+		if (!expected.equals(actual)) {
+			throw new IllegalStateException(
+					name + " failed, expected:" + expected + ",actual:" + actual);
+		}
+		System.out.println(name + " passed");
+	}
+
+	private static ByteBuf wrap(String hex) {
+		byte[] array = new byte[hex.length() / 2];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+		}
+		return UnpooledByteBufAllocator.getHeapInstance().wrap(array);
+	}
+
+	private static String toHex(ByteBuf buf) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = buf.position(); i < buf.limit(); i++) {
+			builder.append(String.format("%02x", buf.getByte(i) & 0xff));
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2015-2017 GenerallyCloud.com
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */ 
+package com.generallycloud.test.nio.load.accept;
+
+import java.math.BigDecimal;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.generallycloud.nio.acceptor.SocketChannelAcceptor;
+import com.generallycloud.nio.codec.fixedlength.FixedLengthProtocolFactory;
+import com.generallycloud.nio.common.CloseUtil;
+import com.generallycloud.nio.common.SharedBundle;
+import com.generallycloud.nio.component.IoEventHandleAdaptor;
+import com.generallycloud.nio.component.SocketChannelContext;
+import com.generallycloud.nio.component.SocketChannelContextImpl;
+import com.generallycloud.nio.component.SocketSession;
+import com.generallycloud.nio.component.SocketSessionEventListenerAdapter;
+import com.generallycloud.nio.configuration.ServerConfiguration;
+import com.generallycloud.nio.protocol.ReadFuture;
+
+/**
+ * 连接建立吞吐测试：多个线程用阻塞Socket反复连接并立即断开，
+ * 以服务端sessionOpened的次数统计每秒完成注册的连接数
+ */
+public class TestAcceptLoad {
+
+	public static void main(String[] args) throws Exception {
+
+		SharedBundle.instance().loadAllProperties("nio");
+
+		final int threads = 8;
+
+		// 客户端主动关闭会占用TIME_WAIT端口，总数不宜超过本地端口范围
+		final int time = 3000;
+
+		final int port = 18300;
+
+		ServerConfiguration c = new ServerConfiguration(port);
+
+		c.setSERVER_CORE_SIZE(4);
+		c.setSERVER_ACCEPT_BACKLOG(4096);
+//		c.setSERVER_ENABLE_REUSE_PORT(true);
+
+		SocketChannelContext context = new SocketChannelContextImpl(c);
+
+		final CountDownLatch latch = new CountDownLatch(threads * time);
+
+		final AtomicInteger failed = new AtomicInteger();
+
+		context.setIoEventHandleAdaptor(new IoEventHandleAdaptor() {
+
+			@Override
+			public void accept(SocketSession session, ReadFuture future) throws Exception {
+			}
+		});
+
+		context.addSessionEventListener(new SocketSessionEventListenerAdapter() {
+
+			@Override
+			public void sessionOpened(SocketSession session) {
+				latch.countDown();
+			}
+		});
+
+		context.setProtocolFactory(new FixedLengthProtocolFactory());
+
+		SocketChannelAcceptor acceptor = new SocketChannelAcceptor(context);
+
+		acceptor.bind();
+
+		System.out.println("################## Test start ####################");
+
+		long old = System.currentTimeMillis();
+
+		for (int i = 0; i < threads; i++) {
+
+			new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+
+					for (int i = 0; i < time; i++) {
+
+						Socket socket = null;
+
+						try {
+
+							socket = new Socket("127.0.0.1", port);
+
+						} catch (Exception e) {
+							// 连接失败时服务端不会有sessionOpened，这里计数，避免latch永远等不到
+							if (failed.getAndIncrement() == 0) {
+								e.printStackTrace();
+							}
+							latch.countDown();
+						} finally {
+							CloseUtil.close(socket);
+						}
+					}
+				}
+			}).start();
+		}
+
+		boolean completed = latch.await(120, TimeUnit.SECONDS);
+
+		long spend = (System.currentTimeMillis() - old);
+
+		int all = (int) (threads * time - failed.get() - latch.getCount());
+
+		if (!completed) {
+			System.out.println("## Timeout, pending:" + latch.getCount());
+		}
+
+		System.out.println("## Connections:" + all);
+		System.out.println("## Failed:" + failed.get());
+		System.out.println("## Connections/S:"
+				+ new BigDecimal(all * 1000L).divide(new BigDecimal(spend), 2, BigDecimal.ROUND_HALF_UP));
+		System.out.println("## Expend Time:" + spend);
+
+		acceptor.unbind();
+	}
+}